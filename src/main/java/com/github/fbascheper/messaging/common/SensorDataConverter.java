@@ -21,6 +21,10 @@ public class SensorDataConverter {
     private static final DecimalFormatSymbols DECIMAL_FORMAT_SYMBOLS = DecimalFormatSymbols.getInstance(Locale.forLanguageTag("nl-BE"));
     private static final String DECIMAL_FORMAT_PATTERN = "#,##0.###";
 
+    private static final char DECIMAL_SEPARATOR = DECIMAL_FORMAT_SYMBOLS.getDecimalSeparator();
+    private static final char GROUPING_SEPARATOR = DECIMAL_FORMAT_SYMBOLS.getGroupingSeparator();
+    private static final long MAX_UNSCALED_VALUE = (Long.MAX_VALUE - 9) / 10;
+
     /**
      * Construct a {@link TrafficSensor}-instance from its XML counterpart from JAXB.
      *
@@ -47,7 +51,59 @@ public class SensorDataConverter {
                 , GeographicCoordinates);
     }
 
-    private static BigDecimal toBigDecimal(String number) {
+    /**
+     * Parse a decimal number in the {@code nl-BE} notation of the XML, such as {@code 50,866871}, in a single pass.
+     * <p>
+     * The result is the same as that of a {@link java.text.DecimalFormat} with the pattern {@code #,##0.###} and
+     * {@code setParseBigDecimal(true)}: the scale is the number of decimals, grouping dots are skipped, and parsing
+     * stops at the first character that is not part of the number.
+     * </p>
+     *
+     * @param number the decimal number
+     * @return the parsed number
+     */
+    static BigDecimal toBigDecimal(String number) {
+        int length = number.length();
+        int index = 0;
+
+        boolean negative = length > 0 && number.charAt(0) == '-';
+        if (negative) {
+            index++;
+        }
+
+        long unscaledValue = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean decimals = false;
+
+        for (; index < length; index++) {
+            char c = number.charAt(index);
+
+            if (c >= '0' && c <= '9') {
+                if (unscaledValue >= MAX_UNSCALED_VALUE) {
+                    // too many digits for a long, which never happens for coordinates
+                    return parseWithDecimalFormat(number);
+                }
+                unscaledValue = unscaledValue * 10 + (c - '0');
+                digits++;
+                if (decimals) {
+                    scale++;
+                }
+            } else if (c == DECIMAL_SEPARATOR && !decimals) {
+                decimals = true;
+            } else if (c != GROUPING_SEPARATOR || decimals) {
+                break;
+            }
+        }
+
+        if (digits == 0) {
+            throw new IllegalArgumentException("Exception convertion string to big decimal, number = " + number);
+        }
+
+        return BigDecimal.valueOf(negative ? -unscaledValue : unscaledValue, scale);
+    }
+
+    private static BigDecimal parseWithDecimalFormat(String number) {
         var decimalFormat = new DecimalFormat(DECIMAL_FORMAT_PATTERN, DECIMAL_FORMAT_SYMBOLS);
         decimalFormat.setParseBigDecimal(true);
 
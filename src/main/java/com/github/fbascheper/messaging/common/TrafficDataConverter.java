@@ -4,8 +4,10 @@ import com.github.fbascheper.messaging.domain.TrafficEvent;
 import com.github.fbascheper.messaging.domain.VehicleClass;
 import com.github.fbascheper.miv.data.JaxbMivType;
 
+import javax.xml.datatype.XMLGregorianCalendar;
 import java.time.ZonedDateTime;
 import java.util.Arrays;
+import java.util.function.Consumer;
 
 /**
  * Converter between JAXB {@code XML} and the TrafficData domain.
@@ -15,6 +17,8 @@ import java.util.Arrays;
  */
 public class TrafficDataConverter {
 
+    private static final VehicleClass[] VEHICLE_CLASSES_BY_ID = vehicleClassesById();
+
     /**
      * Construct a {@link TrafficEvent}-instance from its XML counterpart from JAXB.
      *
@@ -22,29 +26,96 @@ public class TrafficDataConverter {
      * @return a {@link TrafficEvent}-instance
      */
     public static TrafficEvent ofMeasurement(JaxbMivType.JaxbMeetpunt meetpunt, JaxbMivType.JaxbMeetpunt.JaxbMeetdata meetdata) {
+        return new MeasurementPoint(meetpunt).ofMeasurement(meetdata);
+    }
 
-        ZonedDateTime timeRegistration = meetpunt.getTijdWaarneming().toGregorianCalendar().toZonedDateTime();
+    /**
+     * Construct the {@link TrafficEvent}-instances of all measurements of a measurement point from JAXB.
+     * The fields shared by all measurements, such as the time stamps, are converted only once.
+     *
+     * @param meetpunt JAXB element
+     * @param consumer consumer of each {@link TrafficEvent}, in document order
+     * @return the number of events handed to the consumer
+     */
+    public static int ofMeasurementPoint(JaxbMivType.JaxbMeetpunt meetpunt, Consumer<TrafficEvent> consumer) {
+        var measurementPoint = new MeasurementPoint(meetpunt);
 
-        Integer sensorId = Integer.valueOf(meetpunt.getUniekeId());
-        String sensorDescriptiveId = meetpunt.getBeschrijvendeId();
-        boolean sensorAvailable = meetpunt.getBeschikbaar() == 1;
-        boolean sensorDataRecent = meetpunt.getActueelPublicatie() == 1;
-        ZonedDateTime lastUpdated = meetpunt.getTijdLaatstGewijzigd().toGregorianCalendar().toZonedDateTime();
+        for (var meetdata : meetpunt.getMeetdata()) {
+            consumer.accept(measurementPoint.ofMeasurement(meetdata));
+        }
 
-        VehicleClass vehicleClass = getVehicleClassFromMeetData(meetdata);
-        int trafficIntensity = meetdata.getVerkeersintensiteit();
-        int vehicleCalculatedSpeed = meetdata.getVoertuigsnelheidRekenkundig();
-        int vehicleHarmonicSpeed = meetdata.getVoertuigsnelheidHarmonisch();
+        return meetpunt.getMeetdata().size();
+    }
 
-        return new TrafficEvent(timeRegistration, sensorId, sensorDescriptiveId, sensorAvailable, sensorDataRecent, lastUpdated
-                , vehicleClass, trafficIntensity, vehicleCalculatedSpeed, vehicleHarmonicSpeed);
+    /**
+     * Find the {@link VehicleClass} of a {@code klasse_id} in the XML.
+     *
+     * @param klasseId the vehicle class id used by the Flemish road authorities
+     * @return the matching {@link VehicleClass}, or {@link VehicleClass#UNKNOWN}
+     */
+    public static VehicleClass vehicleClassOf(int klasseId) {
+        return klasseId >= 0 && klasseId < VEHICLE_CLASSES_BY_ID.length
+                ? VEHICLE_CLASSES_BY_ID[klasseId]
+                : VehicleClass.UNKNOWN;
     }
 
-    private static VehicleClass getVehicleClassFromMeetData(JaxbMivType.JaxbMeetpunt.JaxbMeetdata meetdata) {
-        return Arrays.stream(VehicleClass.values())
-                .filter(e -> e.getValue() == meetdata.getKlasseId())
-                .findFirst()
-                .orElse(VehicleClass.UNKNOWN);
+    /**
+     * Convert an XML {@code dateTime} to a {@link ZonedDateTime}, the same way for all parsers.
+     *
+     * @param dateTime XML date time
+     * @return the zoned date time
+     */
+    public static ZonedDateTime toZonedDateTime(XMLGregorianCalendar dateTime) {
+        return dateTime.toGregorianCalendar().toZonedDateTime();
+    }
+
+    private static VehicleClass[] vehicleClassesById() {
+        int maxValue = 0;
+        for (var vehicleClass : VehicleClass.values()) {
+            maxValue = Math.max(maxValue, vehicleClass.getValue());
+        }
+
+        var result = new VehicleClass[maxValue + 1];
+        Arrays.fill(result, VehicleClass.UNKNOWN);
+
+        // iterate backwards, so the first vehicle class with a value wins, like a linear search would
+        var values = VehicleClass.values();
+        for (int i = values.length - 1; i >= 0; i--) {
+            result[values[i].getValue()] = values[i];
+        }
+
+        return result;
+    }
+
+    /**
+     * The converted fields of a {@code meetpunt}, shared by all of its {@code meetdata} elements.
+     */
+    private static class MeasurementPoint {
+        private final ZonedDateTime timeRegistration;
+        private final Integer sensorId;
+        private final String sensorDescriptiveId;
+        private final boolean sensorAvailable;
+        private final boolean sensorDataRecent;
+        private final ZonedDateTime lastUpdated;
+
+        private MeasurementPoint(JaxbMivType.JaxbMeetpunt meetpunt) {
+            this.timeRegistration = toZonedDateTime(meetpunt.getTijdWaarneming());
+            this.sensorId = Integer.valueOf(meetpunt.getUniekeId());
+            this.sensorDescriptiveId = meetpunt.getBeschrijvendeId();
+            this.sensorAvailable = meetpunt.getBeschikbaar() == 1;
+            this.sensorDataRecent = meetpunt.getActueelPublicatie() == 1;
+            this.lastUpdated = toZonedDateTime(meetpunt.getTijdLaatstGewijzigd());
+        }
+
+        private TrafficEvent ofMeasurement(JaxbMivType.JaxbMeetpunt.JaxbMeetdata meetdata) {
+            VehicleClass vehicleClass = vehicleClassOf(meetdata.getKlasseId());
+            int trafficIntensity = meetdata.getVerkeersintensiteit();
+            int vehicleCalculatedSpeed = meetdata.getVoertuigsnelheidRekenkundig();
+            int vehicleHarmonicSpeed = meetdata.getVoertuigsnelheidHarmonisch();
+
+            return new TrafficEvent(timeRegistration, sensorId, sensorDescriptiveId, sensorAvailable, sensorDataRecent, lastUpdated
+                    , vehicleClass, trafficIntensity, vehicleCalculatedSpeed, vehicleHarmonicSpeed);
+        }
     }
 
 }
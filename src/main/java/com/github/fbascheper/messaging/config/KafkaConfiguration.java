@@ -2,21 +2,41 @@ package com.github.fbascheper.messaging.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.fbascheper.messaging.serialization.HeaderFilteringDeserializer;
+import com.github.fbascheper.messaging.serialization.JsonCodec;
+import com.github.fbascheper.messaging.serialization.JsonCodecDeserializer;
+import com.github.fbascheper.messaging.serialization.JsonCodecSerializer;
+import com.github.fbascheper.messaging.serialization.TrafficEventJsonCodec;
+import com.github.fbascheper.messaging.serialization.TrafficEventWireFormat;
+import com.github.fbascheper.messaging.serialization.VehicleRouteChangeAdviceJsonCodec;
+import com.github.fbascheper.messaging.serialization.VehicleRouteChangeEventJsonCodec;
+import com.github.fbascheper.messaging.serialization.WireFormatDeserializer;
+import com.github.fbascheper.messaging.serialization.WireFormatSerializer;
+import com.github.fbascheper.messaging.traffic.processor.TrafficEventHotspotFilter;
+import org.apache.kafka.common.header.Headers;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.kafka.listener.adapter.RecordFilterStrategy;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.stereotype.Component;
 
 import javax.inject.Inject;
 import java.text.SimpleDateFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
 
 /**
  * wjax-spring-pipeline - Description.
@@ -27,23 +47,57 @@ import java.text.SimpleDateFormat;
 @Component
 public class KafkaConfiguration {
 
+    /**
+     * Discards the records skipped by the {@link HeaderFilteringDeserializer}.
+     */
+    private static final RecordFilterStrategy<String, Object> SKIPPED_RECORDS = consumerRecord -> consumerRecord.value() == null;
+
     private final KafkaProperties kafkaProperties;
     private final ObjectMapper objectMapper;
+    private final TrafficEventWireFormat trafficEventFormat;
 
     @Inject
-    public KafkaConfiguration(KafkaProperties kafkaProperties) {
+    public KafkaConfiguration(
+            KafkaProperties kafkaProperties
+            , @Value("${traffic.kafka.traffic-event-format:JSON}") TrafficEventWireFormat trafficEventFormat
+    ) {
         this.kafkaProperties = kafkaProperties;
+        this.trafficEventFormat = trafficEventFormat;
         this.objectMapper = JsonMapper.builder()
                 .findAndAddModules()
                 .build().setDateFormat(new SimpleDateFormat("yyyy-MM-dd"));
 
     }
 
+    /**
+     * The topics of the pipeline, created at startup if these do not exist yet, or with more partitions if these have fewer.
+     * All records are keyed by sensor id or vehicle id, so the records of the same sensor or vehicle stay in order
+     * within their partition. Adding partitions moves keys to other partitions, so records sent just before and
+     * after such a change may be processed out of order.
+     */
+    @Bean
+    public KafkaAdmin.NewTopics kafkaTopics(
+            @Value("${traffic.kafka.traffic-event-topic}") String trafficEventTopicName
+            , @Value("${traffic.kafka.vehicle-route-change-event-topic}") String vehicleRouteChangeEventTopicName
+            , @Value("${traffic.kafka.vehicle-route-change-advice-topic}") String vehicleRouteChangeAdviceTopicName
+            , @Value("${traffic.kafka.partitions:1}") int partitions
+            , @Value("${traffic.kafka.replicas:1}") int replicas
+    ) {
+        return new KafkaAdmin.NewTopics(
+                TopicBuilder.name(trafficEventTopicName).partitions(partitions).replicas(replicas).build()
+                , TopicBuilder.name(vehicleRouteChangeEventTopicName).partitions(partitions).replicas(replicas).build()
+                , TopicBuilder.name(vehicleRouteChangeAdviceTopicName).partitions(partitions).replicas(replicas).build());
+    }
+
     @Bean
     public ProducerFactory<String, Object> kafkaProducerFactory() {
-        var jsonSerializer = new JsonSerializer<>(objectMapper);
+        // the domain records are written by their own codecs, all other values by the object mapper
+        var jsonSerializer = new JsonCodecSerializer(
+                List.of(new TrafficEventJsonCodec(), new VehicleRouteChangeEventJsonCodec(), new VehicleRouteChangeAdviceJsonCodec())
+                , new JsonSerializer<>(objectMapper));
+
         return new DefaultKafkaProducerFactory<>(
-                kafkaProperties.buildProducerProperties(), new StringSerializer(), jsonSerializer);
+                kafkaProperties.buildProducerProperties(), new StringSerializer(), new WireFormatSerializer(jsonSerializer, trafficEventFormat));
     }
 
     @Bean
@@ -53,15 +107,54 @@ public class KafkaConfiguration {
 
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory() {
-        var jsonDeserializer = new JsonDeserializer<>(objectMapper);
-        jsonDeserializer.addTrustedPackages("com.github.fbascheper.*");
+    public ConsumerFactory<String, Object> kafkaConsumerFactory(
+            @Value("${traffic.kafka.traffic-event-topic}") String trafficEventTopicName
+            , @Value("${traffic.kafka.vehicle-route-change-event-topic}") String vehicleRouteChangeEventTopicName
+            , @Value("${traffic.kafka.vehicle-route-change-advice-topic}") String vehicleRouteChangeAdviceTopicName
+            , @Value("${traffic.kafka.hotspot-header-filter:true}") boolean hotspotHeaderFilter
+    ) {
+        var fallbackDeserializer = new JsonDeserializer<>(objectMapper);
+        fallbackDeserializer.addTrustedPackages("com.github.fbascheper.*");
+
+        // the records of the domain topics are read by the codec of their type, without resolving the type headers
+        var jsonDeserializer = new JsonCodecDeserializer(Map.<String, JsonCodec<?>>of(
+                trafficEventTopicName, new TrafficEventJsonCodec()
+                , vehicleRouteChangeEventTopicName, new VehicleRouteChangeEventJsonCodec()
+                , vehicleRouteChangeAdviceTopicName, new VehicleRouteChangeAdviceJsonCodec())
+                , fallbackDeserializer);
+
+        // the traffic events which are certainly not hotspots are skipped by their headers, without reading their value
+        var headerFilters = hotspotHeaderFilter
+                ? Map.<String, Predicate<Headers>>of(trafficEventTopicName, TrafficEventHotspotFilter::isHotspotCandidate)
+                : Map.<String, Predicate<Headers>>of();
+
+        return new DefaultKafkaConsumerFactory<>(kafkaProperties.buildConsumerProperties(), new StringDeserializer()
+                , new HeaderFilteringDeserializer(new WireFormatDeserializer(jsonDeserializer), headerFilters));
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory
+    ) {
+        var result = new ConcurrentKafkaListenerContainerFactory<String, Object>();
+        result.setConsumerFactory(consumerFactory);
+        result.setRecordFilterStrategy(SKIPPED_RECORDS);
 
-        var objectConsumerFactory = new DefaultKafkaConsumerFactory<>(
-                kafkaProperties.buildConsumerProperties(), new StringDeserializer(), jsonDeserializer);
+        return result;
+    }
 
+    /**
+     * Container factory of listeners which receive all records of a poll at once,
+     * up to {@code spring.kafka.consumer.max-poll-records}.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> kafkaBatchListenerContainerFactory(
+            ConsumerFactory<String, Object> consumerFactory
+    ) {
         var result = new ConcurrentKafkaListenerContainerFactory<String, Object>();
-        result.setConsumerFactory(objectConsumerFactory);
+        result.setConsumerFactory(consumerFactory);
+        result.setRecordFilterStrategy(SKIPPED_RECORDS);
+        result.setBatchListener(true);
 
         return result;
     }
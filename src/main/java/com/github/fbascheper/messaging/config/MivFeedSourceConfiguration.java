@@ -0,0 +1,45 @@
+package com.github.fbascheper.messaging.config;
+
+import com.github.fbascheper.messaging.data.transport.MivFeedSource;
+import com.github.fbascheper.messaging.data.transport.MivFeedSourceMode;
+import com.github.fbascheper.messaging.data.transport.MivHttpTransport;
+import com.github.fbascheper.messaging.data.transport.RecordingMivFeedSource;
+import com.github.fbascheper.messaging.data.transport.ReplayMivFeedSource;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Clock;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Configuration of the {@link MivFeedSource} of the MIV feeds: the live feeds, optionally recorded into a local
+ * archive, or a replay of such an archive for reproducible load tests without the remote endpoints.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+@Component
+public class MivFeedSourceConfiguration {
+
+    private static final Logger LOGGER = getLogger(MivFeedSourceConfiguration.class);
+
+    @Bean
+    public MivFeedSource mivFeedSource(
+            @Value("${traffic.flemish.source.mode:HTTP}") MivFeedSourceMode mode
+            , @Value("${traffic.flemish.source.archive-directory}") Path archiveDirectory
+            , @Value("${traffic.flemish.source.replay-speed-up:1}") double replaySpeedUp
+    ) {
+        LOGGER.info("Using {} source of the MIV feeds", mode);
+
+        return switch (mode) {
+            case HTTP -> new MivHttpTransport();
+            case RECORD -> new RecordingMivFeedSource(new MivHttpTransport(), archiveDirectory, Clock.systemUTC());
+            case REPLAY -> new ReplayMivFeedSource(archiveDirectory, replaySpeedUp, Clock.systemUTC());
+        };
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.github.fbascheper.messaging.config;
+
+import com.github.fbascheper.messaging.traffic.component.DenseTrafficEventHotspotStore;
+import com.github.fbascheper.messaging.traffic.component.EpochTrafficEventHotspotStore;
+import com.github.fbascheper.messaging.traffic.component.MapTrafficEventHotspotStore;
+import com.github.fbascheper.messaging.traffic.component.TrafficEventHotspotStore;
+import com.github.fbascheper.messaging.traffic.component.TrafficEventHotspotStoreType;
+import com.github.fbascheper.messaging.traffic.component.WindowedTrafficEventHotspotStore;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Configuration of the {@link TrafficEventHotspotStore}, shared by the hotspot filters and the route processing.
+ * The hotspots of the configured store type are published in epochs, so routes are evaluated against consistent
+ * snapshots of them.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+@Component
+public class TrafficEventHotspotStoreConfiguration {
+
+    private static final Logger LOGGER = getLogger(TrafficEventHotspotStoreConfiguration.class);
+
+    @Bean
+    public EpochTrafficEventHotspotStore trafficEventHotspotStore(
+            @Value("${traffic.hotspots.store-type:MAP}") TrafficEventHotspotStoreType storeType
+            , @Value("${traffic.hotspots.max-sensor-id:8191}") int maxSensorId
+            , @Value("${traffic.hotspots.window:PT15M}") Duration window
+            , @Value("${traffic.publishing.delta-enabled:false}") boolean deltaEnabled
+            , @Value("${traffic.publishing.full-refresh-interval:PT15M}") Duration fullRefreshInterval
+            , @Value("${traffic.flemish.poll-interval:PT5M}") Duration pollInterval
+    ) {
+        if (storeType == TrafficEventHotspotStoreType.WINDOWED && deltaEnabled) {
+            validateWindow(window, fullRefreshInterval, pollInterval);
+        }
+
+        return new EpochTrafficEventHotspotStore(hotspotStore(storeType, maxSensorId, window), maxSensorId);
+    }
+
+    /**
+     * Validate the window of the WINDOWED store against delta publishing, which only publishes an unchanged hotspot
+     * again on a full refresh. The window should outlast a full refresh interval plus a late poll, or a persistent
+     * hotspot would disappear between two refreshes.
+     *
+     * @param window              the time window of the WINDOWED store
+     * @param fullRefreshInterval the interval between two full refreshes of the published traffic events
+     * @param pollInterval        the interval between two polls of the traffic data
+     */
+    private static void validateWindow(Duration window, Duration fullRefreshInterval, Duration pollInterval) {
+        if (fullRefreshInterval.isZero() || window.compareTo(fullRefreshInterval.plus(pollInterval)) <= 0) {
+            throw new IllegalStateException("Hotspot window " + window + " should be longer than the full refresh interval "
+                    + fullRefreshInterval + " plus the poll interval " + pollInterval + " when delta publishing is enabled");
+        }
+    }
+
+    /**
+     * @param storeType   the implementation of the store
+     * @param maxSensorId the largest sensor id kept in the index of the DENSE and WINDOWED stores
+     * @param window      the time window of the WINDOWED store
+     * @return the store of the hotspots, before they are published
+     */
+    public TrafficEventHotspotStore hotspotStore(
+            TrafficEventHotspotStoreType storeType
+            , int maxSensorId
+            , Duration window
+    ) {
+        LOGGER.info("Using {} store of the traffic event hotspots", storeType);
+
+        return switch (storeType) {
+            case MAP -> new MapTrafficEventHotspotStore();
+            case DENSE -> new DenseTrafficEventHotspotStore(maxSensorId);
+            case WINDOWED -> new WindowedTrafficEventHotspotStore(window, maxSensorId);
+        };
+    }
+
+}
@@ -0,0 +1,113 @@
+package com.github.fbascheper.messaging.data.registry;
+
+import com.github.fbascheper.messaging.domain.GeographicCoordinates;
+import com.github.fbascheper.messaging.domain.TrafficSensor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable indexes over a list of {@link TrafficSensor}s, built once so each lookup takes constant time.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class SensorIndex {
+
+    /**
+     * The size of a cell of the spatial index in metres, in the order of the distance between two sensors on a road.
+     */
+    private static final double SPATIAL_CELL_SIZE = 250.0;
+
+    private final List<TrafficSensor> sensors;
+    private final TrafficSensor[] sensorsById;
+    private final Map<GeographicCoordinates, TrafficSensor> sensorsByCoordinates;
+    private final SensorSpatialIndex spatialIndex;
+
+    private SensorIndex(List<TrafficSensor> sensors) {
+        this.sensors = List.copyOf(sensors);
+
+        int maxId = this.sensors.stream()
+                .mapToInt(TrafficSensor::id)
+                .max()
+                .orElse(-1);
+
+        this.sensorsById = new TrafficSensor[maxId + 1];
+        this.sensorsByCoordinates = new HashMap<>(this.sensors.size() * 2);
+
+        for (var sensor : this.sensors) {
+            if (sensor.id() < 0) {
+                throw new IllegalArgumentException("Sensor id should not be negative, sensor = " + sensor);
+            }
+            sensorsById[sensor.id()] = sensor;
+            // keep the first sensor on identical coordinates, like a linear scan would
+            sensorsByCoordinates.putIfAbsent(sensor.geographicCoordinates(), sensor);
+        }
+
+        this.spatialIndex = SensorSpatialIndex.of(this.sensors, SPATIAL_CELL_SIZE);
+    }
+
+    /**
+     * Build the indexes over the given sensors.
+     *
+     * @param sensors all sensors
+     * @return the index
+     */
+    public static SensorIndex of(List<TrafficSensor> sensors) {
+        return new SensorIndex(sensors);
+    }
+
+    /**
+     * @return all sensors, in their original order
+     */
+    public List<TrafficSensor> sensors() {
+        return sensors;
+    }
+
+    /**
+     * Find a sensor by its id.
+     *
+     * @param id the id of the sensor
+     * @return the sensor, if any
+     */
+    public Optional<TrafficSensor> sensorById(int id) {
+        return id >= 0 && id < sensorsById.length
+                ? Optional.ofNullable(sensorsById[id])
+                : Optional.empty();
+    }
+
+    /**
+     * Find the sensor at exactly the given coordinates.
+     *
+     * @param coordinates the geographic coordinates
+     * @return the sensor, if any
+     */
+    public Optional<TrafficSensor> sensorAt(GeographicCoordinates coordinates) {
+        return Optional.ofNullable(sensorsByCoordinates.get(coordinates));
+    }
+
+    /**
+     * Find the sensor nearest to the given coordinates, within a maximum distance.
+     *
+     * @param coordinates the geographic coordinates
+     * @param maxDistance the maximum distance in metres
+     * @return the nearest sensor, if any
+     */
+    public Optional<TrafficSensor> nearestSensor(GeographicCoordinates coordinates, double maxDistance) {
+        return spatialIndex.nearest(coordinates, maxDistance);
+    }
+
+    /**
+     * Find all sensors within a radius of the given coordinates.
+     *
+     * @param coordinates the geographic coordinates
+     * @param radius      the radius in metres
+     * @return the sensors within the radius, nearest first
+     */
+    public List<TrafficSensor> sensorsWithin(GeographicCoordinates coordinates, double radius) {
+        return spatialIndex.within(coordinates, radius);
+    }
+
+}
@@ -0,0 +1,210 @@
+package com.github.fbascheper.messaging.data.registry;
+
+import com.github.fbascheper.messaging.data.retriever.SensorDataRetriever;
+import com.github.fbascheper.messaging.domain.GeographicCoordinates;
+import com.github.fbascheper.messaging.domain.TrafficSensor;
+import com.github.fbascheper.messaging.domain.TrafficSensorConfiguration;
+import org.slf4j.Logger;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Registry of all {@link TrafficSensor}s, indexed by id, by geographic coordinates and spatially when they are loaded.
+ * <p>
+ * The sensor configuration is refreshed periodically. A changed configuration is indexed off the threads of
+ * the readers, and published with a single atomic swap, so readers never block and never see a half-built index.
+ * </p>
+ * <p>
+ * At startup, the last configuration is loaded from a local {@link SensorRegistrySnapshot}, and refreshed from the
+ * network afterwards. Without a snapshot the registry starts empty, so startup never depends on the remote endpoint.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+@Component
+@EnableScheduling
+public class SensorRegistry {
+
+    private static final Logger LOGGER = getLogger(SensorRegistry.class);
+
+    private final SensorDataRetriever sensorDataRetriever;
+    private final SensorRegistrySnapshot sensorRegistrySnapshot;
+
+    private final AtomicReference<IndexedConfiguration> indexedConfiguration = new AtomicReference<>(IndexedConfiguration.EMPTY);
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    @Inject
+    public SensorRegistry(SensorDataRetriever sensorDataRetriever, SensorRegistrySnapshot sensorRegistrySnapshot) {
+        this.sensorDataRetriever = sensorDataRetriever;
+        this.sensorRegistrySnapshot = sensorRegistrySnapshot;
+    }
+
+    @PostConstruct
+    void onPostConstruct() {
+        sensorRegistrySnapshot.read().ifPresent(configuration -> {
+            this.indexedConfiguration.set(IndexedConfiguration.of(configuration));
+            LOGGER.debug("Indexed a total of {} sensors from the snapshot, last changed at {}"
+                    , configuration.trafficSensors().size(), configuration.lastConfigChange());
+        });
+    }
+
+    /**
+     * Refresh the sensor configuration at startup, and periodically afterwards.
+     */
+    @Scheduled(fixedDelayString = "${traffic.flemish.sensor-config-refresh-interval:PT1H}")
+    public void refreshSensorConfiguration() {
+        refresh().whenComplete((refreshed, throwable) -> {
+            if (throwable != null) {
+                LOGGER.error("Could not refresh the sensor configuration", throwable);
+            }
+        });
+    }
+
+    /**
+     * Retry to load the sensor configuration more often, as long as the registry is empty.
+     */
+    @Scheduled(initialDelayString = "${traffic.flemish.sensor-config-retry-interval:PT1M}"
+            , fixedDelayString = "${traffic.flemish.sensor-config-retry-interval:PT1M}")
+    public void retryEmptySensorConfiguration() {
+        if (isEmpty()) {
+            refreshSensorConfiguration();
+        }
+    }
+
+    /**
+     * Retrieve the sensor configuration, and publish it if it changed after the current one.
+     *
+     * @return the future result, which is {@code true} if a changed configuration has been published
+     */
+    CompletableFuture<Boolean> refresh() {
+        if (!refreshing.compareAndSet(false, true)) {
+            LOGGER.debug("Skipped refresh of the sensor configuration, because the previous one is still in progress");
+            return CompletableFuture.completedFuture(false);
+        }
+
+        return sensorDataRetriever.getSensorConfigurationIfModified()
+                .thenApply(configuration -> configuration
+                        .map(this::publishIfChanged)
+                        .orElse(false))
+                .whenComplete((refreshed, throwable) -> refreshing.set(false));
+    }
+
+    private boolean publishIfChanged(TrafficSensorConfiguration configuration) {
+        var current = indexedConfiguration.get();
+
+        if (current.lastConfigChange() != null && !configuration.lastConfigChange().isAfter(current.lastConfigChange())) {
+            LOGGER.debug("Sensor configuration has not changed since {}", current.lastConfigChange());
+            return false;
+        }
+
+        // build all indexes before the swap, so readers switch from one complete index to the next
+        var next = IndexedConfiguration.of(configuration);
+        boolean result = indexedConfiguration.compareAndSet(current, next);
+
+        if (result) {
+            LOGGER.info("Published a total of {} sensors, last changed at {}"
+                    , next.sensorIndex().sensors().size(), next.lastConfigChange());
+            sensorRegistrySnapshot.write(configuration);
+        }
+
+        return result;
+    }
+
+    /**
+     * @return {@code true} if no sensor configuration has been loaded yet.
+     */
+    public boolean isEmpty() {
+        return indexedConfiguration.get().lastConfigChange() == null;
+    }
+
+    /**
+     * @return the time of the last change of the current sensor configuration, if it has been loaded.
+     */
+    public Optional<ZonedDateTime> getLastConfigChange() {
+        return Optional.ofNullable(indexedConfiguration.get().lastConfigChange());
+    }
+
+    /**
+     * Return the current index of all sensors. Use it for several lookups which should see the same configuration.
+     *
+     * @return the current index, which never changes after it has been published.
+     */
+    public SensorIndex sensorIndex() {
+        return indexedConfiguration.get().sensorIndex();
+    }
+
+    /**
+     * @return the list of all {@link TrafficSensor}-instances installed by the Flemish road authorities.
+     */
+    public List<TrafficSensor> getTrafficSensors() {
+        return sensorIndex().sensors();
+    }
+
+    /**
+     * Find a sensor by its id.
+     *
+     * @param id the id of the sensor
+     * @return the sensor, if any
+     */
+    public Optional<TrafficSensor> sensorById(Integer id) {
+        return sensorIndex().sensorById(id);
+    }
+
+    /**
+     * Find the sensor at exactly the given coordinates.
+     *
+     * @param coordinates the geographic coordinates
+     * @return the sensor, if any
+     */
+    public Optional<TrafficSensor> sensorAt(GeographicCoordinates coordinates) {
+        return sensorIndex().sensorAt(coordinates);
+    }
+
+    /**
+     * Find the sensor nearest to the given coordinates, within a maximum distance.
+     *
+     * @param coordinates the geographic coordinates
+     * @param maxDistance the maximum distance in metres
+     * @return the nearest sensor, if any
+     */
+    public Optional<TrafficSensor> nearestSensor(GeographicCoordinates coordinates, double maxDistance) {
+        return sensorIndex().nearestSensor(coordinates, maxDistance);
+    }
+
+    /**
+     * Find all sensors within a radius of the given coordinates.
+     *
+     * @param coordinates the geographic coordinates
+     * @param radius      the radius in metres
+     * @return the sensors within the radius, nearest first
+     */
+    public List<TrafficSensor> sensorsWithin(GeographicCoordinates coordinates, double radius) {
+        return sensorIndex().sensorsWithin(coordinates, radius);
+    }
+
+    /**
+     * A sensor configuration together with its indexes, published as a whole.
+     */
+    private record IndexedConfiguration(ZonedDateTime lastConfigChange, SensorIndex sensorIndex) {
+
+        private static final IndexedConfiguration EMPTY = new IndexedConfiguration(null, SensorIndex.of(List.of()));
+
+        private static IndexedConfiguration of(TrafficSensorConfiguration configuration) {
+            return new IndexedConfiguration(configuration.lastConfigChange(), SensorIndex.of(configuration.trafficSensors()));
+        }
+    }
+
+}
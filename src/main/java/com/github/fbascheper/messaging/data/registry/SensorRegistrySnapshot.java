@@ -0,0 +1,175 @@
+package com.github.fbascheper.messaging.data.registry;
+
+import com.github.fbascheper.messaging.domain.GeographicCoordinates;
+import com.github.fbascheper.messaging.domain.TrafficSensor;
+import com.github.fbascheper.messaging.domain.TrafficSensorConfiguration;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Objects;
+import java.util.Optional;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Local binary snapshot of the last {@link TrafficSensorConfiguration} retrieved, so the {@link SensorRegistry}
+ * can start without waiting for the remote sensor configuration.
+ * <p>
+ * The file starts with a magic number and a format version. A missing, outdated or corrupt snapshot is ignored,
+ * and a new snapshot is written to a temporary file first and then moved over the previous one.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+@Component
+public class SensorRegistrySnapshot {
+
+    private static final Logger LOGGER = getLogger(SensorRegistrySnapshot.class);
+
+    private static final int MAGIC = 0x4D495653; // "MIVS"
+    private static final int VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+
+    public SensorRegistrySnapshot(@Value("${traffic.flemish.sensor-snapshot-file}") Path file) {
+        this.file = Objects.requireNonNull(file);
+    }
+
+    /**
+     * Read the sensor configuration from the snapshot file.
+     *
+     * @return the sensor configuration, or an empty result if there is no valid snapshot
+     */
+    public Optional<TrafficSensorConfiguration> read() {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                LOGGER.warn("Ignored sensor registry snapshot {} with an unknown format", file);
+                return Optional.empty();
+            }
+
+            var lastConfigChange = ZonedDateTime.ofInstant(Instant.ofEpochSecond(in.readLong(), in.readInt()), ZoneId.of(in.readUTF()));
+
+            int count = in.readInt();
+            var trafficSensors = new ArrayList<TrafficSensor>(count);
+            for (int i = 0; i < count; i++) {
+                trafficSensors.add(readSensor(in));
+            }
+
+            return Optional.of(new TrafficSensorConfiguration(lastConfigChange, trafficSensors));
+
+        } catch (NoSuchFileException e) {
+            LOGGER.info("No sensor registry snapshot found at {}", file);
+            return Optional.empty();
+
+        } catch (IOException | RuntimeException e) {
+            LOGGER.warn("Ignored unreadable sensor registry snapshot {}", file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Replace the snapshot file with the given sensor configuration.
+     *
+     * @param configuration the sensor configuration
+     */
+    public void write(TrafficSensorConfiguration configuration) {
+        try {
+            var directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+
+            var tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+
+            try {
+                try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile), BUFFER_SIZE))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+
+                    var lastConfigChange = configuration.lastConfigChange();
+                    out.writeLong(lastConfigChange.toEpochSecond());
+                    out.writeInt(lastConfigChange.getNano());
+                    out.writeUTF(lastConfigChange.getZone().getId());
+
+                    out.writeInt(configuration.trafficSensors().size());
+                    for (var sensor : configuration.trafficSensors()) {
+                        writeSensor(out, sensor);
+                    }
+                }
+
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+
+            LOGGER.debug("Wrote {} sensors to sensor registry snapshot {}", configuration.trafficSensors().size(), file);
+
+        } catch (IOException e) {
+            LOGGER.warn("Could not write sensor registry snapshot {}", file, e);
+        }
+    }
+
+    private static TrafficSensor readSensor(DataInputStream in) throws IOException {
+        return new TrafficSensor(in.readInt()
+                , readNullableString(in)
+                , readNullableString(in)
+                , readNullableString(in)
+                , readNullableString(in)
+                , new GeographicCoordinates(readBigDecimal(in), readBigDecimal(in)));
+    }
+
+    private static void writeSensor(DataOutputStream out, TrafficSensor sensor) throws IOException {
+        out.writeInt(sensor.id());
+        writeNullableString(out, sensor.descriptiveId());
+        writeNullableString(out, sensor.name());
+        writeNullableString(out, sensor.ident8());
+        writeNullableString(out, sensor.trafficLane());
+        writeBigDecimal(out, sensor.geographicCoordinates().longitude());
+        writeBigDecimal(out, sensor.geographicCoordinates().latitude());
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static BigDecimal readBigDecimal(DataInputStream in) throws IOException {
+        int scale = in.readInt();
+        var unscaledValue = new byte[in.readUnsignedShort()];
+        in.readFully(unscaledValue);
+
+        return new BigDecimal(new BigInteger(unscaledValue), scale);
+    }
+
+    private static void writeBigDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        var unscaledValue = value.unscaledValue().toByteArray();
+
+        out.writeInt(value.scale());
+        out.writeShort(unscaledValue.length);
+        out.write(unscaledValue);
+    }
+
+}
@@ -0,0 +1,275 @@
+package com.github.fbascheper.messaging.data.registry;
+
+import com.github.fbascheper.messaging.domain.GeographicCoordinates;
+import com.github.fbascheper.messaging.domain.TrafficSensor;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Immutable spatial index over a list of {@link TrafficSensor}s, supporting nearest-neighbour and radius queries.
+ * <p>
+ * The coordinates are projected onto a local plane in metres (an equirectangular projection around the mean latitude
+ * of the sensors, accurate enough at the scale of Flanders), and the sensors are bucketed into square grid cells.
+ * The cells are stored in an open-addressing hash table of primitive arrays. A nearest-neighbour query only allocates
+ * its result, and a radius query also collects its hits in primitive arrays.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class SensorSpatialIndex {
+
+    private static final double METRES_PER_DEGREE_LATITUDE = 110_574.0;
+    private static final double METRES_PER_DEGREE_LONGITUDE_AT_EQUATOR = 111_320.0;
+
+    private final List<TrafficSensor> sensors;
+    private final double cellSize;
+    private final double metresPerDegreeLongitude;
+
+    // sensor positions on the local plane, by index in sensors
+    private final double[] xs;
+    private final double[] ys;
+
+    // grid cells: the sensor indices of cell i are at cellSensors[cellStart[i] .. cellStart[i + 1])
+    private final int[] cellStart;
+    private final int[] cellSensors;
+
+    // open-addressing hash table from the key of a grid cell to its index, or -1 for an empty slot
+    private final long[] tableKeys;
+    private final int[] tableCells;
+    private final int tableMask;
+
+    private SensorSpatialIndex(List<TrafficSensor> sensors, double cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size should be positive, but was " + cellSize);
+        }
+
+        this.sensors = List.copyOf(sensors);
+        this.cellSize = cellSize;
+
+        double meanLatitude = this.sensors.stream()
+                .mapToDouble(sensor -> sensor.geographicCoordinates().latitude().doubleValue())
+                .average()
+                .orElse(0.0);
+        this.metresPerDegreeLongitude = METRES_PER_DEGREE_LONGITUDE_AT_EQUATOR * Math.cos(Math.toRadians(meanLatitude));
+
+        int size = this.sensors.size();
+        this.xs = new double[size];
+        this.ys = new double[size];
+
+        var keys = new long[size];
+        var order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            var coordinates = this.sensors.get(i).geographicCoordinates();
+            xs[i] = x(coordinates.longitude().doubleValue());
+            ys[i] = y(coordinates.latitude().doubleValue());
+            keys[i] = cellKey(cell(xs[i]), cell(ys[i]));
+            order[i] = i;
+        }
+
+        Arrays.sort(order, Comparator.comparingLong((Integer i) -> keys[i]).thenComparingInt(i -> i));
+
+        this.cellSensors = new int[size];
+        var uniqueKeys = new long[size];
+        var starts = new int[size + 1];
+        int cellCount = 0;
+
+        for (int i = 0; i < size; i++) {
+            cellSensors[i] = order[i];
+            if (cellCount == 0 || uniqueKeys[cellCount - 1] != keys[order[i]]) {
+                uniqueKeys[cellCount] = keys[order[i]];
+                starts[cellCount] = i;
+                cellCount++;
+            }
+        }
+        starts[cellCount] = size;
+
+        this.cellStart = Arrays.copyOf(starts, cellCount + 1);
+
+        int tableSize = Integer.highestOneBit(Math.max(cellCount, 1) * 2 - 1) << 1;
+        this.tableKeys = new long[tableSize];
+        this.tableCells = new int[tableSize];
+        this.tableMask = tableSize - 1;
+        Arrays.fill(tableCells, -1);
+
+        for (int cell = 0; cell < cellCount; cell++) {
+            int slot = slot(uniqueKeys[cell]);
+            while (tableCells[slot] >= 0) {
+                slot = (slot + 1) & tableMask;
+            }
+            tableKeys[slot] = uniqueKeys[cell];
+            tableCells[slot] = cell;
+        }
+    }
+
+    /**
+     * Build a spatial index over the given sensors.
+     *
+     * @param sensors  all sensors
+     * @param cellSize the size of a grid cell in metres
+     * @return the spatial index
+     */
+    public static SensorSpatialIndex of(List<TrafficSensor> sensors, double cellSize) {
+        return new SensorSpatialIndex(sensors, cellSize);
+    }
+
+    /**
+     * Find the sensor nearest to the given coordinates, within a maximum distance.
+     * If several sensors are at the same distance, the first one in the original list wins.
+     *
+     * @param coordinates    the geographic coordinates
+     * @param maxDistance    the maximum distance in metres
+     * @return the nearest sensor, if any
+     */
+    public Optional<TrafficSensor> nearest(GeographicCoordinates coordinates, double maxDistance) {
+        double x = x(coordinates.longitude().doubleValue());
+        double y = y(coordinates.latitude().doubleValue());
+        long cx = cell(x);
+        long cy = cell(y);
+
+        // distance from the query to the nearest border of its own cell
+        double border = Math.min(
+                Math.min(x - cx * cellSize, (cx + 1) * cellSize - x)
+                , Math.min(y - cy * cellSize, (cy + 1) * cellSize - y));
+
+        int rings = (int) Math.ceil(maxDistance / cellSize);
+        double maxDistanceSquared = maxDistance * maxDistance;
+
+        int best = -1;
+        double bestDistanceSquared = Double.MAX_VALUE;
+
+        for (int ring = 0; ring <= rings; ring++) {
+            for (long i = cx - ring; i <= cx + ring; i++) {
+                // only visit the cells on the border of this ring
+                long step = (i == cx - ring || i == cx + ring) ? 1 : Math.max(1, 2L * ring);
+
+                for (long j = cy - ring; j <= cy + ring; j += step) {
+                    int cell = findCell(i, j);
+                    if (cell < 0) {
+                        continue;
+                    }
+
+                    for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                        int sensor = cellSensors[k];
+                        double distanceSquared = distanceSquared(x, y, sensor);
+
+                        if (distanceSquared <= maxDistanceSquared
+                                && (distanceSquared < bestDistanceSquared || (distanceSquared == bestDistanceSquared && sensor < best))) {
+                            best = sensor;
+                            bestDistanceSquared = distanceSquared;
+                        }
+                    }
+                }
+            }
+
+            // all sensors in the next rings are further away than the border of the cells visited so far
+            double ringDistance = border + ring * cellSize;
+            if (best >= 0 && bestDistanceSquared < ringDistance * ringDistance) {
+                break;
+            }
+        }
+
+        return best < 0 ? Optional.empty() : Optional.of(sensors.get(best));
+    }
+
+    /**
+     * Find all sensors within a radius of the given coordinates.
+     *
+     * @param coordinates the geographic coordinates
+     * @param radius      the radius in metres
+     * @return the sensors within the radius, nearest first
+     */
+    public List<TrafficSensor> within(GeographicCoordinates coordinates, double radius) {
+        double x = x(coordinates.longitude().doubleValue());
+        double y = y(coordinates.latitude().doubleValue());
+        double radiusSquared = radius * radius;
+
+        // the hits, nearest first, kept in order as they are found
+        var hitSensors = new int[16];
+        var hitDistances = new double[16];
+        int hitCount = 0;
+
+        for (long i = cell(x - radius); i <= cell(x + radius); i++) {
+            for (long j = cell(y - radius); j <= cell(y + radius); j++) {
+                int cell = findCell(i, j);
+                if (cell < 0) {
+                    continue;
+                }
+
+                for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                    int sensor = cellSensors[k];
+                    double distanceSquared = distanceSquared(x, y, sensor);
+
+                    if (distanceSquared <= radiusSquared) {
+                        if (hitCount == hitSensors.length) {
+                            hitSensors = Arrays.copyOf(hitSensors, hitCount * 2);
+                            hitDistances = Arrays.copyOf(hitDistances, hitCount * 2);
+                        }
+
+                        int position = hitCount;
+                        while (position > 0 && (hitDistances[position - 1] > distanceSquared
+                                || (hitDistances[position - 1] == distanceSquared && hitSensors[position - 1] > sensor))) {
+                            position--;
+                        }
+                        System.arraycopy(hitSensors, position, hitSensors, position + 1, hitCount - position);
+                        System.arraycopy(hitDistances, position, hitDistances, position + 1, hitCount - position);
+                        hitSensors[position] = sensor;
+                        hitDistances[position] = distanceSquared;
+                        hitCount++;
+                    }
+                }
+            }
+        }
+
+        var result = new TrafficSensor[hitCount];
+        for (int i = 0; i < hitCount; i++) {
+            result[i] = sensors.get(hitSensors[i]);
+        }
+
+        return List.of(result);
+    }
+
+    private int findCell(long cx, long cy) {
+        long key = cellKey(cx, cy);
+        int slot = slot(key);
+
+        while (tableCells[slot] >= 0) {
+            if (tableKeys[slot] == key) {
+                return tableCells[slot];
+            }
+            slot = (slot + 1) & tableMask;
+        }
+
+        return -1;
+    }
+
+    private int slot(long key) {
+        return (int) ((key * 0x9E37_79B9_7F4A_7C15L) >>> 32) & tableMask;
+    }
+
+    private double distanceSquared(double x, double y, int sensor) {
+        double dx = xs[sensor] - x;
+        double dy = ys[sensor] - y;
+        return dx * dx + dy * dy;
+    }
+
+    private double x(double longitude) {
+        return longitude * metresPerDegreeLongitude;
+    }
+
+    private static double y(double latitude) {
+        return latitude * METRES_PER_DEGREE_LATITUDE;
+    }
+
+    private long cell(double coordinate) {
+        return (long) Math.floor(coordinate / cellSize);
+    }
+
+    private static long cellKey(long cx, long cy) {
+        return (cx << 32) ^ (cy & 0xFFFF_FFFFL);
+    }
+
+}
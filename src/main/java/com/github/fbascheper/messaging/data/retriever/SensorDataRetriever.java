@@ -1,27 +1,21 @@
 package com.github.fbascheper.messaging.data.retriever;
 
 import com.github.fbascheper.messaging.common.SensorDataConverter;
-import com.github.fbascheper.messaging.domain.TrafficSensor;
+import com.github.fbascheper.messaging.data.transport.MivFeedSource;
+import com.github.fbascheper.messaging.domain.TrafficSensorConfiguration;
 import com.github.fbascheper.miv.config.JaxbTMivconfig;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.annotation.PostConstruct;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
-import java.time.ZonedDateTime;
-import java.util.Collections;
-import java.util.List;
+import java.io.InputStream;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -37,82 +31,66 @@ public class SensorDataRetriever {
     private static final Logger LOGGER = getLogger(SensorDataRetriever.class);
 
     private final String sensorConfigDataUrl;
-    private final HttpClient httpClient;
-    private final JAXBContext jaxbContext;
+    private final MivFeedSource transport;
 
-    private List<TrafficSensor> trafficSensors;
+    private JAXBContext jaxbContext;
 
-    public SensorDataRetriever(@Value("${traffic.flemish.sensor-config-url}") String sensorConfigDataUrl) {
+    public SensorDataRetriever(
+            @Value("${traffic.flemish.sensor-config-url}") String sensorConfigDataUrl
+            , MivFeedSource transport
+    ) {
         Objects.requireNonNull(sensorConfigDataUrl);
+        Objects.requireNonNull(transport);
         this.sensorConfigDataUrl = sensorConfigDataUrl;
+        this.transport = transport;
+    }
 
-        this.httpClient = HttpClient.newBuilder()
-                .version(HttpClient.Version.HTTP_1_1)
-                .connectTimeout(Duration.ofSeconds(10))
-                .build();
-
+    /**
+     * Retrieve the sensor configuration of the Flemish road authorities.
+     *
+     * @return the sensor configuration.
+     */
+    public TrafficSensorConfiguration getSensorConfiguration() {
         try {
-            this.jaxbContext = JAXBContext.newInstance(JaxbTMivconfig.class.getPackageName());
-        } catch (JAXBException jex) {
-            throw new IllegalStateException("Could not create JAXB context", jex);
-        }
-    }
+            return transport.getAsync(sensorConfigDataUrl, this::toMivConfig)
+                    .thenApply(this::toSensorConfiguration)
+                    .join();
 
-    @PostConstruct
-    void onPostConstruct() {
-        this.buildTrafficSensorList();
+        } catch (CompletionException ce) {
+            throw new IllegalStateException("Could not retrieve sensor data", ce.getCause());
+        }
     }
 
     /**
-     * Return the list of all {@link TrafficSensor}-instances installed by the Flemish road authorities.
+     * Retrieve the sensor configuration without blocking the calling thread, but only if the document has been
+     * modified since the last time it was retrieved with this method.
      *
-     * @return list of sensors.
+     * @return the future sensor configuration, or an empty result if the document has not been modified.
      */
-    public List<TrafficSensor> getTrafficSensors() {
-        Objects.requireNonNull(trafficSensors, "Traffic sensor list should be initialized");
-        return Collections.unmodifiableList(trafficSensors);
+    public CompletableFuture<Optional<TrafficSensorConfiguration>> getSensorConfigurationIfModified() {
+        return transport.getAsyncIfModified(sensorConfigDataUrl, this::toMivConfig)
+                .thenApply(sensorConfig -> sensorConfig.map(this::toSensorConfiguration));
     }
 
-    private void buildTrafficSensorList() {
-        var sensorConfig = getSensorConfig();
-
-        this.trafficSensors = sensorConfig.getMeetpunt().stream()
+    private TrafficSensorConfiguration toSensorConfiguration(JaxbTMivconfig sensorConfig) {
+        var trafficSensors = sensorConfig.getMeetpunt().stream()
                 .map(SensorDataConverter::ofMeasurementPoint)
                 .toList();
 
+        var lastConfigChange = sensorConfig.getTijdLaatsteConfigWijziging().toGregorianCalendar().toZonedDateTime();
+        LOGGER.debug("Retrieved a total of {} sensors, last changed at {}", trafficSensors.size(), lastConfigChange);
 
-        ZonedDateTime lastConfigChange = sensorConfig.getTijdLaatsteConfigWijziging().toGregorianCalendar().toZonedDateTime();
-        LOGGER.debug("Retrieved a total of {} sensors, last changed at {}", this.trafficSensors.size(), lastConfigChange);
-    }
-
-    private JaxbTMivconfig getSensorConfig() {
-        JaxbTMivconfig result;
-
-        HttpRequest request = HttpRequest.newBuilder()
-                .GET()
-                .uri(URI.create(sensorConfigDataUrl))
-                .setHeader("User-Agent", "Java 17 HttpClient") // add request header
-                .build();
-
-        try {
-            var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            result = toMivConfig(response.body());
-
-        } catch (IOException | InterruptedException e) {
-            throw new IllegalStateException("Could not retrieve sensor data", e);
-        }
-
-        return result;
+        return new TrafficSensorConfiguration(lastConfigChange, trafficSensors);
     }
 
-    private JaxbTMivconfig toMivConfig(String xml) {
+    private JaxbTMivconfig toMivConfig(InputStream xml) {
         JaxbTMivconfig result;
 
         try {
-            var um = jaxbContext.createUnmarshaller();
+            var um = jaxbContext().createUnmarshaller();
 
             @SuppressWarnings("unchecked")
-            var element = (JAXBElement<JaxbTMivconfig>) um.unmarshal(new ByteArrayInputStream(xml.getBytes()));
+            var element = (JAXBElement<JaxbTMivconfig>) um.unmarshal(xml);
 
             result = element.getValue();
 
@@ -123,4 +101,14 @@ public class SensorDataRetriever {
         return result;
     }
 
+    /**
+     * The JAXB context is only created when the first configuration is read, so it does not delay startup.
+     */
+    private synchronized JAXBContext jaxbContext() throws JAXBException {
+        if (jaxbContext == null) {
+            jaxbContext = JAXBContext.newInstance(JaxbTMivconfig.class.getPackageName());
+        }
+        return jaxbContext;
+    }
+
 }
@@ -0,0 +1,216 @@
+package com.github.fbascheper.messaging.data.retriever;
+
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Parallel reader of the {@code verkeersdata} XML feed, which splits the document at {@code meetpunt} boundaries
+ * and streams the chunks with a {@link TrafficDataStreamReader} each, on a fork-join pool.
+ * <p>
+ * The events of the chunks are handed to the consumer on the calling thread, in document order, so the order of the
+ * events per sensor is preserved. The document is read into memory as a whole, and each chunk is wrapped in an
+ * element of its own, so it is well-formed. Attributes and namespace declarations of the root element are not
+ * copied into the chunks. The MIV feed declares no namespaces, and its only root attribute, {@code schemaVersion},
+ * is not read by the parsers.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class TrafficDataChunkedReader {
+
+    private static final byte[] MEETPUNT_START = bytes("<meetpunt");
+    private static final byte[] MEETPUNT_END = bytes("</meetpunt>");
+    private static final byte[] XML_DECLARATION_START = bytes("<?xml");
+    private static final byte[] XML_DECLARATION_END = bytes("?>");
+    private static final byte[] ROOT_END = bytes("</miv>");
+    private static final byte[] CHUNK_START = bytes("<chunk>");
+    private static final byte[] CHUNK_END = bytes("</chunk>");
+
+    private static final int DEFAULT_MIN_CHUNK_SIZE = 64 * 1024;
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+    private final int minChunkSize;
+    private final ThreadLocal<TrafficDataStreamReader> streamReaders = ThreadLocal.withInitial(TrafficDataStreamReader::new);
+
+    /**
+     * @param parallelism the number of threads parsing the chunks, or {@code 0} for the number of available processors
+     */
+    public TrafficDataChunkedReader(int parallelism) {
+        this(parallelism, DEFAULT_MIN_CHUNK_SIZE);
+    }
+
+    TrafficDataChunkedReader(int parallelism, int minChunkSize) {
+        if (parallelism < 0 || minChunkSize <= 0) {
+            throw new IllegalArgumentException("Invalid parallelism " + parallelism + " or minimum chunk size " + minChunkSize);
+        }
+
+        this.pool = new ForkJoinPool(parallelism == 0 ? Runtime.getRuntime().availableProcessors() : parallelism);
+        this.minChunkSize = minChunkSize;
+    }
+
+    /**
+     * @return the number of threads parsing the chunks
+     */
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Read all traffic events from the XML input stream, unless the publication is rejected by the given filter.
+     *
+     * @param xml               the XML of the {@code verkeersdata} feed
+     * @param publicationFilter filter on the publication time ({@code tijd_publicatie}) of the feed
+     * @param consumer          consumer of each {@link TrafficEvent}, in document order
+     * @return the number of events handed to the consumer, or an empty result if the publication was rejected
+     */
+    public OptionalInt read(InputStream xml, Predicate<ZonedDateTime> publicationFilter, Consumer<TrafficEvent> consumer) {
+        byte[] document;
+
+        try {
+            document = xml.readAllBytes();
+        } catch (IOException e) {
+            throw new IllegalStateException("An error occurred while reading the traffic data", e);
+        }
+
+        int first = indexOfMeetpunt(document, 0, document.length);
+        int last = lastIndexOf(document, MEETPUNT_END);
+
+        if (first < 0 || last < first) {
+            return streamReaders.get().read(new ByteArrayInputStream(document), publicationFilter, consumer);
+        }
+
+        // the header precedes all measurement points, so a rejected publication is not split at all
+        var header = new SequenceInputStream(new ByteArrayInputStream(document, 0, first), new ByteArrayInputStream(ROOT_END));
+        if (streamReaders.get().read(header, publicationFilter, consumer).isEmpty()) {
+            return OptionalInt.empty();
+        }
+
+        int end = last + MEETPUNT_END.length;
+        int chunkSize = Math.max(minChunkSize, (end - first) / (pool.getParallelism() * CHUNKS_PER_THREAD));
+        var declaration = xmlDeclaration(document);
+
+        var tasks = new ArrayList<ForkJoinTask<List<TrafficEvent>>>();
+        for (int start = first, next; start < end; start = next) {
+            next = chunkEnd(document, start, end, chunkSize);
+
+            int chunkStart = start;
+            int chunkEnd = next;
+            tasks.add(pool.submit(() -> readChunk(declaration, document, chunkStart, chunkEnd)));
+        }
+
+        int result = 0;
+        for (var task : tasks) {
+            var events = task.join();
+            events.forEach(consumer);
+            result += events.size();
+        }
+
+        return OptionalInt.of(result);
+    }
+
+    /**
+     * @return the start of the first measurement point after the chunk starting at {@code start}, or {@code end}
+     */
+    private static int chunkEnd(byte[] document, int start, int end, int chunkSize) {
+        if (end - start <= chunkSize) {
+            return end;
+        }
+
+        int result = indexOfMeetpunt(document, start + chunkSize, end);
+        return result < 0 ? end : result;
+    }
+
+    private List<TrafficEvent> readChunk(byte[] declaration, byte[] document, int start, int end) {
+        var chunk = new SequenceInputStream(Collections.enumeration(List.of(
+                new ByteArrayInputStream(declaration)
+                , new ByteArrayInputStream(CHUNK_START)
+                , new ByteArrayInputStream(document, start, end - start)
+                , new ByteArrayInputStream(CHUNK_END))));
+
+        var result = new ArrayList<TrafficEvent>();
+        streamReaders.get().read(chunk, result::add);
+        return result;
+    }
+
+    /**
+     * @return the XML declaration of the document, so the chunks are decoded with its encoding
+     */
+    private static byte[] xmlDeclaration(byte[] document) {
+        if (!startsWith(document, 0, XML_DECLARATION_START)) {
+            return new byte[0];
+        }
+
+        int end = indexOf(document, XML_DECLARATION_END, 0, document.length);
+        return end < 0 ? new byte[0] : Arrays.copyOf(document, end + XML_DECLARATION_END.length);
+    }
+
+    /**
+     * @return the index of the first {@code meetpunt} start tag at or after {@code from}, or {@code -1} if there is none
+     */
+    private static int indexOfMeetpunt(byte[] document, int from, int to) {
+        for (int i = indexOf(document, MEETPUNT_START, from, to); i >= 0; i = indexOf(document, MEETPUNT_START, i + 1, to)) {
+            int next = i + MEETPUNT_START.length;
+            if (next < to && isEndOfName(document[next])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isEndOfName(byte b) {
+        return b == '>' || b == '/' || b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    private static int indexOf(byte[] document, byte[] pattern, int from, int to) {
+        for (int i = from; i <= to - pattern.length; i++) {
+            if (startsWith(document, i, pattern)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(byte[] document, byte[] pattern) {
+        for (int i = document.length - pattern.length; i >= 0; i--) {
+            if (startsWith(document, i, pattern)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean startsWith(byte[] document, int offset, byte[] pattern) {
+        if (document.length - offset < pattern.length) {
+            return false;
+        }
+
+        for (int i = 0; i < pattern.length; i++) {
+            if (document[offset + i] != pattern[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+}
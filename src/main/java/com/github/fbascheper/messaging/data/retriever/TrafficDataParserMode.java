@@ -0,0 +1,28 @@
+package com.github.fbascheper.messaging.data.retriever;
+
+/**
+ * The way the {@link TrafficDataRetriever} parses the XML feed of the Flemish road authorities.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public enum TrafficDataParserMode {
+
+    /**
+     * Pull the {@code meetpunt}/{@code meetdata} elements straight off the input stream, one event at a time,
+     * so memory usage does not depend on the size of the feed.
+     */
+    STAX,
+
+    /**
+     * Unmarshal the complete feed into a JAXB object tree first, and convert it afterwards.
+     */
+    JAXB,
+
+    /**
+     * Split the feed at {@code meetpunt} boundaries, and stream the chunks on several cores.
+     * The feed is read into memory as a whole, and the events are still handed over in document order.
+     */
+    PARALLEL
+
+}
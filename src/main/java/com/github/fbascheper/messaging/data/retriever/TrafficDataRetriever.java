@@ -1,29 +1,38 @@
 package com.github.fbascheper.messaging.data.retriever;
 
 import com.github.fbascheper.messaging.common.TrafficDataConverter;
+import com.github.fbascheper.messaging.data.transport.MivFeedSource;
 import com.github.fbascheper.messaging.domain.TrafficEvent;
 import com.github.fbascheper.miv.data.JaxbMivType;
 import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import javax.inject.Inject;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBElement;
 import javax.xml.bind.JAXBException;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.time.Duration;
+import java.io.InputStream;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Retriever of traffic events.
+ * <p>
+ * A snapshot of the feed is skipped when the server reports it has not been modified, or when its publication time
+ * ({@code tijd_publicatie}) equals that of the last snapshot processed.
+ * </p>
  *
  * @author Frederieke Scheper
  * @since 15-10-2021
@@ -34,18 +43,36 @@ public class TrafficDataRetriever {
     private static final Logger LOGGER = getLogger(TrafficDataRetriever.class);
 
     private final String flemishTrafficDataUrl;
-    private final HttpClient httpClient;
+    private final TrafficDataParserMode parserMode;
+    private final MivFeedSource transport;
     private final JAXBContext jaxbContext;
+    private final TrafficDataStreamReader streamReader;
+    private final TrafficDataChunkedReader chunkedReader;
 
-    public TrafficDataRetriever(@Value("${traffic.flemish.data-url}") String trafficDataUrl) {
+    private final AtomicReference<ZonedDateTime> lastPublicationTime = new AtomicReference<>();
+    private final AtomicLong processedSnapshotCount = new AtomicLong();
+    private final AtomicLong skippedSnapshotCount = new AtomicLong();
+
+    public TrafficDataRetriever(String trafficDataUrl, TrafficDataParserMode parserMode, MivFeedSource transport) {
+        this(trafficDataUrl, parserMode, 0, transport);
+    }
+
+    @Inject
+    public TrafficDataRetriever(
+            @Value("${traffic.flemish.data-url}") String trafficDataUrl
+            , @Value("${traffic.flemish.data-parser:STAX}") TrafficDataParserMode parserMode
+            , @Value("${traffic.flemish.data-parser-parallelism:0}") int parserParallelism
+            , MivFeedSource transport
+    ) {
         Objects.requireNonNull(trafficDataUrl);
+        Objects.requireNonNull(parserMode);
+        Objects.requireNonNull(transport);
 
         this.flemishTrafficDataUrl = trafficDataUrl;
-
-        this.httpClient = HttpClient.newBuilder()
-                .version(HttpClient.Version.HTTP_1_1)
-                .connectTimeout(Duration.ofSeconds(10))
-                .build();
+        this.parserMode = parserMode;
+        this.transport = transport;
+        this.streamReader = new TrafficDataStreamReader();
+        this.chunkedReader = parserMode == TrafficDataParserMode.PARALLEL ? new TrafficDataChunkedReader(parserParallelism) : null;
 
         try {
             this.jaxbContext = JAXBContext.newInstance(JaxbMivType.class.getPackageName());
@@ -54,49 +81,123 @@ public class TrafficDataRetriever {
         }
     }
 
+    /**
+     * Retrieve all current traffic events at once, blocking until they have been parsed.
+     * <p>
+     * Like {@link #streamTrafficEvents(Consumer)}, this skips an unchanged snapshot of the feed, so the events are only
+     * returned when the snapshot changed since the last one processed by this retriever.
+     * </p>
+     *
+     * @return list of traffic events, which is empty for a skipped snapshot
+     */
     public List<TrafficEvent> getTrafficEvents() {
-        var flemishTrafficData = getTrafficData();
+        var result = new ArrayList<TrafficEvent>();
+
+        try {
+            streamTrafficEvents(result::add).join();
+        } catch (CompletionException ce) {
+            throw new IllegalStateException("Could not retrieve Flemish traffic data", ce.getCause());
+        }
+
+        return result;
+    }
+
+    /**
+     * Retrieve all current traffic events, handing each of them to the consumer as soon as it has been parsed.
+     * When using the {@link TrafficDataParserMode#STAX} parser, the memory usage does not depend on the size of the feed.
+     * <p>
+     * The calling thread is not blocked: the consumer is invoked on a thread of the HTTP transport.
+     * With the {@link TrafficDataParserMode#PARALLEL} parser, the chunks of the feed are parsed on several threads,
+     * but the consumer is still invoked on a single thread, in document order.
+     * An unchanged snapshot of the feed is skipped before parsing its measurements, so the consumer is not invoked at all.
+     * </p>
+     *
+     * @param consumer consumer of each {@link TrafficEvent}
+     * @return the future number of traffic events retrieved, which is zero for a skipped snapshot
+     */
+    public CompletableFuture<Integer> streamTrafficEvents(Consumer<TrafficEvent> consumer) {
+        return transport.getAsyncIfModified(flemishTrafficDataUrl, xml -> readTrafficEvents(xml, consumer))
+                .thenApply(this::countSnapshot);
+    }
+
+    /**
+     * @return the number of snapshots of the feed that have been processed
+     */
+    public long getProcessedSnapshotCount() {
+        return processedSnapshotCount.get();
+    }
 
-        var result= flemishTrafficData.getMeetpunt().stream()
-                .flatMap(meetpunt -> meetpunt.getMeetdata().stream()
-                        .map(meetdata -> TrafficDataConverter.ofMeasurement(meetpunt, meetdata)))
-                .toList();
+    /**
+     * @return the number of snapshots of the feed that have been skipped, because they were not modified
+     */
+    public long getSkippedSnapshotCount() {
+        return skippedSnapshotCount.get();
+    }
 
-        LOGGER.debug("Retrieved a total of {} traffic events", result.size());
+    private Integer countSnapshot(Optional<OptionalInt> trafficEventCount) {
+        int result;
+
+        if (trafficEventCount.isPresent() && trafficEventCount.get().isPresent()) {
+            result = trafficEventCount.get().getAsInt();
+            processedSnapshotCount.incrementAndGet();
+            LOGGER.debug("Retrieved a total of {} traffic events", result);
+        } else {
+            result = 0;
+            skippedSnapshotCount.incrementAndGet();
+            LOGGER.debug("Skipped unchanged traffic data snapshot, last published at {}", lastPublicationTime.get());
+        }
 
         return result;
     }
 
+    OptionalInt readTrafficEvents(InputStream xml, Consumer<TrafficEvent> consumer) {
+        var publicationTime = new AtomicReference<ZonedDateTime>();
 
-    private JaxbMivType getTrafficData() {
-        JaxbMivType result;
+        var result = switch (parserMode) {
+            case STAX -> streamReader.read(xml, time -> isNewPublication(time, publicationTime), consumer);
+            case PARALLEL -> chunkedReader.read(xml, time -> isNewPublication(time, publicationTime), consumer);
+            case JAXB -> {
+                var flemishTrafficData = toMivType(xml);
 
-        HttpRequest request = HttpRequest.newBuilder()
-                .GET()
-                .uri(URI.create(flemishTrafficDataUrl))
-                .setHeader("User-Agent", "Java 17 HttpClient") // add request header
-                .build();
+                yield isNewPublication(TrafficDataConverter.toZonedDateTime(flemishTrafficData.getTijdPublicatie()), publicationTime)
+                        ? OptionalInt.of(convertTrafficEvents(flemishTrafficData, consumer))
+                        : OptionalInt.empty();
+            }
+        };
 
-        try {
-            var response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-            result =  toMivType(response.body());
+        if (result.isPresent()) {
+            lastPublicationTime.set(publicationTime.get());
+        }
+
+        return result;
+    }
+
+    private boolean isNewPublication(ZonedDateTime publicationTime, AtomicReference<ZonedDateTime> currentPublicationTime) {
+        currentPublicationTime.set(publicationTime);
+
+        var last = lastPublicationTime.get();
+        return last == null || !last.isEqual(publicationTime);
+    }
+
+    private int convertTrafficEvents(JaxbMivType flemishTrafficData, Consumer<TrafficEvent> consumer) {
+        LOGGER.debug("Retrieved data about of {} measurement points", flemishTrafficData.getMeetpunt().size());
 
-        } catch (IOException | InterruptedException e) {
-            throw new IllegalStateException("Could not retrieve Flemish traffic data", e);
+        int result = 0;
+        for (var meetpunt : flemishTrafficData.getMeetpunt()) {
+            result += TrafficDataConverter.ofMeasurementPoint(meetpunt, consumer);
         }
 
-        LOGGER.debug("Retrieved data about of {} measurement points", result.getMeetpunt().size());
         return result;
     }
 
-    private JaxbMivType toMivType(String xml) {
+    private JaxbMivType toMivType(InputStream xml) {
         JaxbMivType result;
 
         try {
             var um = jaxbContext.createUnmarshaller();
 
             @SuppressWarnings("unchecked")
-            var element  = (JAXBElement<JaxbMivType>) um.unmarshal(new ByteArrayInputStream(xml.getBytes()));
+            var element  = (JAXBElement<JaxbMivType>) um.unmarshal(xml);
 
             result = element.getValue();
 
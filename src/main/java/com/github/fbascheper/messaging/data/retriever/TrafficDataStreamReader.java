@@ -0,0 +1,197 @@
+package com.github.fbascheper.messaging.data.retriever;
+
+import com.github.fbascheper.messaging.common.TrafficDataConverter;
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+
+import javax.xml.datatype.DatatypeConfigurationException;
+import javax.xml.datatype.DatatypeFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.time.ZonedDateTime;
+import java.util.OptionalInt;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Streaming (StAX) reader of the {@code verkeersdata} XML feed, which hands over each {@link TrafficEvent}
+ * as soon as its {@code meetdata} element has been read, without building the JAXB object tree.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class TrafficDataStreamReader {
+
+    private static final String MEETPUNT = "meetpunt";
+    private static final String MEETDATA = "meetdata";
+
+    private final XMLInputFactory xmlInputFactory;
+    private final DatatypeFactory datatypeFactory;
+
+    public TrafficDataStreamReader() {
+        this.xmlInputFactory = XMLInputFactory.newFactory();
+        this.xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        this.xmlInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        try {
+            this.datatypeFactory = DatatypeFactory.newInstance();
+        } catch (DatatypeConfigurationException dce) {
+            throw new IllegalStateException("Could not create datatype factory", dce);
+        }
+    }
+
+    /**
+     * Read all traffic events from the XML input stream.
+     *
+     * @param xml      the XML of the {@code verkeersdata} feed
+     * @param consumer consumer of each {@link TrafficEvent}, in document order
+     * @return the number of events handed to the consumer
+     */
+    public int read(InputStream xml, Consumer<TrafficEvent> consumer) {
+        return read(xml, publicationTime -> true, consumer).orElseThrow();
+    }
+
+    /**
+     * Read all traffic events from the XML input stream, unless the publication is rejected by the given filter.
+     * The {@code tijd_publicatie} precedes all measurement points, so a rejected publication is not parsed any further.
+     *
+     * @param xml                the XML of the {@code verkeersdata} feed
+     * @param publicationFilter  filter on the publication time ({@code tijd_publicatie}) of the feed
+     * @param consumer           consumer of each {@link TrafficEvent}, in document order
+     * @return the number of events handed to the consumer, or an empty result if the publication was rejected
+     */
+    public OptionalInt read(InputStream xml, Predicate<ZonedDateTime> publicationFilter, Consumer<TrafficEvent> consumer) {
+        int result = 0;
+        XMLStreamReader reader = null;
+
+        try {
+            reader = xmlInputFactory.createXMLStreamReader(xml);
+            var meetpunt = new MeasurementPoint();
+
+            // consecutive measurement points mostly share their time stamps, so these are only converted once
+            var timeRegistration = new CachedDateTime();
+            var lastUpdated = new CachedDateTime();
+
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+
+                switch (reader.getLocalName()) {
+                    case "tijd_publicatie" -> {
+                        if (!publicationFilter.test(toZonedDateTime(reader.getElementText()))) {
+                            return OptionalInt.empty();
+                        }
+                    }
+                    case MEETPUNT -> meetpunt.reset(
+                            reader.getAttributeValue(null, "unieke_id")
+                            , reader.getAttributeValue(null, "beschrijvende_id"));
+                    case "tijd_waarneming" -> meetpunt.timeRegistration = timeRegistration.of(reader.getElementText());
+                    case "tijd_laatst_gewijzigd" -> meetpunt.lastUpdated = lastUpdated.of(reader.getElementText());
+                    case "actueel_publicatie" -> meetpunt.sensorDataRecent = toInt(reader.getElementText()) == 1;
+                    case "beschikbaar" -> meetpunt.sensorAvailable = toInt(reader.getElementText()) == 1;
+                    case MEETDATA -> {
+                        consumer.accept(readMeasurement(reader, meetpunt));
+                        result++;
+                    }
+                    default -> {
+                        // not used for traffic events
+                    }
+                }
+            }
+
+        } catch (XMLStreamException xse) {
+            throw new IllegalStateException("An error occurred while streaming the traffic data", xse);
+        } finally {
+            close(reader);
+        }
+
+        return OptionalInt.of(result);
+    }
+
+    private TrafficEvent readMeasurement(XMLStreamReader reader, MeasurementPoint meetpunt) throws XMLStreamException {
+        var vehicleClass = TrafficDataConverter.vehicleClassOf(toInt(reader.getAttributeValue(null, "klasse_id")));
+        int trafficIntensity = 0;
+        int vehicleCalculatedSpeed = 0;
+        int vehicleHarmonicSpeed = 0;
+
+        while (reader.hasNext()) {
+            int eventType = reader.next();
+
+            if (eventType == XMLStreamConstants.END_ELEMENT && MEETDATA.equals(reader.getLocalName())) {
+                break;
+            } else if (eventType == XMLStreamConstants.START_ELEMENT) {
+                switch (reader.getLocalName()) {
+                    case "verkeersintensiteit" -> trafficIntensity = toInt(reader.getElementText());
+                    case "voertuigsnelheid_rekenkundig" -> vehicleCalculatedSpeed = toInt(reader.getElementText());
+                    case "voertuigsnelheid_harmonisch" -> vehicleHarmonicSpeed = toInt(reader.getElementText());
+                    default -> {
+                        // not used for traffic events
+                    }
+                }
+            }
+        }
+
+        return new TrafficEvent(meetpunt.timeRegistration, meetpunt.sensorId, meetpunt.sensorDescriptiveId
+                , meetpunt.sensorAvailable, meetpunt.sensorDataRecent, meetpunt.lastUpdated
+                , vehicleClass, trafficIntensity, vehicleCalculatedSpeed, vehicleHarmonicSpeed);
+    }
+
+    private ZonedDateTime toZonedDateTime(String dateTime) {
+        return TrafficDataConverter.toZonedDateTime(datatypeFactory.newXMLGregorianCalendar(dateTime.trim()));
+    }
+
+    private static int toInt(String number) {
+        return Integer.parseInt(number.trim());
+    }
+
+    private static void close(XMLStreamReader reader) {
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException xse) {
+                // nothing left to do
+            }
+        }
+    }
+
+    /**
+     * The last {@code dateTime} text converted, and its result.
+     */
+    private class CachedDateTime {
+        private String text;
+        private ZonedDateTime value;
+
+        private ZonedDateTime of(String dateTime) {
+            if (!dateTime.equals(text)) {
+                this.value = toZonedDateTime(dateTime);
+                this.text = dateTime;
+            }
+            return value;
+        }
+    }
+
+    /**
+     * The fields of the current {@code meetpunt}, shared by all of its {@code meetdata} elements.
+     */
+    private static class MeasurementPoint {
+        private Integer sensorId;
+        private String sensorDescriptiveId;
+        private boolean sensorAvailable;
+        private boolean sensorDataRecent;
+        private ZonedDateTime timeRegistration;
+        private ZonedDateTime lastUpdated;
+
+        private void reset(String uniqueId, String descriptiveId) {
+            this.sensorId = Integer.valueOf(uniqueId);
+            this.sensorDescriptiveId = descriptiveId;
+            this.sensorAvailable = false;
+            this.sensorDataRecent = false;
+            this.timeRegistration = null;
+            this.lastUpdated = null;
+        }
+    }
+
+}
@@ -0,0 +1,188 @@
+package com.github.fbascheper.messaging.data.transport;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Local archive of recorded MIV documents, with one directory per feed and one gzip file per document.
+ * <p>
+ * A feed is identified by the path of its URL, so an archive can be replayed against another host.
+ * A document is named after the epoch millisecond at which it was recorded, e.g.
+ * {@code miv_verkeersdata/1636293757047.xml.gz}.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class MivFeedArchive {
+
+    private static final String SUFFIX = ".xml.gz";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path directory;
+
+    MivFeedArchive(Path directory) {
+        this.directory = Objects.requireNonNull(directory);
+    }
+
+    /**
+     * @param url URL of the feed
+     * @return all documents recorded for the feed, oldest first
+     */
+    List<RecordedDocument> documents(String url) {
+        var feedDirectory = feedDirectory(url);
+
+        if (!Files.isDirectory(feedDirectory)) {
+            return List.of();
+        }
+
+        try (var files = Files.list(feedDirectory)) {
+            return files
+                    .filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .map(RecordedDocument::of)
+                    .sorted(Comparator.comparing(RecordedDocument::recordedAt))
+                    .toList();
+
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not list the recorded documents in " + feedDirectory, e);
+        }
+    }
+
+    /**
+     * Start recording a document of the feed.
+     *
+     * @param url        URL of the feed
+     * @param recordedAt the time of recording
+     * @return the recording, which should be completed or closed
+     */
+    Recording record(String url, Instant recordedAt) {
+        var feedDirectory = feedDirectory(url);
+
+        try {
+            Files.createDirectories(feedDirectory);
+            var tempFile = Files.createTempFile(feedDirectory, String.valueOf(recordedAt.toEpochMilli()), ".tmp");
+
+            return new Recording(tempFile, feedDirectory.resolve(recordedAt.toEpochMilli() + SUFFIX));
+
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start recording a document in " + feedDirectory, e);
+        }
+    }
+
+    private Path feedDirectory(String url) {
+        var uri = URI.create(url);
+        var path = uri.getPath() + (uri.getQuery() == null ? "" : "?" + uri.getQuery());
+
+        var name = path.replaceAll("[^A-Za-z0-9.-]+", "_").replaceAll("^_+|_+$", "");
+        return directory.resolve(name.isEmpty() ? "root" : name);
+    }
+
+    /**
+     * A recorded document of a feed.
+     *
+     * @param recordedAt the time of recording
+     * @param file       the gzip file of the document
+     */
+    record RecordedDocument(Instant recordedAt, Path file) {
+
+        private static RecordedDocument of(Path file) {
+            var name = file.getFileName().toString();
+            var epochMilli = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+
+            return new RecordedDocument(Instant.ofEpochMilli(epochMilli), file);
+        }
+
+        /**
+         * @return the decompressed document, which should be closed by the caller
+         */
+        InputStream open() throws IOException {
+            return new GZIPInputStream(Files.newInputStream(file), BUFFER_SIZE);
+        }
+    }
+
+    /**
+     * A document being recorded into a temporary file, which is moved into the archive when it is complete.
+     */
+    static class Recording implements AutoCloseable {
+
+        private final Path tempFile;
+        private final Path file;
+        private final OutputStream out;
+
+        private Recording(Path tempFile, Path file) throws IOException {
+            this.tempFile = tempFile;
+            this.file = file;
+            this.out = new GZIPOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile), BUFFER_SIZE), BUFFER_SIZE);
+        }
+
+        /**
+         * @param body the document being read
+         * @return the document, which records all bytes read from it
+         */
+        InputStream tee(InputStream body) {
+            return new FilterInputStream(body) {
+
+                @Override
+                public int read() throws IOException {
+                    int result = super.read();
+                    if (result >= 0) {
+                        out.write(result);
+                    }
+                    return result;
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) throws IOException {
+                    int result = super.read(b, off, len);
+                    if (result > 0) {
+                        out.write(b, off, result);
+                    }
+                    return result;
+                }
+
+                @Override
+                public long skip(long n) throws IOException {
+                    // read the skipped bytes, so they are recorded as well
+                    return read(new byte[(int) Math.min(n, BUFFER_SIZE)]);
+                }
+
+                @Override
+                public boolean markSupported() {
+                    return false;
+                }
+            };
+        }
+
+        /**
+         * Record the rest of the document that has not been read, and move the complete document into the archive.
+         *
+         * @param body the document being read
+         */
+        void complete(InputStream body) throws IOException {
+            body.transferTo(out);
+            out.close();
+
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+}
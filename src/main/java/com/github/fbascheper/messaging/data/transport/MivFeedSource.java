@@ -0,0 +1,37 @@
+package com.github.fbascheper.messaging.data.transport;
+
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Source of the XML documents of the "Meten in Vlaanderen" (MIV) feeds, used by the retrievers.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public interface MivFeedSource {
+
+    /**
+     * Retrieve the document at the given URL without blocking the calling thread.
+     *
+     * @param url        URL of the document
+     * @param bodyReader reader of the (decompressed) document
+     * @param <T>        the type of the result
+     * @return the future result of the body reader
+     */
+    <T> CompletableFuture<T> getAsync(String url, Function<InputStream, T> bodyReader);
+
+    /**
+     * Retrieve the document at the given URL without blocking the calling thread, but only if it has been modified
+     * since the last time it was read successfully.
+     *
+     * @param url        URL of the document
+     * @param bodyReader reader of the (decompressed) document
+     * @param <T>        the type of the result
+     * @return the future result of the body reader, or an empty result if the document has not been modified
+     */
+    <T> CompletableFuture<Optional<T>> getAsyncIfModified(String url, Function<InputStream, T> bodyReader);
+
+}
@@ -0,0 +1,26 @@
+package com.github.fbascheper.messaging.data.transport;
+
+/**
+ * The {@link MivFeedSource} used by the retrievers of the MIV feeds.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public enum MivFeedSourceMode {
+
+    /**
+     * Retrieve the live feeds over HTTP.
+     */
+    HTTP,
+
+    /**
+     * Retrieve the live feeds over HTTP, and record each document retrieved into a local archive.
+     */
+    RECORD,
+
+    /**
+     * Replay the documents of a local archive, at a configurable speed-up of the recorded time.
+     */
+    REPLAY
+
+}
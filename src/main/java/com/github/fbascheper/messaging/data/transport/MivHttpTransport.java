@@ -0,0 +1,161 @@
+package com.github.fbascheper.messaging.data.transport;
+
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * HTTP transport shared by the retrievers of the "Meten in Vlaanderen" (MIV) feeds.
+ * <p>
+ * The response body is requested with {@code gzip}/{@code deflate} compression, and is decoded as a stream
+ * straight into the body reader, so no intermediate {@code String} or {@code byte[]} of the feed is built.
+ * </p>
+ * <p>
+ * Conditional requests remember the {@code ETag} and {@code Last-Modified} headers of the last document that was
+ * read successfully, so an unchanged document is neither downloaded nor parsed again.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class MivHttpTransport implements MivFeedSource {
+
+    private static final Logger LOGGER = getLogger(MivHttpTransport.class);
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final HttpClient httpClient;
+    private final ConcurrentMap<String, Validators> validatorsByUrl = new ConcurrentHashMap<>();
+
+    public MivHttpTransport() {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+    }
+
+    /**
+     * Retrieve the document at the given URL without blocking the calling thread.
+     * The body reader runs on a thread of the HTTP client, and receives the decompressed response body.
+     *
+     * @param url        URL of the document
+     * @param bodyReader reader of the (decompressed) response body
+     * @param <T>        the type of the result
+     * @return the future result of the body reader
+     */
+    @Override
+    public <T> CompletableFuture<T> getAsync(String url, Function<InputStream, T> bodyReader) {
+        return httpClient.sendAsync(request(url).build(), HttpResponse.BodyHandlers.ofInputStream())
+                .thenApply(response -> readBody(url, response, bodyReader));
+    }
+
+    /**
+     * Retrieve the document at the given URL without blocking the calling thread, but only if it has been modified
+     * since the last time it was read successfully, using the {@code If-None-Match} and {@code If-Modified-Since} headers.
+     *
+     * @param url        URL of the document
+     * @param bodyReader reader of the (decompressed) response body
+     * @param <T>        the type of the result
+     * @return the future result of the body reader, or an empty result if the document has not been modified
+     */
+    @Override
+    public <T> CompletableFuture<Optional<T>> getAsyncIfModified(String url, Function<InputStream, T> bodyReader) {
+        var request = request(url);
+
+        var validators = validatorsByUrl.get(url);
+        if (validators != null) {
+            validators.eTag().ifPresent(eTag -> request.setHeader("If-None-Match", eTag));
+            validators.lastModified().ifPresent(lastModified -> request.setHeader("If-Modified-Since", lastModified));
+        }
+
+        return httpClient.sendAsync(request.build(), HttpResponse.BodyHandlers.ofInputStream())
+                .thenApply(response -> {
+                    if (response.statusCode() == 304) {
+                        LOGGER.debug("Document at {} has not been modified", url);
+                        closeQuietly(response.body());
+                        return Optional.empty();
+                    }
+
+                    var result = readBody(url, response, bodyReader);
+                    validatorsByUrl.put(url, Validators.of(response));
+
+                    return Optional.of(result);
+                });
+    }
+
+    private static HttpRequest.Builder request(String url) {
+        return HttpRequest.newBuilder()
+                .GET()
+                .uri(URI.create(url))
+                .setHeader("User-Agent", "Java 17 HttpClient") // add request header
+                .setHeader("Accept-Encoding", "gzip, deflate");
+    }
+
+    private <T> T readBody(String url, HttpResponse<InputStream> response, Function<InputStream, T> bodyReader) {
+        try (var body = decode(response)) {
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Unexpected HTTP status " + response.statusCode() + " while retrieving " + url);
+            }
+
+            return bodyReader.apply(body);
+
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read the response body of " + url, e);
+        }
+    }
+
+    private static InputStream decode(HttpResponse<InputStream> response) throws IOException {
+        var contentEncoding = response.headers()
+                .firstValue("Content-Encoding")
+                .orElse("identity")
+                .trim()
+                .toLowerCase(Locale.ROOT);
+
+        LOGGER.trace("Decoding response body with content encoding {}", contentEncoding);
+
+        return switch (contentEncoding) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(response.body(), BUFFER_SIZE);
+            case "deflate" -> new InflaterInputStream(response.body());
+            case "identity" -> response.body();
+            default -> {
+                response.body().close();
+                throw new IllegalStateException("Unsupported content encoding " + contentEncoding);
+            }
+        };
+    }
+
+    private static void closeQuietly(InputStream body) {
+        try {
+            body.close();
+        } catch (IOException e) {
+            LOGGER.trace("Could not close response body", e);
+        }
+    }
+
+    /**
+     * The validators of the last document read successfully from a URL.
+     */
+    private record Validators(Optional<String> eTag, Optional<String> lastModified) {
+
+        private static Validators of(HttpResponse<?> response) {
+            return new Validators(response.headers().firstValue("ETag"), response.headers().firstValue("Last-Modified"));
+        }
+    }
+
+}
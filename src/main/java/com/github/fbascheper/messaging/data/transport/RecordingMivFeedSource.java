@@ -0,0 +1,68 @@
+package com.github.fbascheper.messaging.data.transport;
+
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * {@link MivFeedSource} that records each document retrieved from another source into a local, compressed archive,
+ * which can be replayed later by a {@link ReplayMivFeedSource}.
+ * <p>
+ * The document is recorded while the body reader consumes it, so it is not buffered in memory.
+ * Documents that were not modified are not retrieved, and are therefore not recorded either.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class RecordingMivFeedSource implements MivFeedSource {
+
+    private static final Logger LOGGER = getLogger(RecordingMivFeedSource.class);
+
+    private final MivFeedSource delegate;
+    private final MivFeedArchive archive;
+    private final Clock clock;
+
+    public RecordingMivFeedSource(MivFeedSource delegate, Path archiveDirectory, Clock clock) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.archive = new MivFeedArchive(archiveDirectory);
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String url, Function<InputStream, T> bodyReader) {
+        return delegate.getAsync(url, recording(url, bodyReader));
+    }
+
+    @Override
+    public <T> CompletableFuture<Optional<T>> getAsyncIfModified(String url, Function<InputStream, T> bodyReader) {
+        return delegate.getAsyncIfModified(url, recording(url, bodyReader));
+    }
+
+    private <T> Function<InputStream, T> recording(String url, Function<InputStream, T> bodyReader) {
+        return body -> {
+            var recordedAt = clock.instant();
+
+            try (var recording = archive.record(url, recordedAt)) {
+                var result = bodyReader.apply(recording.tee(body));
+                recording.complete(body);
+
+                LOGGER.debug("Recorded document of {} at {}", url, recordedAt);
+                return result;
+
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not record the document of " + url, e);
+            }
+        };
+    }
+
+}
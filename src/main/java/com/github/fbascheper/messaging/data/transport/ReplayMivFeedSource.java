@@ -0,0 +1,135 @@
+package com.github.fbascheper.messaging.data.transport;
+
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * {@link MivFeedSource} that replays the documents recorded by a {@link RecordingMivFeedSource}.
+ * <p>
+ * The replay of a feed starts with its oldest document at the first request, and its recorded time runs
+ * {@code speedUp} times faster than real time. A request returns the latest document recorded at or before the
+ * current replay time, so documents are skipped when the feed is polled less often than the replayed cadence.
+ * A conditional request returns an empty result while the current document has already been read,
+ * which is forever once the end of the archive has been reached.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class ReplayMivFeedSource implements MivFeedSource {
+
+    private static final Logger LOGGER = getLogger(ReplayMivFeedSource.class);
+
+    private final MivFeedArchive archive;
+    private final double speedUp;
+    private final Clock clock;
+    private final ConcurrentMap<String, Replay> replaysByUrl = new ConcurrentHashMap<>();
+
+    public ReplayMivFeedSource(Path archiveDirectory, double speedUp, Clock clock) {
+        if (!(speedUp > 0)) {
+            throw new IllegalArgumentException("Speed-up should be positive, but was " + speedUp);
+        }
+
+        this.archive = new MivFeedArchive(archiveDirectory);
+        this.speedUp = speedUp;
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> getAsync(String url, Function<InputStream, T> bodyReader) {
+        return CompletableFuture.supplyAsync(() -> {
+            var replay = replay(url);
+            return replay.read(replay.currentIndex(), bodyReader);
+        });
+    }
+
+    @Override
+    public <T> CompletableFuture<Optional<T>> getAsyncIfModified(String url, Function<InputStream, T> bodyReader) {
+        return CompletableFuture.supplyAsync(() -> {
+            var replay = replay(url);
+            int index = replay.currentIndex();
+
+            if (index == replay.lastReadIndex) {
+                LOGGER.trace("Replayed document of {} has not been modified", url);
+                return Optional.empty();
+            }
+
+            return Optional.of(replay.read(index, bodyReader));
+        });
+    }
+
+    private Replay replay(String url) {
+        return replaysByUrl.computeIfAbsent(url, key -> {
+            var documents = archive.documents(key);
+
+            if (documents.isEmpty()) {
+                throw new IllegalStateException("No recorded documents of " + key + " found");
+            }
+
+            LOGGER.info("Replaying {} recorded documents of {} at {} times real time", documents.size(), key, speedUp);
+            return new Replay(url, documents, clock.instant());
+        });
+    }
+
+    /**
+     * The replay of the recorded documents of a single feed.
+     */
+    private class Replay {
+        private final String url;
+        private final List<MivFeedArchive.RecordedDocument> documents;
+        private final Instant replayStart;
+
+        private volatile int lastReadIndex = -1;
+
+        private Replay(String url, List<MivFeedArchive.RecordedDocument> documents, Instant replayStart) {
+            this.url = url;
+            this.documents = documents;
+            this.replayStart = replayStart;
+        }
+
+        /**
+         * @return the index of the latest document recorded at or before the current replay time
+         */
+        private int currentIndex() {
+            var elapsed = Duration.between(replayStart, clock.instant());
+            var replayTime = documents.get(0).recordedAt().plusNanos((long) (elapsed.toNanos() * speedUp));
+
+            int result = 0;
+            while (result + 1 < documents.size() && !documents.get(result + 1).recordedAt().isAfter(replayTime)) {
+                result++;
+            }
+            return result;
+        }
+
+        private synchronized <T> T read(int index, Function<InputStream, T> bodyReader) {
+            var document = documents.get(index);
+
+            try (var body = document.open()) {
+                var result = bodyReader.apply(body);
+
+                LOGGER.debug("Replayed document {} of {} of {}, recorded at {}", index + 1, documents.size(), url, document.recordedAt());
+                lastReadIndex = index;
+                return result;
+
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not replay the document " + document.file(), e);
+            }
+        }
+    }
+
+}
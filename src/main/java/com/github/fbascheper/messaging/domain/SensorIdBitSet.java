@@ -0,0 +1,185 @@
+package com.github.fbascheper.messaging.domain;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable set of sensor ids, as a bitset of one bit per sensor id, so two sets are intersected word by word.
+ * The bitset only spans the words from its smallest to its largest sensor id.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public final class SensorIdBitSet {
+
+    private static final int WORD_SHIFT = 6;
+
+    private static final SensorIdBitSet EMPTY = new SensorIdBitSet(new long[0], 0);
+
+    // the words of the bitset, starting at the word of the sensor ids from firstWord * 64 on
+    private final long[] words;
+    private final int firstWord;
+    private final int maxSensorId;
+
+    private SensorIdBitSet(long[] words, int firstWord) {
+        this.words = words;
+        this.firstWord = firstWord;
+
+        int wordIndex = words.length - 1;
+        while (wordIndex >= 0 && words[wordIndex] == 0L) {
+            wordIndex--;
+        }
+        this.maxSensorId = wordIndex < 0
+                ? -1
+                : ((firstWord + wordIndex) << WORD_SHIFT) + 63 - Long.numberOfLeadingZeros(words[wordIndex]);
+    }
+
+    /**
+     * @return the empty set
+     */
+    public static SensorIdBitSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @param sensors the sensors, e.g. on a route
+     * @return the set of the ids of the sensors
+     */
+    public static SensorIdBitSet of(List<TrafficSensor> sensors) {
+        if (sensors.isEmpty()) {
+            return EMPTY;
+        }
+
+        int minSensorId = Integer.MAX_VALUE;
+        int maxSensorId = -1;
+        for (var sensor : sensors) {
+            int sensorId = checkSensorId(sensor.id());
+            minSensorId = Math.min(minSensorId, sensorId);
+            maxSensorId = Math.max(maxSensorId, sensorId);
+        }
+
+        int firstWord = minSensorId >> WORD_SHIFT;
+        var words = new long[(maxSensorId >> WORD_SHIFT) - firstWord + 1];
+        for (var sensor : sensors) {
+            int sensorId = sensor.id();
+            words[(sensorId >> WORD_SHIFT) - firstWord] |= 1L << sensorId;
+        }
+
+        return new SensorIdBitSet(words, firstWord);
+    }
+
+    /**
+     * Copy this set with some sensor ids added or removed.
+     *
+     * @param containedBySensorId {@code true} for each sensor id to add, and {@code false} for each one to remove
+     * @return the changed set
+     */
+    public SensorIdBitSet with(Map<Integer, Boolean> containedBySensorId) {
+        int maxWord = firstWord + words.length - 1;
+        for (var changed : containedBySensorId.entrySet()) {
+            if (changed.getValue()) {
+                maxWord = Math.max(maxWord, checkSensorId(changed.getKey()) >> WORD_SHIFT);
+            }
+        }
+
+        // the changed set starts at sensor id 0, so its words are never shifted by later changes
+        var result = new long[maxWord + 1];
+        System.arraycopy(words, 0, result, firstWord, words.length);
+
+        for (var changed : containedBySensorId.entrySet()) {
+            int sensorId = checkSensorId(changed.getKey());
+            int wordIndex = sensorId >> WORD_SHIFT;
+
+            if (changed.getValue()) {
+                result[wordIndex] |= 1L << sensorId;
+            } else if (wordIndex < result.length) {
+                result[wordIndex] &= ~(1L << sensorId);
+            }
+        }
+
+        return new SensorIdBitSet(result, 0);
+    }
+
+    /**
+     * @param sensorId the id of the sensor
+     * @return {@code true} if the sensor id is in this set
+     */
+    public boolean contains(int sensorId) {
+        int wordIndex = (sensorId >> WORD_SHIFT) - firstWord;
+        return sensorId >= 0 && wordIndex >= 0 && wordIndex < words.length && (words[wordIndex] & (1L << sensorId)) != 0L;
+    }
+
+    /**
+     * @param other another set of sensor ids
+     * @return {@code true} if both sets have a sensor id in common
+     */
+    public boolean intersects(SensorIdBitSet other) {
+        // only the words spanned by both sets
+        int from = Math.max(firstWord, other.firstWord);
+        int to = Math.min(firstWord + words.length, other.firstWord + other.words.length);
+
+        for (int word = from; word < to; word++) {
+            if ((words[word - firstWord] & other.words[word - other.firstWord]) != 0L) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the largest sensor id in this set, or {@code -1} if it is empty
+     */
+    public int maxSensorId() {
+        return maxSensorId;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof SensorIdBitSet that) || maxSensorId != that.maxSensorId) {
+            return false;
+        }
+
+        for (int word = Math.min(firstWord, that.firstWord); word <= maxSensorId >> WORD_SHIFT; word++) {
+            if (word(word) != that.word(word)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        // skip the empty words, which depend on the words spanned
+        int result = 1;
+        for (int word = firstWord; word <= maxSensorId >> WORD_SHIFT; word++) {
+            if (word(word) != 0L) {
+                result = 31 * result + (Long.hashCode(word(word)) ^ word);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        var result = new StringBuilder("SensorIdBitSet[");
+        for (int sensorId = firstWord << WORD_SHIFT; sensorId <= maxSensorId; sensorId++) {
+            if (contains(sensorId)) {
+                result.append(result.length() > "SensorIdBitSet[".length() ? ", " : "").append(sensorId);
+            }
+        }
+        return result.append(']').toString();
+    }
+
+    private long word(int word) {
+        int wordIndex = word - firstWord;
+        return wordIndex >= 0 && wordIndex < words.length ? words[wordIndex] : 0L;
+    }
+
+    private static int checkSensorId(Integer sensorId) {
+        if (sensorId < 0) {
+            throw new IllegalArgumentException("Sensor id should not be negative, but was " + sensorId);
+        }
+        return sensorId;
+    }
+
+}
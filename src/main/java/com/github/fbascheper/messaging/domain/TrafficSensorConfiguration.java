@@ -0,0 +1,20 @@
+package com.github.fbascheper.messaging.domain;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+/**
+ * A record containing the complete sensor configuration, as published by the Flemish road authorities.
+ *
+ * @param lastConfigChange the time of the last change of the configuration ({@code tijd_laatste_config_wijziging})
+ * @param trafficSensors   a list of all {@link TrafficSensor}-instances in the configuration
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public record TrafficSensorConfiguration(
+
+        ZonedDateTime lastConfigChange
+        , List<TrafficSensor> trafficSensors
+
+) {
+}
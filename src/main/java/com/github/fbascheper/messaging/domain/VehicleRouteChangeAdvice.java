@@ -7,6 +7,7 @@ import com.fasterxml.jackson.annotation.JsonProperty;
  *
  * @param vehicleId             the {@code id} of the vehicle
  * @param routeChangeSuggestion suggestion of an alternative route, based on traffic hotspots along its route
+ * @param hotspotEpoch          the epoch of the snapshot of all hotspots, on which the suggestion is based
  * @author Frederieke Scheper
  * @since 06-11-2021
  */
@@ -14,6 +15,7 @@ public record VehicleRouteChangeAdvice(
 
         @JsonProperty("vehicleId") String vehicleId
         , @JsonProperty("suggestion") String routeChangeSuggestion
+        , @JsonProperty("hotspotEpoch") long hotspotEpoch
 
 ) {
 }
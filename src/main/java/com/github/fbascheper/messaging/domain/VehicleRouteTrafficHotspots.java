@@ -7,6 +7,7 @@ import java.util.List;
  *
  * @param vehicleId              the {@code id} of this vehicle
  * @param trafficHotspotsOnRoute a list of {@link TrafficEvent}-hotspots on the vehicle's current route
+ * @param hotspotEpoch           the epoch of the snapshot of all hotspots, in which the hotspots on the route were found
  * @author Frederieke Scheper
  * @since 07-11-2021
  */
@@ -14,6 +15,7 @@ public record VehicleRouteTrafficHotspots(
 
         String vehicleId
         , List<TrafficEvent> trafficHotspotsOnRoute
+        , long hotspotEpoch
 
 ) {
 }
@@ -5,8 +5,10 @@ import java.util.List;
 /**
  * A record containing the traffic sensors on a vehicle's route.
  *
- * @param vehicleId      the {@code id} of this vehicle
- * @param sensorsOnRoute a list of {@link TrafficSensor}-instances on the vehicle's current route
+ * @param vehicleId        the {@code id} of this vehicle
+ * @param sensorsOnRoute   a list of {@link TrafficSensor}-instances on the vehicle's current route
+ * @param sensorIdsOnRoute the ids of the sensors on the route, resolved once to intersect them with the hotspots,
+ *                         or a superset of them, such as the ids of a longer route which this one is the rest of
  * @author Frederieke Scheper
  * @since 07-11-2021
  */
@@ -14,6 +16,16 @@ public record VehicleRouteTrafficSensors(
 
         String vehicleId
         , List<TrafficSensor> sensorsOnRoute
+        , SensorIdBitSet sensorIdsOnRoute
 
 ) {
+
+    /**
+     * @param vehicleId      the {@code id} of this vehicle
+     * @param sensorsOnRoute a list of {@link TrafficSensor}-instances on the vehicle's current route
+     */
+    public VehicleRouteTrafficSensors(String vehicleId, List<TrafficSensor> sensorsOnRoute) {
+        this(vehicleId, sensorsOnRoute, SensorIdBitSet.of(sensorsOnRoute));
+    }
+
 }
@@ -0,0 +1,58 @@
+package com.github.fbascheper.messaging.serialization;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+/**
+ * Deserializer which skips the records of a topic whose headers are rejected by the filter of that topic.
+ * A skipped record gets a {@code null} value without reading its data, so the listener container should
+ * discard the records with a {@code null} value before they reach a listener.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class HeaderFilteringDeserializer implements Deserializer<Object> {
+
+    private final Deserializer<Object> delegate;
+    private final Map<String, Predicate<Headers>> headerFilters;
+
+    /**
+     * @param delegate      deserializer of the records which are not skipped
+     * @param headerFilters filter on the headers of the records to deserialize, by topic name
+     */
+    public HeaderFilteringDeserializer(Deserializer<Object> delegate, Map<String, Predicate<Headers>> headerFilters) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.headerFilters = Map.copyOf(headerFilters);
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        delegate.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return delegate.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        var headerFilter = headerFilters.get(topic);
+
+        if (headerFilter != null && !headerFilter.test(headers)) {
+            return null;
+        }
+
+        return delegate.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+}
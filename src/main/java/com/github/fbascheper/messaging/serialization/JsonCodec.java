@@ -0,0 +1,209 @@
+package com.github.fbascheper.messaging.serialization;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Hand-written JSON codec of a single domain record, which streams its fields with a {@link JsonGenerator}
+ * and a {@link JsonParser} instead of resolving them by reflection.
+ * <p>
+ * A codec writes exactly the same JSON as the {@code ObjectMapper} of the
+ * {@link com.github.fbascheper.messaging.config.KafkaConfiguration}: all fields in declaration order, including
+ * {@code null} values, and time stamps as ISO-8601 text with their offset. It reads the fields in any order,
+ * ignores unknown fields, and converts time stamps to UTC, as the {@code ObjectMapper} does.
+ * </p>
+ * <p>
+ * The field names are encoded once, and consecutive records mostly share their time stamps, so the last time stamp
+ * converted is cached per field.
+ * </p>
+ *
+ * @param <T> the type of the domain record
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public abstract class JsonCodec<T> {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final ZoneId UTC = ZoneId.of("UTC");
+
+    private final Class<T> type;
+
+    protected JsonCodec(Class<T> type) {
+        this.type = type;
+    }
+
+    /**
+     * @return the type of the domain record
+     */
+    public Class<T> type() {
+        return type;
+    }
+
+    /**
+     * @param value the domain record
+     * @return the JSON of the domain record, encoded in UTF-8
+     */
+    public byte[] toBytes(T value) {
+        try (var out = new ByteArrayBuilder(JSON_FACTORY._getBufferRecycler())) {
+            try (var generator = JSON_FACTORY.createGenerator(out)) {
+                if (value == null) {
+                    generator.writeNull();
+                } else {
+                    write(generator, value);
+                }
+            }
+            return out.toByteArray();
+
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write " + type.getSimpleName() + " as JSON", e);
+        }
+    }
+
+    /**
+     * @param data the JSON of the domain record, encoded in UTF-8
+     * @return the domain record
+     */
+    public T fromBytes(byte[] data) {
+        try (var parser = JSON_FACTORY.createParser(data)) {
+            var token = parser.nextToken();
+            return token == JsonToken.VALUE_NULL ? null : read(parser);
+
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read " + type.getSimpleName() + " from JSON", e);
+        }
+    }
+
+    /**
+     * Write the domain record as a JSON object.
+     *
+     * @param generator the JSON generator
+     * @param value     the domain record
+     * @throws IOException if the JSON could not be written
+     */
+    protected abstract void write(JsonGenerator generator, T value) throws IOException;
+
+    /**
+     * Read the domain record from the JSON object at the current token of the parser.
+     *
+     * @param parser the JSON parser, at the start of the object
+     * @return the domain record
+     * @throws IOException if the JSON could not be read
+     */
+    protected abstract T read(JsonParser parser) throws IOException;
+
+    protected static void expect(JsonParser parser, JsonToken expected) throws IOException {
+        if (parser.currentToken() != expected) {
+            throw new IllegalStateException("Expected " + expected + ", but found " + parser.currentToken()
+                    + " at " + parser.getCurrentLocation());
+        }
+    }
+
+    /**
+     * @param name the name of a field
+     * @return the name of the field, encoded once for all records
+     */
+    protected static SerializableString fieldName(String name) {
+        return new SerializedString(name);
+    }
+
+    protected static void writeString(JsonGenerator generator, SerializableString name, String value) throws IOException {
+        generator.writeFieldName(name);
+        generator.writeString(value);
+    }
+
+    protected static void writeBoolean(JsonGenerator generator, SerializableString name, boolean value) throws IOException {
+        generator.writeFieldName(name);
+        generator.writeBoolean(value);
+    }
+
+    protected static void writeInt(JsonGenerator generator, SerializableString name, int value) throws IOException {
+        generator.writeFieldName(name);
+        generator.writeNumber(value);
+    }
+
+    protected static void writeLong(JsonGenerator generator, SerializableString name, long value) throws IOException {
+        generator.writeFieldName(name);
+        generator.writeNumber(value);
+    }
+
+    protected static void writeInteger(JsonGenerator generator, SerializableString name, Integer value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value.intValue());
+        }
+    }
+
+    protected static void writeEnum(JsonGenerator generator, SerializableString name, Enum<?> value) throws IOException {
+        writeString(generator, name, value == null ? null : value.name());
+    }
+
+    protected static void writeDateTime(JsonGenerator generator, SerializableString name, ZonedDateTime value, DateTimeCache cache)
+            throws IOException {
+        writeString(generator, name, value == null ? null : cache.format(value));
+    }
+
+    protected static String readString(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+    }
+
+    protected static Integer readInteger(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getIntValue();
+    }
+
+    protected static <E extends Enum<E>> E readEnum(JsonParser parser, Class<E> type) throws IOException {
+        var name = readString(parser);
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+
+    protected static ZonedDateTime readDateTime(JsonParser parser, DateTimeCache cache) throws IOException {
+        var text = readString(parser);
+        return text == null ? null : cache.parse(text);
+    }
+
+    /**
+     * The last time stamp of a field which has been formatted and parsed. It may be shared by several threads,
+     * because each conversion is published as a whole.
+     */
+    protected static class DateTimeCache {
+        private volatile Conversion formatted = new Conversion(null, null);
+        private volatile Conversion parsed = new Conversion(null, null);
+
+        private String format(ZonedDateTime value) {
+            var last = formatted;
+            if (value.equals(last.value())) {
+                return last.text();
+            }
+
+            var result = DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value);
+            formatted = new Conversion(result, value);
+            return result;
+        }
+
+        private ZonedDateTime parse(String text) {
+            var last = parsed;
+            if (text.equals(last.text())) {
+                return last.value();
+            }
+
+            var result = ZonedDateTime.parse(text, DateTimeFormatter.ISO_ZONED_DATE_TIME).withZoneSameInstant(UTC);
+            parsed = new Conversion(text, result);
+            return result;
+        }
+
+        private record Conversion(String text, ZonedDateTime value) {
+        }
+    }
+
+}
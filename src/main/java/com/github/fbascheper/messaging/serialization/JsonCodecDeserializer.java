@@ -0,0 +1,61 @@
+package com.github.fbascheper.messaging.serialization;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.converter.AbstractJavaTypeMapper;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Typed deserializer of the domain records with the {@link JsonCodec} of their topic, without resolving the type
+ * from the record headers, and of the records of all other topics with a fallback deserializer.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class JsonCodecDeserializer implements Deserializer<Object> {
+
+    private final Map<String, JsonCodec<?>> codecsByTopic;
+    private final Deserializer<Object> fallbackDeserializer;
+
+    public JsonCodecDeserializer(Map<String, JsonCodec<?>> codecsByTopic, Deserializer<Object> fallbackDeserializer) {
+        this.codecsByTopic = Map.copyOf(codecsByTopic);
+        this.fallbackDeserializer = Objects.requireNonNull(fallbackDeserializer);
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        fallbackDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        var codec = codecsByTopic.get(topic);
+        return codec == null ? fallbackDeserializer.deserialize(topic, data) : fromBytes(codec, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        var codec = codecsByTopic.get(topic);
+
+        if (codec == null) {
+            return fallbackDeserializer.deserialize(topic, headers, data);
+        }
+
+        // like the JsonDeserializer, which removes the type headers it has read
+        headers.remove(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME);
+
+        return fromBytes(codec, data);
+    }
+
+    private static Object fromBytes(JsonCodec<?> codec, byte[] data) {
+        return data == null ? null : codec.fromBytes(data);
+    }
+
+    @Override
+    public void close() {
+        fallbackDeserializer.close();
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.github.fbascheper.messaging.serialization;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.converter.AbstractJavaTypeMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Serializer of the domain records with a {@link JsonCodec}, and of all other values with a fallback serializer.
+ * <p>
+ * It still adds the type header of Spring's {@code JsonSerializer}, so consumers which resolve the type from
+ * this header keep working.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class JsonCodecSerializer implements Serializer<Object> {
+
+    private final Map<Class<?>, JsonCodec<?>> codecsByType = new HashMap<>();
+    private final Map<Class<?>, byte[]> typeHeadersByType = new HashMap<>();
+    private final Serializer<Object> fallbackSerializer;
+
+    public JsonCodecSerializer(List<JsonCodec<?>> codecs, Serializer<Object> fallbackSerializer) {
+        for (var codec : codecs) {
+            codecsByType.put(codec.type(), codec);
+            typeHeadersByType.put(codec.type(), codec.type().getName().getBytes(StandardCharsets.UTF_8));
+        }
+
+        this.fallbackSerializer = Objects.requireNonNull(fallbackSerializer);
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        fallbackSerializer.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        var codec = data == null ? null : codecsByType.get(data.getClass());
+        return codec == null ? fallbackSerializer.serialize(topic, data) : toBytes(codec, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        var codec = data == null ? null : codecsByType.get(data.getClass());
+
+        if (codec == null) {
+            return fallbackSerializer.serialize(topic, headers, data);
+        }
+
+        headers.remove(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME);
+        headers.add(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, typeHeadersByType.get(data.getClass()));
+
+        return toBytes(codec, data);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> byte[] toBytes(JsonCodec<T> codec, Object data) {
+        return codec.toBytes((T) data);
+    }
+
+    @Override
+    public void close() {
+        fallbackSerializer.close();
+    }
+
+}
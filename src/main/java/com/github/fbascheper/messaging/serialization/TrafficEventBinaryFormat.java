@@ -0,0 +1,151 @@
+package com.github.fbascheper.messaging.serialization;
+
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Compact binary format of a {@link TrafficEvent}, of about 50 bytes instead of about 400 bytes of JSON.
+ * <p>
+ * All numbers are fixed-width and big-endian, in this order:
+ * </p>
+ * <ul>
+ * <li>{@code byte} format version</li>
+ * <li>{@code byte} flags: sensor available, sensor data recent, and the presence of each nullable field</li>
+ * <li>{@code int} sensor id</li>
+ * <li>{@code long} epoch millisecond and {@code int} offset seconds of the time of registration</li>
+ * <li>{@code long} epoch millisecond and {@code int} offset seconds of the last update of the sensor</li>
+ * <li>{@code byte} ordinal of the {@link VehicleClass}</li>
+ * <li>{@code int} vehicle count, {@code short} average speed and {@code short} harmonic speed</li>
+ * <li>{@code short} length and UTF-8 bytes of the descriptive id of the sensor</li>
+ * </ul>
+ * <p>
+ * Time stamps keep their instant to the millisecond and their offset, but a zone id is normalized to its offset.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class TrafficEventBinaryFormat {
+
+    static final byte VERSION = 1;
+
+    private static final VehicleClass[] VEHICLE_CLASSES = VehicleClass.values();
+
+    private static final int SENSOR_AVAILABLE = 1;
+    private static final int SENSOR_DATA_RECENT = 1 << 1;
+    private static final int HAS_SENSOR_ID = 1 << 2;
+    private static final int HAS_TIME_REGISTRATION = 1 << 3;
+    private static final int HAS_LAST_UPDATE = 1 << 4;
+    private static final int HAS_VEHICLE_CLASS = 1 << 5;
+    private static final int HAS_DESCRIPTIVE_ID = 1 << 6;
+
+    private static final int FIXED_SIZE = 1 + 1 + 4 + 2 * (8 + 4) + 1 + 4 + 2 + 2 + 2;
+
+    private TrafficEventBinaryFormat() {
+    }
+
+    /**
+     * @param event the traffic event
+     * @return the traffic event in binary format
+     */
+    public static byte[] write(TrafficEvent event) {
+        var descriptiveId = event.sensorDescriptiveId() == null
+                ? new byte[0]
+                : event.sensorDescriptiveId().getBytes(StandardCharsets.UTF_8);
+
+        if (descriptiveId.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Descriptive id of sensor " + event.sensorId() + " is too long");
+        }
+
+        var buffer = ByteBuffer.allocate(FIXED_SIZE + descriptiveId.length);
+
+        buffer.put(VERSION);
+        buffer.put((byte) ((event.sensorAvailable() ? SENSOR_AVAILABLE : 0)
+                | (event.sensorDataRecent() ? SENSOR_DATA_RECENT : 0)
+                | (event.sensorId() != null ? HAS_SENSOR_ID : 0)
+                | (event.timeRegistration() != null ? HAS_TIME_REGISTRATION : 0)
+                | (event.sensorLastTimeOfDataUpdate() != null ? HAS_LAST_UPDATE : 0)
+                | (event.vehicleClass() != null ? HAS_VEHICLE_CLASS : 0)
+                | (event.sensorDescriptiveId() != null ? HAS_DESCRIPTIVE_ID : 0)));
+
+        buffer.putInt(event.sensorId() == null ? 0 : event.sensorId());
+        putDateTime(buffer, event.timeRegistration());
+        putDateTime(buffer, event.sensorLastTimeOfDataUpdate());
+        buffer.put((byte) (event.vehicleClass() == null ? 0 : event.vehicleClass().ordinal()));
+        buffer.putInt(event.vehicleCount());
+        buffer.putShort((short) event.vehicleAverageSpeed());
+        buffer.putShort((short) event.vehicleHarmonicSpeed());
+        buffer.putShort((short) descriptiveId.length);
+        buffer.put(descriptiveId);
+
+        return buffer.array();
+    }
+
+    /**
+     * @param data the traffic event in binary format
+     * @return the traffic event
+     */
+    public static TrafficEvent read(byte[] data) {
+        try {
+            var buffer = ByteBuffer.wrap(data);
+
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IllegalStateException("Unsupported binary traffic event version " + version);
+            }
+
+            int flags = buffer.get();
+            int sensorId = buffer.getInt();
+            var timeRegistration = getDateTime(buffer, (flags & HAS_TIME_REGISTRATION) != 0);
+            var lastUpdate = getDateTime(buffer, (flags & HAS_LAST_UPDATE) != 0);
+            int vehicleClass = buffer.get();
+            int vehicleCount = buffer.getInt();
+            int vehicleAverageSpeed = buffer.getShort();
+            int vehicleHarmonicSpeed = buffer.getShort();
+
+            var descriptiveId = new byte[buffer.getShort()];
+            buffer.get(descriptiveId);
+
+            return new TrafficEvent(timeRegistration
+                    , (flags & HAS_SENSOR_ID) != 0 ? sensorId : null
+                    , (flags & HAS_DESCRIPTIVE_ID) != 0 ? new String(descriptiveId, StandardCharsets.UTF_8) : null
+                    , (flags & SENSOR_AVAILABLE) != 0
+                    , (flags & SENSOR_DATA_RECENT) != 0
+                    , lastUpdate
+                    , (flags & HAS_VEHICLE_CLASS) != 0 ? VEHICLE_CLASSES[vehicleClass] : null
+                    , vehicleCount
+                    , vehicleAverageSpeed
+                    , vehicleHarmonicSpeed);
+
+        } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+            throw new IllegalStateException("Could not read truncated or corrupt binary traffic event", e);
+        }
+    }
+
+    private static void putDateTime(ByteBuffer buffer, ZonedDateTime dateTime) {
+        if (dateTime == null) {
+            buffer.putLong(0L);
+            buffer.putInt(0);
+        } else {
+            buffer.putLong(dateTime.toInstant().toEpochMilli());
+            buffer.putInt(dateTime.getOffset().getTotalSeconds());
+        }
+    }
+
+    private static ZonedDateTime getDateTime(ByteBuffer buffer, boolean present) {
+        long epochMilli = buffer.getLong();
+        int offsetSeconds = buffer.getInt();
+
+        return present
+                ? ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneOffset.ofTotalSeconds(offsetSeconds))
+                : null;
+    }
+
+}
@@ -0,0 +1,104 @@
+package com.github.fbascheper.messaging.serialization;
+
+import com.github.fbascheper.messaging.common.TrafficDataConverter;
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+
+/**
+ * Compact record headers with a few fields of a {@link TrafficEvent}, so consumers can skip the records they are
+ * not interested in without deserializing their value. Each header value is a single byte.
+ * <p>
+ * The headers are hints only: a record without them, e.g. of an earlier producer, should simply be deserialized.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public final class TrafficEventHeaders {
+
+    /**
+     * Header with the MIV class id ({@code klasse_id}) of the {@link VehicleClass}.
+     */
+    public static final String VEHICLE_CLASS = "traffic-vehicle-class";
+
+    /**
+     * Header with {@code 1} if the sensor is available, {@code 0} otherwise.
+     */
+    public static final String SENSOR_AVAILABLE = "traffic-sensor-available";
+
+    /**
+     * Header with the harmonic speed in km/h, up to 255.
+     */
+    public static final String VEHICLE_HARMONIC_SPEED = "traffic-harmonic-speed";
+
+    /**
+     * The value of an absent header.
+     */
+    public static final int ABSENT = -1;
+
+    private static final int MAX_BYTE_VALUE = 0xFF;
+
+    // header values are never modified, so all records share the same single byte values
+    private static final byte[][] BYTE_VALUES = new byte[MAX_BYTE_VALUE + 1][];
+
+    static {
+        for (int i = 0; i <= MAX_BYTE_VALUE; i++) {
+            BYTE_VALUES[i] = new byte[]{(byte) i};
+        }
+    }
+
+    private TrafficEventHeaders() {
+    }
+
+    /**
+     * @param event the traffic event
+     * @return the headers of the record of the traffic event
+     */
+    public static Headers of(TrafficEvent event) {
+        var result = new RecordHeaders();
+        result.add(VEHICLE_CLASS, byteValue(event.vehicleClass().getValue()));
+        result.add(SENSOR_AVAILABLE, byteValue(event.sensorAvailable() ? 1 : 0));
+        result.add(VEHICLE_HARMONIC_SPEED, byteValue(event.vehicleHarmonicSpeed()));
+        return result;
+    }
+
+    /**
+     * @param headers the record headers
+     * @return the vehicle class, or {@code null} if the header is absent
+     */
+    public static VehicleClass vehicleClass(Headers headers) {
+        int value = value(headers, VEHICLE_CLASS);
+        return value == ABSENT ? null : TrafficDataConverter.vehicleClassOf(value);
+    }
+
+    /**
+     * @param headers the record headers
+     * @return {@code 1} if the sensor is available, {@code 0} if not, or {@link #ABSENT}
+     */
+    public static int sensorAvailable(Headers headers) {
+        return value(headers, SENSOR_AVAILABLE);
+    }
+
+    /**
+     * @param headers the record headers
+     * @return the harmonic speed in km/h, or {@link #ABSENT}
+     */
+    public static int vehicleHarmonicSpeed(Headers headers) {
+        return value(headers, VEHICLE_HARMONIC_SPEED);
+    }
+
+    private static byte[] byteValue(int value) {
+        return BYTE_VALUES[Math.max(0, Math.min(value, MAX_BYTE_VALUE))];
+    }
+
+    private static int value(Headers headers, String key) {
+        Header header = headers == null ? null : headers.lastHeader(key);
+        return header == null || header.value() == null || header.value().length != 1
+                ? ABSENT
+                : header.value()[0] & MAX_BYTE_VALUE;
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.github.fbascheper.messaging.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+
+/**
+ * {@link JsonCodec} of a {@link TrafficEvent}.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class TrafficEventJsonCodec extends JsonCodec<TrafficEvent> {
+
+    private static final SerializableString TIME_REGISTRATION = fieldName("timeRegistration");
+    private static final SerializableString SENSOR_ID = fieldName("sensorId");
+    private static final SerializableString SENSOR_DESCRIPTIVE_ID = fieldName("sensorDescriptiveId");
+    private static final SerializableString SENSOR_AVAILABLE = fieldName("sensorAvailable");
+    private static final SerializableString SENSOR_DATA_RECENT = fieldName("sensorDataRecent");
+    private static final SerializableString SENSOR_LAST_TIME_OF_DATA_UPDATE = fieldName("sensorLastTimeOfDataUpdate");
+    private static final SerializableString VEHICLE_CLASS = fieldName("vehicleClass");
+    private static final SerializableString VEHICLE_COUNT = fieldName("vehicleCount");
+    private static final SerializableString VEHICLE_AVERAGE_SPEED = fieldName("vehicleAverageSpeed");
+    private static final SerializableString VEHICLE_HARMONIC_SPEED = fieldName("vehicleHarmonicSpeed");
+
+    private final DateTimeCache timeRegistrationCache = new DateTimeCache();
+    private final DateTimeCache lastUpdateCache = new DateTimeCache();
+
+    public TrafficEventJsonCodec() {
+        super(TrafficEvent.class);
+    }
+
+    @Override
+    protected void write(JsonGenerator generator, TrafficEvent value) throws IOException {
+        generator.writeStartObject();
+        writeDateTime(generator, TIME_REGISTRATION, value.timeRegistration(), timeRegistrationCache);
+        writeInteger(generator, SENSOR_ID, value.sensorId());
+        writeString(generator, SENSOR_DESCRIPTIVE_ID, value.sensorDescriptiveId());
+        writeBoolean(generator, SENSOR_AVAILABLE, value.sensorAvailable());
+        writeBoolean(generator, SENSOR_DATA_RECENT, value.sensorDataRecent());
+        writeDateTime(generator, SENSOR_LAST_TIME_OF_DATA_UPDATE, value.sensorLastTimeOfDataUpdate(), lastUpdateCache);
+        writeEnum(generator, VEHICLE_CLASS, value.vehicleClass());
+        writeInt(generator, VEHICLE_COUNT, value.vehicleCount());
+        writeInt(generator, VEHICLE_AVERAGE_SPEED, value.vehicleAverageSpeed());
+        writeInt(generator, VEHICLE_HARMONIC_SPEED, value.vehicleHarmonicSpeed());
+        generator.writeEndObject();
+    }
+
+    @Override
+    protected TrafficEvent read(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+
+        ZonedDateTime timeRegistration = null;
+        Integer sensorId = null;
+        String sensorDescriptiveId = null;
+        boolean sensorAvailable = false;
+        boolean sensorDataRecent = false;
+        ZonedDateTime sensorLastTimeOfDataUpdate = null;
+        VehicleClass vehicleClass = null;
+        int vehicleCount = 0;
+        int vehicleAverageSpeed = 0;
+        int vehicleHarmonicSpeed = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var name = parser.getCurrentName();
+            parser.nextToken();
+
+            switch (name) {
+                case "timeRegistration" -> timeRegistration = readDateTime(parser, timeRegistrationCache);
+                case "sensorId" -> sensorId = readInteger(parser);
+                case "sensorDescriptiveId" -> sensorDescriptiveId = readString(parser);
+                case "sensorAvailable" -> sensorAvailable = parser.getValueAsBoolean();
+                case "sensorDataRecent" -> sensorDataRecent = parser.getValueAsBoolean();
+                case "sensorLastTimeOfDataUpdate" -> sensorLastTimeOfDataUpdate = readDateTime(parser, lastUpdateCache);
+                case "vehicleClass" -> vehicleClass = readEnum(parser, VehicleClass.class);
+                case "vehicleCount" -> vehicleCount = parser.getValueAsInt();
+                case "vehicleAverageSpeed" -> vehicleAverageSpeed = parser.getValueAsInt();
+                case "vehicleHarmonicSpeed" -> vehicleHarmonicSpeed = parser.getValueAsInt();
+                default -> parser.skipChildren();
+            }
+        }
+
+        expect(parser, JsonToken.END_OBJECT);
+
+        return new TrafficEvent(timeRegistration, sensorId, sensorDescriptiveId, sensorAvailable, sensorDataRecent
+                , sensorLastTimeOfDataUpdate, vehicleClass, vehicleCount, vehicleAverageSpeed, vehicleHarmonicSpeed);
+    }
+
+}
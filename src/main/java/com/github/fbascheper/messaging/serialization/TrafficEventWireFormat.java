@@ -0,0 +1,58 @@
+package com.github.fbascheper.messaging.serialization;
+
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * The format of the {@link TrafficEvent}s on the wire, selected per record by the {@link #HEADER} header.
+ * Records without this header are JSON, so records of earlier producers can still be read.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public enum TrafficEventWireFormat {
+
+    /**
+     * JSON, readable by any JSON consumer such as the ksqlDB streams.
+     */
+    JSON,
+
+    /**
+     * The compact {@link TrafficEventBinaryFormat}, only readable by the {@link WireFormatDeserializer}.
+     */
+    BINARY;
+
+    /**
+     * Name of the record header which selects the format.
+     */
+    public static final String HEADER = "traffic-wire-format";
+
+    private final byte[] headerValue = name().getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * @return the value of the {@link #HEADER} header for this format
+     */
+    public byte[] headerValue() {
+        return headerValue.clone();
+    }
+
+    /**
+     * @param headerValue the value of the {@link #HEADER} header, or {@code null} if it is absent
+     * @return the format selected by the header value, or {@code null} if the header value is not a known format
+     */
+    public static TrafficEventWireFormat ofHeaderValue(byte[] headerValue) {
+        if (headerValue == null) {
+            return JSON;
+        }
+
+        for (var format : values()) {
+            if (Arrays.equals(format.headerValue, headerValue)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+}
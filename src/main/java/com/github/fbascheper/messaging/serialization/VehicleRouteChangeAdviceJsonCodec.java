@@ -0,0 +1,61 @@
+package com.github.fbascheper.messaging.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.github.fbascheper.messaging.domain.VehicleRouteChangeAdvice;
+
+import java.io.IOException;
+
+/**
+ * {@link JsonCodec} of a {@link VehicleRouteChangeAdvice}.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class VehicleRouteChangeAdviceJsonCodec extends JsonCodec<VehicleRouteChangeAdvice> {
+
+    private static final SerializableString VEHICLE_ID = fieldName("vehicleId");
+    private static final SerializableString SUGGESTION = fieldName("suggestion");
+    private static final SerializableString HOTSPOT_EPOCH = fieldName("hotspotEpoch");
+
+    public VehicleRouteChangeAdviceJsonCodec() {
+        super(VehicleRouteChangeAdvice.class);
+    }
+
+    @Override
+    protected void write(JsonGenerator generator, VehicleRouteChangeAdvice value) throws IOException {
+        generator.writeStartObject();
+        writeString(generator, VEHICLE_ID, value.vehicleId());
+        writeString(generator, SUGGESTION, value.routeChangeSuggestion());
+        writeLong(generator, HOTSPOT_EPOCH, value.hotspotEpoch());
+        generator.writeEndObject();
+    }
+
+    @Override
+    protected VehicleRouteChangeAdvice read(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+
+        String vehicleId = null;
+        String routeChangeSuggestion = null;
+        long hotspotEpoch = 0L;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var name = parser.getCurrentName();
+            parser.nextToken();
+
+            switch (name) {
+                case "vehicleId" -> vehicleId = readString(parser);
+                case "suggestion" -> routeChangeSuggestion = readString(parser);
+                case "hotspotEpoch" -> hotspotEpoch = parser.getLongValue();
+                default -> parser.skipChildren();
+            }
+        }
+
+        expect(parser, JsonToken.END_OBJECT);
+
+        return new VehicleRouteChangeAdvice(vehicleId, routeChangeSuggestion, hotspotEpoch);
+    }
+
+}
@@ -0,0 +1,145 @@
+package com.github.fbascheper.messaging.serialization;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.github.fbascheper.messaging.domain.GeographicCoordinates;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+import com.github.fbascheper.messaging.domain.VehicleRouteChangeEvent;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link JsonCodec} of a {@link VehicleRouteChangeEvent}, including its route of {@link GeographicCoordinates}.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class VehicleRouteChangeEventJsonCodec extends JsonCodec<VehicleRouteChangeEvent> {
+
+    private static final SerializableString VEHICLE_ID = fieldName("vehicleId");
+    private static final SerializableString VEHICLE_CLASS = fieldName("vehicleClass");
+    private static final SerializableString ROUTE = fieldName("route");
+    private static final SerializableString LONGITUDE = fieldName("longitude");
+    private static final SerializableString LATITUDE = fieldName("latitude");
+
+    public VehicleRouteChangeEventJsonCodec() {
+        super(VehicleRouteChangeEvent.class);
+    }
+
+    @Override
+    protected void write(JsonGenerator generator, VehicleRouteChangeEvent value) throws IOException {
+        generator.writeStartObject();
+        writeString(generator, VEHICLE_ID, value.vehicleId());
+        writeEnum(generator, VEHICLE_CLASS, value.vehicleClass());
+
+        generator.writeFieldName(ROUTE);
+        if (value.route() == null) {
+            generator.writeNull();
+        } else {
+            generator.writeStartArray();
+            for (var coordinates : value.route()) {
+                writeCoordinates(generator, coordinates);
+            }
+            generator.writeEndArray();
+        }
+
+        generator.writeEndObject();
+    }
+
+    @Override
+    protected VehicleRouteChangeEvent read(JsonParser parser) throws IOException {
+        expect(parser, JsonToken.START_OBJECT);
+
+        String vehicleId = null;
+        VehicleClass vehicleClass = null;
+        List<GeographicCoordinates> route = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var name = parser.getCurrentName();
+            parser.nextToken();
+
+            switch (name) {
+                case "vehicleId" -> vehicleId = readString(parser);
+                case "vehicleClass" -> vehicleClass = readEnum(parser, VehicleClass.class);
+                case "route" -> route = readRoute(parser);
+                default -> parser.skipChildren();
+            }
+        }
+
+        expect(parser, JsonToken.END_OBJECT);
+
+        return new VehicleRouteChangeEvent(vehicleId, vehicleClass, route);
+    }
+
+    private static void writeCoordinates(JsonGenerator generator, GeographicCoordinates coordinates) throws IOException {
+        if (coordinates == null) {
+            generator.writeNull();
+            return;
+        }
+
+        generator.writeStartObject();
+        writeDecimal(generator, LONGITUDE, coordinates.longitude());
+        writeDecimal(generator, LATITUDE, coordinates.latitude());
+        generator.writeEndObject();
+    }
+
+    private static void writeDecimal(JsonGenerator generator, SerializableString name, BigDecimal value) throws IOException {
+        generator.writeFieldName(name);
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(value);
+        }
+    }
+
+    private static List<GeographicCoordinates> readRoute(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+
+        expect(parser, JsonToken.START_ARRAY);
+
+        var result = new ArrayList<GeographicCoordinates>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            result.add(readCoordinates(parser));
+        }
+
+        return result;
+    }
+
+    private static GeographicCoordinates readCoordinates(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+
+        expect(parser, JsonToken.START_OBJECT);
+
+        BigDecimal longitude = null;
+        BigDecimal latitude = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            var name = parser.getCurrentName();
+            parser.nextToken();
+
+            switch (name) {
+                case "longitude" -> longitude = readDecimal(parser);
+                case "latitude" -> latitude = readDecimal(parser);
+                default -> parser.skipChildren();
+            }
+        }
+
+        expect(parser, JsonToken.END_OBJECT);
+
+        return new GeographicCoordinates(longitude, latitude);
+    }
+
+    private static BigDecimal readDecimal(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parser.getDecimalValue();
+    }
+
+}
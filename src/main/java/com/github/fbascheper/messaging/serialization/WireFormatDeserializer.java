@@ -0,0 +1,88 @@
+package com.github.fbascheper.messaging.serialization;
+
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.slf4j.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Deserializer of the records written by the {@link WireFormatSerializer}, in the {@link TrafficEventWireFormat}
+ * selected by the header of each record, so a topic may contain records of both formats.
+ * <p>
+ * A record with an unknown format, or with binary data which cannot be read, gets a {@code null} value and is
+ * counted, like a record skipped by the {@link HeaderFilteringDeserializer}, instead of failing the poll on the same
+ * offset again and again.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class WireFormatDeserializer implements Deserializer<Object> {
+
+    private static final Logger LOGGER = getLogger(WireFormatDeserializer.class);
+
+    private final Deserializer<Object> jsonDeserializer;
+    private final AtomicLong unreadableRecordCount = new AtomicLong();
+
+    public WireFormatDeserializer(Deserializer<Object> jsonDeserializer) {
+        this.jsonDeserializer = Objects.requireNonNull(jsonDeserializer);
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        var header = headers.lastHeader(TrafficEventWireFormat.HEADER);
+        var format = TrafficEventWireFormat.ofHeaderValue(header == null ? null : header.value());
+
+        if (format == null) {
+            return unreadable(topic, "unknown format " + new String(header.value(), StandardCharsets.US_ASCII), null);
+        }
+
+        return switch (format) {
+            case JSON -> jsonDeserializer.deserialize(topic, headers, data);
+            case BINARY -> data == null ? null : readBinary(topic, data);
+        };
+    }
+
+    /**
+     * @return the number of records skipped, because their format is unknown or their binary data could not be read
+     */
+    public long getUnreadableRecordCount() {
+        return unreadableRecordCount.get();
+    }
+
+    private Object readBinary(String topic, byte[] data) {
+        try {
+            return TrafficEventBinaryFormat.read(data);
+        } catch (IllegalStateException e) {
+            return unreadable(topic, "corrupt binary data", e);
+        }
+    }
+
+    private Object unreadable(String topic, String reason, Exception cause) {
+        unreadableRecordCount.incrementAndGet();
+        LOGGER.warn("Skipping unreadable record of topic {}: {}", topic, reason, cause);
+        return null;
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+
+}
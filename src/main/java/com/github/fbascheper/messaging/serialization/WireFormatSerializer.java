@@ -0,0 +1,54 @@
+package com.github.fbascheper.messaging.serialization;
+
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Serializer of all records as JSON, except for the {@link TrafficEvent}s when these should go over the wire in
+ * another {@link TrafficEventWireFormat}. The format of such a record is set in its {@link TrafficEventWireFormat#HEADER}.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class WireFormatSerializer implements Serializer<Object> {
+
+    private final Serializer<Object> jsonSerializer;
+    private final TrafficEventWireFormat trafficEventFormat;
+    private final byte[] trafficEventFormatHeader;
+
+    public WireFormatSerializer(Serializer<Object> jsonSerializer, TrafficEventWireFormat trafficEventFormat) {
+        this.jsonSerializer = Objects.requireNonNull(jsonSerializer);
+        this.trafficEventFormat = Objects.requireNonNull(trafficEventFormat);
+        this.trafficEventFormatHeader = trafficEventFormat.headerValue();
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonSerializer.configure(configs, isKey);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        return jsonSerializer.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (trafficEventFormat == TrafficEventWireFormat.BINARY && data instanceof TrafficEvent event) {
+            headers.add(TrafficEventWireFormat.HEADER, trafficEventFormatHeader);
+            return TrafficEventBinaryFormat.write(event);
+        }
+
+        return jsonSerializer.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.github.fbascheper.messaging.traffic.component;
+
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+import org.slf4j.Logger;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Store of traffic event hotspots in a flat array, indexed by sensor id and the ordinal of the {@link VehicleClass}.
+ * <p>
+ * The sensor ids of the Flemish road authorities are small and dense, so the array has a fixed size up to a maximum
+ * sensor id. A lookup reads a single array element without locking or allocating, and a hotspot is stored with a
+ * compare-and-set of its element. The rare sensors with a larger id are kept in a {@link MapTrafficEventHotspotStore}.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class DenseTrafficEventHotspotStore implements TrafficEventHotspotStore {
+
+    private static final Logger LOGGER = getLogger(DenseTrafficEventHotspotStore.class);
+
+    private static final VehicleClass[] VEHICLE_CLASSES = VehicleClass.values();
+    private static final int VEHICLE_CLASS_COUNT = VEHICLE_CLASSES.length;
+
+    private final int maxSensorId;
+    private final AtomicReferenceArray<TrafficEvent> hotspots;
+    private final MapTrafficEventHotspotStore overflow = new MapTrafficEventHotspotStore();
+    private final AtomicBoolean overflowLogged = new AtomicBoolean();
+
+    /**
+     * @param maxSensorId the largest sensor id kept in the array
+     */
+    public DenseTrafficEventHotspotStore(int maxSensorId) {
+        if (maxSensorId < 0 || maxSensorId >= Integer.MAX_VALUE / VEHICLE_CLASS_COUNT) {
+            throw new IllegalArgumentException("Maximum sensor id should be between 0 and "
+                    + (Integer.MAX_VALUE / VEHICLE_CLASS_COUNT - 1) + ", but was " + maxSensorId);
+        }
+
+        this.maxSensorId = maxSensorId;
+        this.hotspots = new AtomicReferenceArray<>((maxSensorId + 1) * VEHICLE_CLASS_COUNT);
+    }
+
+    @Override
+    public void store(TrafficEvent trafficEvent) {
+        int sensorId = trafficEvent.sensorId();
+
+        if (!isDense(sensorId)) {
+            storeOverflow(trafficEvent);
+            return;
+        }
+
+        int index = index(sensorId, trafficEvent.vehicleClass());
+        TrafficEvent stored;
+
+        do {
+            stored = hotspots.get(index);
+            if (TrafficEventHotspotStore.latest(stored, trafficEvent) == stored) {
+                return;
+            }
+        } while (!hotspots.compareAndSet(index, stored, trafficEvent));
+    }
+
+    @Override
+    public TrafficEvent hotspot(int sensorId, VehicleClass vehicleClass) {
+        return isDense(sensorId)
+                ? hotspots.get(index(sensorId, vehicleClass))
+                : overflow.hotspot(sensorId, vehicleClass);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The result is a snapshot, which allocates a new map if the sensor has any hotspots.
+     * Use {@link #hotspot(int, VehicleClass)} for lookups without allocation.
+     */
+    @Override
+    public Map<VehicleClass, TrafficEvent> hotspotsOfSensorId(Integer sensorId) {
+        if (!isDense(sensorId)) {
+            return overflow.hotspotsOfSensorId(sensorId);
+        }
+
+        Map<VehicleClass, TrafficEvent> result = null;
+        int start = index(sensorId, VEHICLE_CLASSES[0]);
+
+        for (int i = 0; i < VEHICLE_CLASS_COUNT; i++) {
+            var hotspot = hotspots.get(start + i);
+            if (hotspot != null) {
+                result = (result == null ? new EnumMap<>(VehicleClass.class) : result);
+                result.put(VEHICLE_CLASSES[i], hotspot);
+            }
+        }
+
+        return result == null ? Map.of() : result;
+    }
+
+    private void storeOverflow(TrafficEvent trafficEvent) {
+        if (overflowLogged.compareAndSet(false, true)) {
+            LOGGER.warn("Storing hotspots of sensor ids above {}, such as {}, in a map instead of the array"
+                    , maxSensorId, trafficEvent.sensorId());
+        }
+
+        overflow.store(trafficEvent);
+    }
+
+    private boolean isDense(int sensorId) {
+        return sensorId >= 0 && sensorId <= maxSensorId;
+    }
+
+    private static int index(int sensorId, VehicleClass vehicleClass) {
+        return sensorId * VEHICLE_CLASS_COUNT + vehicleClass.ordinal();
+    }
+
+}
@@ -0,0 +1,160 @@
+package com.github.fbascheper.messaging.traffic.component;
+
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Store of the traffic event hotspots which publishes them as a series of immutable {@link TrafficEventHotspotSnapshot}s,
+ * each tagged with the next epoch.
+ * <p>
+ * The hotspots are stored in a delegate store first, off to the side of the readers. Then the sensors that changed
+ * are copied from the delegate into the next snapshot, together with the aggregated hotspot the delegate keeps for
+ * each of them, and the snapshot is published with a single volatile write. A batch of traffic events, e.g. all
+ * records of a poll, is published as a whole, so readers never see it half applied.
+ * Single traffic events, e.g. of a record listener, may be stored unpublished, and published together later, so
+ * the listener threads neither build a snapshot for every event nor wait for each other to publish.
+ * All lookups read the current snapshot, without locking.
+ * </p>
+ * <p>
+ * Each snapshot also has the expiry horizon of the delegate, so the hotspots which have expired are not found in it,
+ * whether or not the delegate has evicted them yet.
+ * </p>
+ * <p>
+ * The sensors which became a hotspot in a published snapshot are pushed to the hotspot listeners, after publishing.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class EpochTrafficEventHotspotStore implements TrafficEventHotspotStore {
+
+    private final TrafficEventHotspotStore delegate;
+
+    // the sensors stored unpublished or evicted by the delegate, which have not been published yet
+    private final Set<Integer> unpublishedSensors = ConcurrentHashMap.newKeySet();
+
+    private final List<Consumer<Set<Integer>>> hotspotListeners = new CopyOnWriteArrayList<>();
+
+    private volatile TrafficEventHotspotSnapshot snapshot;
+
+    /**
+     * @param delegate    the store of the hotspots, which are published from it
+     * @param maxSensorId the largest sensor id kept in the index of the snapshots
+     */
+    public EpochTrafficEventHotspotStore(TrafficEventHotspotStore delegate, int maxSensorId) {
+        this.delegate = delegate;
+        this.snapshot = TrafficEventHotspotSnapshot.empty(maxSensorId);
+
+        delegate.addEvictionListener(unpublishedSensors::add);
+    }
+
+    /**
+     * Take the current snapshot, to look up several sensors against the same hotspots.
+     *
+     * @return the current snapshot, which never changes after it has been published
+     */
+    public TrafficEventHotspotSnapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Register a listener of new hotspots, which is called after publishing a snapshot in which some sensors became
+     * a hotspot, on the thread that published them.
+     *
+     * @param hotspotListener the listener, which accepts the ids of the sensors which became a hotspot
+     */
+    public void addHotspotListener(Consumer<Set<Integer>> hotspotListener) {
+        hotspotListeners.add(hotspotListener);
+    }
+
+    @Override
+    public void store(TrafficEvent trafficEvent) {
+        delegate.store(trafficEvent);
+        notifyHotspotListeners(publish(List.of(trafficEvent)));
+    }
+
+    @Override
+    public void storeAll(List<TrafficEvent> trafficEvents) {
+        delegate.storeAll(trafficEvents);
+        notifyHotspotListeners(publish(trafficEvents));
+    }
+
+    @Override
+    public void storeUnpublished(TrafficEvent trafficEvent) {
+        delegate.store(trafficEvent);
+        unpublishedSensors.add(trafficEvent.sensorId());
+    }
+
+    @Override
+    public void publishStored() {
+        notifyHotspotListeners(publish(List.of()));
+    }
+
+    @Override
+    public long expiryHorizon() {
+        return snapshot.horizon();
+    }
+
+    @Override
+    public TrafficEvent hotspot(int sensorId, VehicleClass vehicleClass) {
+        return snapshot.hotspot(sensorId, vehicleClass);
+    }
+
+    @Override
+    public TrafficEvent hotspotOfSensor(int sensorId) {
+        return snapshot.hotspotOfSensor(sensorId);
+    }
+
+    @Override
+    public Map<VehicleClass, TrafficEvent> hotspotsOfSensorId(Integer sensorId) {
+        return snapshot.hotspotsOfSensorId(sensorId);
+    }
+
+    private synchronized Set<Integer> publish(List<TrafficEvent> storedEvents) {
+        // read the changed sensors from the delegate while publishing, so the latest write of each sensor is published
+        var changedSensors = new HashSet<Integer>();
+
+        for (var trafficEvent : storedEvents) {
+            changedSensors.add(trafficEvent.sensorId());
+        }
+
+        for (var iterator = unpublishedSensors.iterator(); iterator.hasNext(); ) {
+            changedSensors.add(iterator.next());
+            iterator.remove();
+        }
+
+        // the horizon may advance without any changed sensors, which expires hotspots in the next snapshot
+        long horizon = delegate.expiryHorizon();
+        var previous = snapshot;
+
+        if (changedSensors.isEmpty() && horizon == previous.horizon()) {
+            return Set.of();
+        }
+
+        this.snapshot = previous.next(changedSensors, delegate, horizon);
+
+        var result = new HashSet<Integer>();
+        for (var sensorId : changedSensors) {
+            if (previous.hotspotOfSensor(sensorId) == null && snapshot.hotspotOfSensor(sensorId) != null) {
+                result.add(sensorId);
+            }
+        }
+        return Set.copyOf(result);
+    }
+
+    private void notifyHotspotListeners(Set<Integer> newHotspots) {
+        // outside of publishing, so the listeners never delay the next snapshot
+        if (!newHotspots.isEmpty()) {
+            hotspotListeners.forEach(hotspotListener -> hotspotListener.accept(newHotspots));
+        }
+    }
+
+}
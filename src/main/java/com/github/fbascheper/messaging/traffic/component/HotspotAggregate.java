@@ -0,0 +1,96 @@
+package com.github.fbascheper.messaging.traffic.component;
+
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+
+/**
+ * Aggregation of the hotspots of all vehicle classes of a sensor into a single congestion entry.
+ * <p>
+ * The vehicle counts are summed, the average speed is weighted by the vehicle counts, and the harmonic speed is the
+ * harmonic mean of all vehicles counted. The entry has the vehicle class of the most preferred hotspot, and the
+ * time stamps of the latest one.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+final class HotspotAggregate {
+
+    static final VehicleClass[] VEHICLE_CLASSES = VehicleClass.values();
+
+    // the vehicle classes of the hotspots, in order of preference
+    private static final VehicleClass[] PREFERRED_VEHICLE_CLASSES = {
+            VehicleClass.CAR, VehicleClass.MINIVAN, VehicleClass.RIGID_LORRIES, VehicleClass.TRUCK_OR_BUS};
+
+    private HotspotAggregate() {
+    }
+
+    /**
+     * @param hotspots the hotspots of a sensor indexed by the ordinal of their vehicle class, with {@code null} if absent
+     * @return the aggregated hotspot, the hotspot itself if there is only one, or {@code null} if there is none
+     */
+    static TrafficEvent of(TrafficEvent[] hotspots) {
+        TrafficEvent single = null;
+        TrafficEvent latest = null;
+        int present = 0;
+
+        for (var hotspot : hotspots) {
+            if (hotspot != null) {
+                single = hotspot;
+                latest = TrafficEventHotspotStore.latest(latest, hotspot);
+                present++;
+            }
+        }
+
+        if (present <= 1) {
+            return single;
+        }
+
+        var vehicleClass = preferredVehicleClass(hotspots);
+        int vehicleCount = 0;
+        long speedSum = 0;
+        double inverseSpeedSum = 0.0;
+        boolean standstill = false;
+
+        for (var hotspot : hotspots) {
+            if (hotspot != null && hotspot.vehicleCount() > 0) {
+                vehicleCount += hotspot.vehicleCount();
+                speedSum += (long) hotspot.vehicleCount() * hotspot.vehicleAverageSpeed();
+
+                if (hotspot.vehicleHarmonicSpeed() == 0) {
+                    standstill = true;
+                } else {
+                    inverseSpeedSum += (double) hotspot.vehicleCount() / hotspot.vehicleHarmonicSpeed();
+                }
+            }
+        }
+
+        if (vehicleCount == 0) {
+            return hotspots[vehicleClass.ordinal()];
+        }
+
+        int vehicleAverageSpeed = (int) Math.round((double) speedSum / vehicleCount);
+        int vehicleHarmonicSpeed = standstill ? 0 : (int) Math.round(vehicleCount / inverseSpeedSum);
+
+        return new TrafficEvent(latest.timeRegistration(), latest.sensorId(), latest.sensorDescriptiveId()
+                , latest.sensorAvailable(), latest.sensorDataRecent(), latest.sensorLastTimeOfDataUpdate()
+                , vehicleClass, vehicleCount, vehicleAverageSpeed, vehicleHarmonicSpeed);
+    }
+
+    private static VehicleClass preferredVehicleClass(TrafficEvent[] hotspots) {
+        for (var vehicleClass : PREFERRED_VEHICLE_CLASSES) {
+            if (hotspots[vehicleClass.ordinal()] != null) {
+                return vehicleClass;
+            }
+        }
+
+        for (var vehicleClass : VEHICLE_CLASSES) {
+            if (hotspots[vehicleClass.ordinal()] != null) {
+                return vehicleClass;
+            }
+        }
+
+        throw new IllegalArgumentException("No hotspots to aggregate");
+    }
+
+}
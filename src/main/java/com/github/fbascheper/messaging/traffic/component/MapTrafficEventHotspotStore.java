@@ -0,0 +1,91 @@
+package com.github.fbascheper.messaging.traffic.component;
+
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+import org.slf4j.Logger;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Store of traffic event hotspots in a map of maps, by sensor id and {@link VehicleClass}.
+ * <p>
+ * Several listener threads may store hotspots at the same time. The hotspots of a sensor are updated atomically,
+ * and a hotspot is never replaced by an older measurement, e.g. one redelivered after a rebalance of the partitions.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 07-11-2021
+ */
+public class MapTrafficEventHotspotStore implements TrafficEventHotspotStore {
+
+    private static final Logger LOGGER = getLogger(MapTrafficEventHotspotStore.class);
+
+    private final ConcurrentMap<Integer, ConcurrentMap<VehicleClass, TrafficEvent>> trafficEventHotspots = new ConcurrentHashMap<>();
+
+    @Override
+    public void store(TrafficEvent trafficEvent) {
+
+        LOGGER.trace("Storing hotspot event = {}", trafficEvent);
+
+        trafficEventHotspots.compute(trafficEvent.sensorId(), (key, value) -> {
+            value = (value == null ? new ConcurrentHashMap<>() : value);
+            value.merge(trafficEvent.vehicleClass(), trafficEvent, TrafficEventHotspotStore::latest);
+            return value;
+        });
+
+    }
+
+    /**
+     * {@inheritDoc}
+     * Consecutive events of the same sensor, as in the traffic data feed, are stored with a single update.
+     */
+    @Override
+    public void storeAll(List<TrafficEvent> trafficEvents) {
+
+        LOGGER.trace("Storing {} hotspot events", trafficEvents.size());
+
+        int size = trafficEvents.size();
+        int start = 0;
+
+        while (start < size) {
+            var sensorId = trafficEvents.get(start).sensorId();
+
+            int end = start + 1;
+            while (end < size && sensorId.equals(trafficEvents.get(end).sensorId())) {
+                end++;
+            }
+
+            var sensorEvents = trafficEvents.subList(start, end);
+            trafficEventHotspots.compute(sensorId, (key, value) -> {
+                value = (value == null ? new ConcurrentHashMap<>() : value);
+                for (var trafficEvent : sensorEvents) {
+                    value.merge(trafficEvent.vehicleClass(), trafficEvent, TrafficEventHotspotStore::latest);
+                }
+                return value;
+            });
+
+            start = end;
+        }
+
+    }
+
+    @Override
+    public TrafficEvent hotspot(int sensorId, VehicleClass vehicleClass) {
+        var hotspots = trafficEventHotspots.get(sensorId);
+        return hotspots == null ? null : hotspots.get(vehicleClass);
+    }
+
+    @Override
+    public ConcurrentMap<VehicleClass, TrafficEvent> hotspotsOfSensorId(Integer sensorId) {
+        var result = trafficEventHotspots.getOrDefault(sensorId, new ConcurrentHashMap<>());
+
+        LOGGER.trace("Looking for hotspots for sensorId = {}, found = {}", sensorId, result.size());
+
+        return result;
+    }
+
+}
@@ -0,0 +1,230 @@
+package com.github.fbascheper.messaging.traffic.component;
+
+import com.github.fbascheper.messaging.domain.SensorIdBitSet;
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable generation of the traffic event hotspots, published by the {@link EpochTrafficEventHotspotStore}
+ * and tagged with its epoch, so all lookups in the same snapshot see the same hotspots.
+ * <p>
+ * The sensors are indexed by id up to a maximum sensor id in chunks of {@value #CHUNK_SIZE}, and kept in a map above
+ * it. The next generation only copies the chunks of the sensors that changed, and shares all other chunks with this one.
+ * </p>
+ * <p>
+ * The snapshot has the expiry horizon of the store it was published from. Its lookups ignore the hotspots registered
+ * before the horizon, which the store has not evicted yet, so these are not found for longer than in the store itself.
+ * </p>
+ * <p>
+ * The ids of the indexed sensors with hotspots are also kept as a {@link SensorIdBitSet}, so most routes are found
+ * to be free of hotspots by a word-wise intersection with the sensor ids of the route.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public final class TrafficEventHotspotSnapshot {
+
+    private static final int CHUNK_SHIFT = 6;
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final long epoch;
+    private final long horizon;
+    private final int maxSensorId;
+    private final SensorHotspots[][] chunks;
+    private final Map<Integer, SensorHotspots> overflowSensors;
+    private final SensorIdBitSet hotspotSensorIds;
+
+    private TrafficEventHotspotSnapshot(long epoch, long horizon, int maxSensorId, SensorHotspots[][] chunks
+            , Map<Integer, SensorHotspots> overflowSensors, SensorIdBitSet hotspotSensorIds) {
+        this.epoch = epoch;
+        this.horizon = horizon;
+        this.maxSensorId = maxSensorId;
+        this.chunks = chunks;
+        this.overflowSensors = overflowSensors;
+        this.hotspotSensorIds = hotspotSensorIds;
+    }
+
+    /**
+     * @param maxSensorId the largest sensor id kept in the index
+     * @return the snapshot of epoch 0, without any hotspots
+     */
+    static TrafficEventHotspotSnapshot empty(int maxSensorId) {
+        if (maxSensorId < 0 || maxSensorId == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Maximum sensor id should not be negative, but was " + maxSensorId);
+        }
+
+        return new TrafficEventHotspotSnapshot(0L, Long.MIN_VALUE, maxSensorId, new SensorHotspots[(maxSensorId >> CHUNK_SHIFT) + 1][], Map.of()
+                , SensorIdBitSet.empty());
+    }
+
+    /**
+     * Build the next generation, with the hotspots of the changed sensors replaced by those in the store.
+     * The aggregated hotspot of each sensor is taken from the store as well, so it is not recomputed here.
+     *
+     * @param changedSensorIds the ids of the changed sensors
+     * @param store            the store to read the hotspots of the changed sensors from
+     * @param horizon          the expiry horizon of the store, see {@link TrafficEventHotspotStore#expiryHorizon()}
+     * @return the snapshot of the next epoch
+     */
+    TrafficEventHotspotSnapshot next(Set<Integer> changedSensorIds, TrafficEventHotspotStore store, long horizon) {
+        var nextChunks = chunks.clone();
+        var copiedChunks = new boolean[chunks.length];
+        var hotspotSensorIdChanges = new HashMap<Integer, Boolean>();
+        Map<Integer, SensorHotspots> nextOverflowSensors = null;
+
+        for (int sensorId : changedSensorIds) {
+            var sensorHotspots = SensorHotspots.of(store.hotspotsOfSensorId(sensorId), store.hotspotOfSensor(sensorId));
+
+            if (sensorId < 0 || sensorId > maxSensorId) {
+                nextOverflowSensors = (nextOverflowSensors == null ? new HashMap<>(overflowSensors) : nextOverflowSensors);
+                if (sensorHotspots == null) {
+                    nextOverflowSensors.remove(sensorId);
+                } else {
+                    nextOverflowSensors.put(sensorId, sensorHotspots);
+                }
+                continue;
+            }
+
+            int chunk = sensorId >> CHUNK_SHIFT;
+            if (!copiedChunks[chunk]) {
+                nextChunks[chunk] = chunks[chunk] == null ? new SensorHotspots[CHUNK_SIZE] : chunks[chunk].clone();
+                copiedChunks[chunk] = true;
+            }
+            nextChunks[chunk][sensorId & CHUNK_MASK] = sensorHotspots;
+            hotspotSensorIdChanges.put(sensorId, sensorHotspots != null);
+        }
+
+        return new TrafficEventHotspotSnapshot(epoch + 1, horizon, maxSensorId, nextChunks
+                , nextOverflowSensors == null ? overflowSensors : Map.copyOf(nextOverflowSensors)
+                , hotspotSensorIds.with(hotspotSensorIdChanges));
+    }
+
+    /**
+     * @return the number of the generation, which increases with every snapshot published
+     */
+    public long epoch() {
+        return epoch;
+    }
+
+    /**
+     * @return the time in milliseconds since the epoch before which the hotspots have expired in this snapshot
+     */
+    public long horizon() {
+        return horizon;
+    }
+
+    /**
+     * Check if any of the sensors has a hotspot, without looking up any of them.
+     *
+     * @param sensorIds the ids of the sensors, e.g. on a route
+     * @return {@code false} if none of the sensors has a hotspot, or {@code true} if some of them may have one
+     */
+    public boolean anyHotspot(SensorIdBitSet sensorIds) {
+        // the sensors above the index are not in the bitset, so these have to be looked up
+        return hotspotSensorIds.intersects(sensorIds)
+                || (!overflowSensors.isEmpty() && sensorIds.maxSensorId() > maxSensorId);
+    }
+
+    /**
+     * @param sensorId     the id of the sensor
+     * @param vehicleClass the vehicle class
+     * @return the hotspot of the sensor for the vehicle class, or {@code null} if there is none
+     */
+    public TrafficEvent hotspot(int sensorId, VehicleClass vehicleClass) {
+        var sensorHotspots = sensorHotspots(sensorId);
+        return sensorHotspots == null ? null : sensorHotspots.hotspot(vehicleClass.ordinal(), horizon);
+    }
+
+    /**
+     * @param sensorId the id of the sensor
+     * @return the hotspot of the sensor, aggregated over all its vehicle classes, or {@code null} if there is none
+     * @see HotspotAggregate
+     */
+    public TrafficEvent hotspotOfSensor(int sensorId) {
+        var sensorHotspots = sensorHotspots(sensorId);
+        return sensorHotspots == null ? null : sensorHotspots.aggregated(horizon);
+    }
+
+    /**
+     * @param sensorId the id of the sensor
+     * @return the hotspots of the sensor, by vehicle class
+     */
+    public Map<VehicleClass, TrafficEvent> hotspotsOfSensorId(int sensorId) {
+        var sensorHotspots = sensorHotspots(sensorId);
+        if (sensorHotspots == null) {
+            return Map.of();
+        }
+
+        var result = new EnumMap<VehicleClass, TrafficEvent>(VehicleClass.class);
+        for (var vehicleClass : HotspotAggregate.VEHICLE_CLASSES) {
+            var hotspot = sensorHotspots.hotspot(vehicleClass.ordinal(), horizon);
+            if (hotspot != null) {
+                result.put(vehicleClass, hotspot);
+            }
+        }
+        return result;
+    }
+
+    private SensorHotspots sensorHotspots(int sensorId) {
+        if (sensorId < 0 || sensorId > maxSensorId) {
+            return overflowSensors.get(sensorId);
+        }
+
+        var chunk = chunks[sensorId >> CHUNK_SHIFT];
+        return chunk == null ? null : chunk[sensorId & CHUNK_MASK];
+    }
+
+    /**
+     * The hotspots of a sensor indexed by the ordinal of their vehicle class, never changed after construction,
+     * their aggregate, and the time of registration of the oldest one.
+     */
+    private record SensorHotspots(TrafficEvent[] hotspots, TrafficEvent aggregated, long oldestTime) {
+
+        private static SensorHotspots of(Map<VehicleClass, TrafficEvent> hotspotsByVehicleClass, TrafficEvent aggregated) {
+            if (hotspotsByVehicleClass.isEmpty()) {
+                return null;
+            }
+
+            var hotspots = new TrafficEvent[HotspotAggregate.VEHICLE_CLASSES.length];
+            long oldestTime = Long.MAX_VALUE;
+
+            for (var hotspot : hotspotsByVehicleClass.entrySet()) {
+                hotspots[hotspot.getKey().ordinal()] = hotspot.getValue();
+                oldestTime = Math.min(oldestTime, time(hotspot.getValue()));
+            }
+
+            return new SensorHotspots(hotspots, aggregated, oldestTime);
+        }
+
+        private TrafficEvent hotspot(int index, long horizon) {
+            var hotspot = hotspots[index];
+            return hotspot == null || oldestTime >= horizon || time(hotspot) >= horizon ? hotspot : null;
+        }
+
+        private TrafficEvent aggregated(long horizon) {
+            if (oldestTime >= horizon) {
+                return aggregated;
+            }
+
+            // some of the hotspots have expired, but the store has not evicted them yet
+            var current = new TrafficEvent[hotspots.length];
+            for (int i = 0; i < hotspots.length; i++) {
+                current[i] = hotspot(i, horizon);
+            }
+            return HotspotAggregate.of(current);
+        }
+
+        private static long time(TrafficEvent hotspot) {
+            // a hotspot without a time of registration never expires
+            return hotspot.timeRegistration() == null ? Long.MAX_VALUE : hotspot.timeRegistration().toInstant().toEpochMilli();
+        }
+    }
+
+}
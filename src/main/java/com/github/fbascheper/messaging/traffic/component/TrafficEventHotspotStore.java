@@ -2,45 +2,122 @@ package com.github.fbascheper.messaging.traffic.component;
 
 import com.github.fbascheper.messaging.domain.TrafficEvent;
 import com.github.fbascheper.messaging.domain.VehicleClass;
-import org.slf4j.Logger;
-import org.springframework.stereotype.Component;
 
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
-
-import static org.slf4j.LoggerFactory.getLogger;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
 
 /**
- * Store traffic event hotspots.
+ * Store traffic event hotspots, by sensor id and {@link VehicleClass}.
+ * <p>
+ * Several listener threads may store hotspots at the same time. A hotspot is never replaced by an older measurement,
+ * e.g. one redelivered after a rebalance of the partitions.
+ * </p>
  *
  * @author Frederieke Scheper
  * @since 07-11-2021
  */
-@Component
-public class TrafficEventHotspotStore {
+public interface TrafficEventHotspotStore {
+
+    /**
+     * Store the traffic event, unless a newer measurement of its sensor and vehicle class has been stored.
+     *
+     * @param trafficEvent the traffic event
+     */
+    void store(TrafficEvent trafficEvent);
 
-    private static final Logger LOGGER = getLogger(TrafficEventHotspotStore.class);
+    /**
+     * Store all traffic events, in order, as if each of them was {@link #store(TrafficEvent) stored} separately.
+     *
+     * @param trafficEvents the traffic events
+     */
+    default void storeAll(List<TrafficEvent> trafficEvents) {
+        for (var trafficEvent : trafficEvents) {
+            store(trafficEvent);
+        }
+    }
 
-    private final ConcurrentMap<Integer, ConcurrentMap<VehicleClass, TrafficEvent>> trafficEventHotspots = new ConcurrentHashMap<>();
+    /**
+     * Store the traffic event like {@link #store(TrafficEvent)}, but leave it to {@link #publishStored()} to make it
+     * visible to the lookups of a store which publishes its hotspots, so many single events are published at once.
+     * Other stores make it visible right away.
+     *
+     * @param trafficEvent the traffic event
+     */
+    default void storeUnpublished(TrafficEvent trafficEvent) {
+        store(trafficEvent);
+    }
 
-    public void store(TrafficEvent trafficEvent) {
+    /**
+     * Make the traffic events {@link #storeUnpublished(TrafficEvent) stored unpublished} visible to the lookups.
+     * Stores which do not publish their hotspots ignore it.
+     */
+    default void publishStored() {
+        // all hotspots are visible once stored
+    }
 
-        LOGGER.trace("Storing hotspot event = {}", trafficEvent);
+    /**
+     * Find the hotspot of a sensor and vehicle class.
+     *
+     * @param sensorId     the id of the sensor
+     * @param vehicleClass the vehicle class
+     * @return the hotspot, or {@code null} if there is none
+     */
+    TrafficEvent hotspot(int sensorId, VehicleClass vehicleClass);
 
-        trafficEventHotspots.compute(trafficEvent.sensorId(), (key, value) -> {
-            value = (value == null ? new ConcurrentHashMap<>() : value);
-            value.put(trafficEvent.vehicleClass(), trafficEvent);
-            return value;
-        });
+    /**
+     * Find the congestion entry of a sensor, aggregated over the hotspots of all its vehicle classes.
+     *
+     * @param sensorId the id of the sensor
+     * @return the aggregated hotspot, or {@code null} if the sensor has no hotspots
+     * @see HotspotAggregate
+     */
+    default TrafficEvent hotspotOfSensor(int sensorId) {
+        var hotspots = new TrafficEvent[HotspotAggregate.VEHICLE_CLASSES.length];
+        for (var vehicleClass : HotspotAggregate.VEHICLE_CLASSES) {
+            hotspots[vehicleClass.ordinal()] = hotspot(sensorId, vehicleClass);
+        }
 
+        return HotspotAggregate.of(hotspots);
     }
 
-    public ConcurrentMap<VehicleClass, TrafficEvent> hotspotsOfSensorId(Integer sensorId) {
-        var result = trafficEventHotspots.getOrDefault(sensorId, new ConcurrentHashMap<>());
+    /**
+     * @param sensorId the id of the sensor
+     * @return the hotspots of the sensor, by vehicle class
+     */
+    Map<VehicleClass, TrafficEvent> hotspotsOfSensorId(Integer sensorId);
+
+    /**
+     * The horizon of the hotspots which expire, e.g. because they have left a time window. Hotspots registered before
+     * it are not found anymore, even if the store has not evicted them yet.
+     *
+     * @return the time in milliseconds since the epoch before which the hotspots have expired, or {@link Long#MIN_VALUE}
+     * if they never expire
+     */
+    default long expiryHorizon() {
+        return Long.MIN_VALUE;
+    }
 
-        LOGGER.trace("Looking for hotspots for sensorId = {}, found = {}", sensorId, result.size());
+    /**
+     * Register a listener of the sensors whose hotspots are evicted by the store itself, e.g. because they expired.
+     * Stores which never evict hotspots ignore it.
+     *
+     * @param evictionListener listener of the id of each sensor with evicted hotspots
+     */
+    default void addEvictionListener(IntConsumer evictionListener) {
+        // no hotspots are evicted
+    }
 
-        return result;
+    /**
+     * @param stored       the traffic event stored, if any
+     * @param trafficEvent the traffic event to store
+     * @return the traffic event with the latest time of registration, or the new one if unknown
+     */
+    static TrafficEvent latest(TrafficEvent stored, TrafficEvent trafficEvent) {
+        return stored != null && stored.timeRegistration() != null && trafficEvent.timeRegistration() != null
+                && trafficEvent.timeRegistration().isBefore(stored.timeRegistration())
+                ? stored
+                : trafficEvent;
     }
 
 }
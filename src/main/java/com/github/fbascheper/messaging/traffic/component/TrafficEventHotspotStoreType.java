@@ -0,0 +1,27 @@
+package com.github.fbascheper.messaging.traffic.component;
+
+/**
+ * The implementation of the {@link TrafficEventHotspotStore}.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public enum TrafficEventHotspotStoreType {
+
+    /**
+     * The {@link MapTrafficEventHotspotStore}, a map of maps for any sensor id.
+     */
+    MAP,
+
+    /**
+     * The {@link DenseTrafficEventHotspotStore}, a flat array indexed by sensor id and vehicle class.
+     */
+    DENSE,
+
+    /**
+     * The {@link WindowedTrafficEventHotspotStore}, which only keeps the hotspots within a time window,
+     * and aggregates them per sensor when they are stored.
+     */
+    WINDOWED
+
+}
@@ -5,7 +5,9 @@ import org.slf4j.Logger;
 import org.springframework.stereotype.Component;
 
 import javax.inject.Inject;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -20,50 +22,93 @@ public class VehicleRouteTrafficSensorsProcessor {
 
     private static final Logger LOGGER = getLogger(VehicleRouteTrafficSensorsProcessor.class);
 
-    private final TrafficEventHotspotStore hotspotStore;
+    private final EpochTrafficEventHotspotStore hotspotStore;
 
     @Inject
-    public VehicleRouteTrafficSensorsProcessor(TrafficEventHotspotStore hotspotStore) {
+    public VehicleRouteTrafficSensorsProcessor(EpochTrafficEventHotspotStore hotspotStore) {
         this.hotspotStore = hotspotStore;
     }
 
     /**
-     * Find the traffic hotspots along a vehicle's route.
+     * Find the traffic hotspots along a vehicle's route, all in the same snapshot of the hotspots.
      *
      * @param vehicleRouteTrafficSensors a vehicle's route, containing the traffic sensors underway
      * @return the traffic hotspots
      */
     public VehicleRouteTrafficHotspots vehicleRouteHotspots(VehicleRouteTrafficSensors vehicleRouteTrafficSensors) {
-        var trafficHotspotsOnRoute = vehicleRouteTrafficSensors
-                .sensorsOnRoute().stream()
-                .map(this::hotspotEventOrUnknown)
-                .filter(trafficSensor -> trafficSensor.vehicleClass() != VehicleClass.UNKNOWN)
-                .toList();
+        return vehicleRouteHotspots(hotspotStore.snapshot(), vehicleRouteTrafficSensors);
+    }
 
-        var result = new VehicleRouteTrafficHotspots(vehicleRouteTrafficSensors.vehicleId(), Collections.unmodifiableList(trafficHotspotsOnRoute));
+    /**
+     * Find the traffic hotspots along a vehicle's route in the given snapshot of the hotspots, e.g. to evaluate
+     * several routes against the same hotspots.
+     *
+     * @param snapshot                   the snapshot of the hotspots
+     * @param vehicleRouteTrafficSensors a vehicle's route, containing the traffic sensors underway
+     * @return the traffic hotspots
+     */
+    public VehicleRouteTrafficHotspots vehicleRouteHotspots(TrafficEventHotspotSnapshot snapshot, VehicleRouteTrafficSensors vehicleRouteTrafficSensors) {
+        var sensorsOnRoute = vehicleRouteTrafficSensors.sensorsOnRoute();
+
+        // most routes have no hotspots at all, which the intersection of their sensor ids with the hotspots shows
+        List<TrafficEvent> trafficHotspotsOnRoute = List.of();
+        if (snapshot.anyHotspot(vehicleRouteTrafficSensors.sensorIdsOnRoute())) {
+            trafficHotspotsOnRoute = Collections.unmodifiableList(hotspotsOnRoute(snapshot, sensorsOnRoute));
+        }
+
+        var result = new VehicleRouteTrafficHotspots(vehicleRouteTrafficSensors.vehicleId(), trafficHotspotsOnRoute
+                , snapshot.epoch());
         LOGGER.debug("Created traffic hotspots {}", result);
 
         return result;
     }
 
-    private TrafficEvent hotspotEventOrUnknown(TrafficSensor sensor) {
-        // This traffic sensor is a hotspot if its id can be found in the traffic event hotspots
-        var hotspots = hotspotStore.hotspotsOfSensorId(sensor.id());
-
-        // TODO: improve selection of the hotspot event (aggregate them ??)
-        TrafficEvent result;
-
-        if (hotspots.containsKey(VehicleClass.CAR)) {
-            result = hotspots.get(VehicleClass.CAR);
-        } else if (hotspots.containsKey(VehicleClass.MINIVAN)) {
-            result = hotspots.get(VehicleClass.MINIVAN);
-        } else if (hotspots.containsKey(VehicleClass.RIGID_LORRIES)) {
-            result = hotspots.get(VehicleClass.RIGID_LORRIES);
-        } else if (hotspots.containsKey(VehicleClass.TRUCK_OR_BUS)) {
-            result = hotspots.get(VehicleClass.TRUCK_OR_BUS);
-        } else {
-            result = new TrafficEvent(null, sensor.id(), sensor.descriptiveId(), false, false, null
-                    , VehicleClass.UNKNOWN, 0, 0, 0);
+    /**
+     * Find the traffic hotspots along the rest of a vehicle's route in the given snapshot of the hotspots, after it
+     * passed some of the sensors of the route it had when its previous hotspots were found. The hotspots of the passed
+     * sensors are dropped from the previous ones if the hotspots have not changed since, and the rest of the route is
+     * evaluated again otherwise.
+     *
+     * @param snapshot       the snapshot of the hotspots
+     * @param previous       the traffic hotspots found on the previous route
+     * @param passedSensors  the traffic sensors of the previous route, which have been passed since
+     * @param remainingRoute the rest of the previous route
+     * @return the traffic hotspots
+     */
+    public VehicleRouteTrafficHotspots remainingRouteHotspots(
+            TrafficEventHotspotSnapshot snapshot
+            , VehicleRouteTrafficHotspots previous
+            , List<TrafficSensor> passedSensors
+            , VehicleRouteTrafficSensors remainingRoute
+    ) {
+        if (snapshot.epoch() != previous.hotspotEpoch()) {
+            return vehicleRouteHotspots(snapshot, remainingRoute);
+        }
+
+        // the passed sensors have the same hotspots in the same snapshot, which are the first ones of the previous route
+        int passedHotspots = 0;
+        for (var sensor : passedSensors) {
+            passedHotspots += snapshot.hotspotOfSensor(sensor.id()) != null ? 1 : 0;
+        }
+
+        var previousHotspots = previous.trafficHotspotsOnRoute();
+        var result = new VehicleRouteTrafficHotspots(remainingRoute.vehicleId()
+                , previousHotspots.subList(passedHotspots, previousHotspots.size()), snapshot.epoch());
+        LOGGER.debug("Reused traffic hotspots {}", result);
+
+        return result;
+    }
+
+    private static List<TrafficEvent> hotspotsOnRoute(TrafficEventHotspotSnapshot snapshot, List<TrafficSensor> sensorsOnRoute) {
+        // This traffic sensor is a hotspot if its id can be found in the traffic event hotspots,
+        // which are aggregated over all vehicle classes of the sensor
+        var result = new ArrayList<TrafficEvent>();
+
+        for (var sensor : sensorsOnRoute) {
+            var hotspot = snapshot.hotspotOfSensor(sensor.id());
+            if (hotspot != null) {
+                result.add(hotspot);
+            }
         }
 
         return result;
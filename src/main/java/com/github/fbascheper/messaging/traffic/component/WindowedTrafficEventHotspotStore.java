@@ -0,0 +1,251 @@
+package com.github.fbascheper.messaging.traffic.component;
+
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Store of the traffic event hotspots within a time window, which ends at the latest {@code timeRegistration} stored.
+ * <p>
+ * Each sensor keeps its hotspots per vehicle class, and an aggregated congestion entry which is recomputed whenever
+ * they change, so finding the hotspot of a sensor is a single lookup. The sensors are indexed by id up to a maximum
+ * sensor id, and kept in a map above it.
+ * </p>
+ * <p>
+ * The sensors are also registered by the minute of their last {@code timeRegistration}, ordered by time. Every store
+ * evicts the minutes which have left the window, and only checks the sensors registered in these minutes, so there
+ * is no sweep over all sensors. Lookups ignore the hotspots which have expired, but have not been evicted yet.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class WindowedTrafficEventHotspotStore implements TrafficEventHotspotStore {
+
+    private static final long MINUTE_MILLIS = Duration.ofMinutes(1).toMillis();
+
+    private final long windowMillis;
+    private final int maxSensorId;
+
+    private final AtomicReferenceArray<SensorHotspots> sensors;
+    private final ConcurrentMap<Integer, SensorHotspots> overflowSensors = new ConcurrentHashMap<>();
+
+    // the ids of the sensors by the minute of a timeRegistration stored, to evict once the minute has left the window
+    private final ConcurrentSkipListMap<Long, Set<Integer>> expiry = new ConcurrentSkipListMap<>();
+    private final AtomicLong watermark = new AtomicLong(Long.MIN_VALUE);
+
+    private final List<IntConsumer> evictionListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * @param window      the time window of the hotspots, before the latest {@code timeRegistration} stored
+     * @param maxSensorId the largest sensor id kept in the index
+     */
+    public WindowedTrafficEventHotspotStore(Duration window, int maxSensorId) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Window should be positive, but was " + window);
+        }
+        if (maxSensorId < 0 || maxSensorId == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Maximum sensor id should not be negative, but was " + maxSensorId);
+        }
+
+        this.windowMillis = window.toMillis();
+        this.maxSensorId = maxSensorId;
+        this.sensors = new AtomicReferenceArray<>(maxSensorId + 1);
+    }
+
+    @Override
+    public void store(TrafficEvent trafficEvent) {
+        long time = trafficEvent.timeRegistration() == null
+                ? watermark.get()
+                : trafficEvent.timeRegistration().toInstant().toEpochMilli();
+
+        long horizon = horizon(watermark.accumulateAndGet(time, Math::max));
+        if (time < horizon) {
+            return;
+        }
+
+        int sensorId = trafficEvent.sensorId();
+        if (sensorHotspots(sensorId).store(trafficEvent, time, horizon)) {
+            registerExpiry(Math.floorDiv(time, MINUTE_MILLIS), sensorId);
+        }
+
+        evictExpired(horizon);
+    }
+
+    @Override
+    public TrafficEvent hotspot(int sensorId, VehicleClass vehicleClass) {
+        var sensor = existingSensorHotspots(sensorId);
+        return sensor == null ? null : sensor.hotspot(vehicleClass, horizon(watermark.get()));
+    }
+
+    @Override
+    public TrafficEvent hotspotOfSensor(int sensorId) {
+        var sensor = existingSensorHotspots(sensorId);
+        return sensor == null ? null : sensor.aggregated(horizon(watermark.get()));
+    }
+
+    @Override
+    public Map<VehicleClass, TrafficEvent> hotspotsOfSensorId(Integer sensorId) {
+        var sensor = existingSensorHotspots(sensorId);
+        return sensor == null ? Map.of() : sensor.hotspots(horizon(watermark.get()));
+    }
+
+    @Override
+    public long expiryHorizon() {
+        return horizon(watermark.get());
+    }
+
+    @Override
+    public void addEvictionListener(IntConsumer evictionListener) {
+        evictionListeners.add(evictionListener);
+    }
+
+    /**
+     * @return the number of sensors with hotspots in the window, which have not been evicted yet
+     */
+    int sensorCount() {
+        int result = 0;
+        for (int i = 0; i < sensors.length(); i++) {
+            var sensor = sensors.get(i);
+            result += (sensor != null && sensor.aggregated(Long.MIN_VALUE) != null) ? 1 : 0;
+        }
+        for (var sensor : overflowSensors.values()) {
+            result += sensor.aggregated(Long.MIN_VALUE) != null ? 1 : 0;
+        }
+        return result;
+    }
+
+    private void registerExpiry(long minute, int sensorId) {
+        Set<Integer> sensorIds;
+
+        // another thread may have evicted the minute, after its sensor ids have been looked up but before they have
+        // been iterated, so the sensor is registered again until its registration is known to be in the map
+        do {
+            sensorIds = expiry.computeIfAbsent(minute, key -> ConcurrentHashMap.newKeySet());
+            sensorIds.add(sensorId);
+        } while (expiry.get(minute) != sensorIds);
+    }
+
+    private void evictExpired(long horizon) {
+        long horizonMinute = Math.floorDiv(horizon, MINUTE_MILLIS);
+        Map.Entry<Long, Set<Integer>> first;
+
+        // a minute has left the window when all of it is before the horizon
+        while ((first = expiry.firstEntry()) != null && first.getKey() < horizonMinute) {
+            if (expiry.remove(first.getKey(), first.getValue())) {
+                for (var sensorId : first.getValue()) {
+                    existingSensorHotspots(sensorId).evict(horizon);
+                    evictionListeners.forEach(listener -> listener.accept(sensorId));
+                }
+            }
+        }
+    }
+
+    private long horizon(long watermark) {
+        return watermark == Long.MIN_VALUE ? Long.MIN_VALUE : watermark - windowMillis;
+    }
+
+    private SensorHotspots sensorHotspots(int sensorId) {
+        if (sensorId < 0 || sensorId > maxSensorId) {
+            return overflowSensors.computeIfAbsent(sensorId, id -> new SensorHotspots());
+        }
+
+        var result = sensors.get(sensorId);
+        if (result == null) {
+            sensors.compareAndSet(sensorId, null, new SensorHotspots());
+            result = sensors.get(sensorId);
+        }
+        return result;
+    }
+
+    private SensorHotspots existingSensorHotspots(int sensorId) {
+        return sensorId < 0 || sensorId > maxSensorId
+                ? overflowSensors.get(sensorId)
+                : sensors.get(sensorId);
+    }
+
+    /**
+     * The hotspots of a single sensor, changed under its own lock, and its aggregated entry, read without locking.
+     */
+    private static class SensorHotspots {
+        private final TrafficEvent[] hotspots = new TrafficEvent[HotspotAggregate.VEHICLE_CLASSES.length];
+        private final long[] times = new long[HotspotAggregate.VEHICLE_CLASSES.length];
+
+        private volatile TrafficEvent aggregated;
+        private volatile long oldestTime = Long.MAX_VALUE;
+
+        /**
+         * @return {@code true} if the traffic event has been stored, i.e. it is not older than the hotspot stored
+         */
+        private synchronized boolean store(TrafficEvent trafficEvent, long time, long horizon) {
+            int index = trafficEvent.vehicleClass().ordinal();
+
+            if (hotspots[index] != null && times[index] >= horizon && time < times[index]) {
+                return false;
+            }
+
+            hotspots[index] = trafficEvent;
+            times[index] = time;
+            evict(horizon);
+            return true;
+        }
+
+        private synchronized void evict(long horizon) {
+            long oldest = Long.MAX_VALUE;
+
+            for (int i = 0; i < hotspots.length; i++) {
+                if (hotspots[i] != null && times[i] < horizon) {
+                    hotspots[i] = null;
+                }
+                if (hotspots[i] != null) {
+                    oldest = Math.min(oldest, times[i]);
+                }
+            }
+
+            this.aggregated = HotspotAggregate.of(hotspots);
+            this.oldestTime = oldest;
+        }
+
+        private TrafficEvent aggregated(long horizon) {
+            // an entry with an expired hotspot is only used until that hotspot is evicted by the next store
+            return oldestTime >= horizon ? aggregated : evictedAggregated(horizon);
+        }
+
+        private synchronized TrafficEvent evictedAggregated(long horizon) {
+            evict(horizon);
+            return aggregated;
+        }
+
+        private synchronized TrafficEvent hotspot(VehicleClass vehicleClass, long horizon) {
+            int index = vehicleClass.ordinal();
+            return hotspots[index] != null && times[index] >= horizon ? hotspots[index] : null;
+        }
+
+        private synchronized Map<VehicleClass, TrafficEvent> hotspots(long horizon) {
+            Map<VehicleClass, TrafficEvent> result = null;
+
+            for (var vehicleClass : HotspotAggregate.VEHICLE_CLASSES) {
+                var hotspot = hotspot(vehicleClass, horizon);
+                if (hotspot != null) {
+                    result = (result == null ? new EnumMap<>(VehicleClass.class) : result);
+                    result.put(vehicleClass, hotspot);
+                }
+            }
+
+            return result == null ? Map.of() : result;
+        }
+    }
+
+}
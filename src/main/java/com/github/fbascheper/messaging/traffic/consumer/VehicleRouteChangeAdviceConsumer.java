@@ -27,6 +27,7 @@ public class VehicleRouteChangeAdviceConsumer {
     @KafkaListener(topics = "${traffic.kafka.vehicle-route-change-advice-topic}"
             , clientIdPrefix = "routeChangeAdviceJson"
             , groupId = "cgRouteAdvice"
+            , concurrency = "${traffic.kafka.concurrency.vehicle-route-change-advice:1}"
             , containerFactory = "kafkaListenerContainerFactory")
     public void listenAsObject(
             ConsumerRecord<String, VehicleRouteChangeAdvice> consumerRecord
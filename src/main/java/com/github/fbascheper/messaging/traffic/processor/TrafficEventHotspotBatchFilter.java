@@ -0,0 +1,55 @@
+package com.github.fbascheper.messaging.traffic.processor;
+
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.traffic.component.TrafficEventHotspotStore;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Batch variant of the {@link TrafficEventHotspotFilter}, which receives all records of a poll at once.
+ * <p>
+ * The records are filtered in a single loop, and the hotspots among them are stored with one bulk update,
+ * instead of paying the listener invocation and a store update for every single traffic event.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+@Component
+@ConditionalOnProperty(name = "traffic.kafka.hotspot-listener-mode", havingValue = "BATCH")
+public class TrafficEventHotspotBatchFilter {
+
+    private final TrafficEventHotspotStore trafficEventHotspotStore;
+
+    @Inject
+    public TrafficEventHotspotBatchFilter(TrafficEventHotspotStore trafficEventHotspotStore) {
+        this.trafficEventHotspotStore = trafficEventHotspotStore;
+    }
+
+    @KafkaListener(topics = "${traffic.kafka.traffic-event-topic}"
+            , clientIdPrefix = "trafficEventJsonBatch"
+            , groupId = "cgRouteAdvice"
+            , concurrency = "${traffic.kafka.concurrency.traffic-event:1}"
+            , containerFactory = "kafkaBatchListenerContainerFactory")
+    public void listenAsBatch(List<ConsumerRecord<String, TrafficEvent>> consumerRecords) {
+        var hotspots = new ArrayList<TrafficEvent>(consumerRecords.size());
+
+        for (var consumerRecord : consumerRecords) {
+            var event = consumerRecord.value();
+            if (event != null && TrafficEventHotspotFilter.isHotspot(event)) {
+                hotspots.add(event);
+            }
+        }
+
+        if (!hotspots.isEmpty()) {
+            trafficEventHotspotStore.storeAll(hotspots);
+        }
+    }
+
+}
@@ -1,23 +1,35 @@
 package com.github.fbascheper.messaging.traffic.processor;
 
 import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.serialization.TrafficEventHeaders;
 import com.github.fbascheper.messaging.traffic.component.TrafficEventHotspotStore;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import javax.inject.Inject;
 
 /**
  * Filter out any traffic events that are not of interest to our processing steps.
+ * <p>
+ * This filter handles one record at a time; see {@link TrafficEventHotspotBatchFilter} for the batch listener.
+ * The hotspots are stored unpublished, and the hotspots of all records since the last interval are published
+ * at once, so the consumer threads do not publish a snapshot of the hotspots for every single record.
+ * </p>
  *
  * @author Frederieke Scheper
  * @since 06-11-2021
  */
 @Component
+@ConditionalOnProperty(name = "traffic.kafka.hotspot-listener-mode", havingValue = "RECORD", matchIfMissing = true)
 public class TrafficEventHotspotFilter {
 
+    private static final int MAX_HARMONIC_SPEED = 50;
+
     private final TrafficEventHotspotStore trafficEventHotspotStore;
 
     @Inject
@@ -28,13 +40,34 @@ public class TrafficEventHotspotFilter {
     @KafkaListener(topics = "${traffic.kafka.traffic-event-topic}"
             , clientIdPrefix = "trafficEventJson"
             , groupId = "cgRouteAdvice"
+            , concurrency = "${traffic.kafka.concurrency.traffic-event:1}"
             , containerFactory = "kafkaListenerContainerFactory")
     public void listenAsObject(
             ConsumerRecord<String, TrafficEvent> consumerRecord
             , @Payload TrafficEvent event
     ) {
 
-        if (event.sensorAvailable() // keep only the events from available sensors
+        if (isHotspot(event)) {
+            trafficEventHotspotStore.storeUnpublished(event);
+        }
+    }
+
+    /**
+     * Publish the hotspots stored by the listener since the last interval.
+     */
+    @Scheduled(fixedDelayString = "${traffic.hotspots.publish-interval:PT1S}")
+    public void publishHotspots() {
+        trafficEventHotspotStore.publishStored();
+    }
+
+    /**
+     * Check if the traffic event is a hotspot, which should be stored.
+     *
+     * @param event the traffic event
+     * @return {@code true} if the event is of interest to our processing steps
+     */
+    static boolean isHotspot(TrafficEvent event) {
+        return event.sensorAvailable() // keep only the events from available sensors
 
                 // keep only the events from reliable vehicle classes (i.e. discard motorcycles)
                 && event.vehicleClass().isReliable()
@@ -47,10 +80,24 @@ public class TrafficEventHotspotFilter {
                 && !event.speedMeasurementOutsideRange()
 
                 // keep only the events with a low harmonic speed (congestions)
-                && event.vehicleHarmonicSpeed() < 50
-        ) {
-            trafficEventHotspotStore.store(event);
-        }
+                && event.vehicleHarmonicSpeed() < MAX_HARMONIC_SPEED;
+    }
+
+    /**
+     * Check if the record of a traffic event may be a hotspot, by its {@link TrafficEventHeaders} only.
+     * A record without these headers may always be a hotspot, and {@link #isHotspot(TrafficEvent)} decides.
+     *
+     * @param headers the headers of the record
+     * @return {@code false} if the traffic event is certainly not a hotspot, so its value need not be deserialized
+     */
+    public static boolean isHotspotCandidate(Headers headers) {
+        var vehicleClass = TrafficEventHeaders.vehicleClass(headers);
+        int sensorAvailable = TrafficEventHeaders.sensorAvailable(headers);
+        int vehicleHarmonicSpeed = TrafficEventHeaders.vehicleHarmonicSpeed(headers);
+
+        return (sensorAvailable == TrafficEventHeaders.ABSENT || sensorAvailable == 1)
+                && (vehicleClass == null || vehicleClass.isReliable())
+                && vehicleHarmonicSpeed < MAX_HARMONIC_SPEED;
     }
 
 }
@@ -0,0 +1,58 @@
+package com.github.fbascheper.messaging.traffic.processor;
+
+import com.github.fbascheper.messaging.domain.VehicleRouteChangeEvent;
+import com.github.fbascheper.messaging.traffic.producer.VehicleRouteChangeAdviceEmitter;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import javax.inject.Inject;
+import java.util.List;
+
+/**
+ * Batch variant of the listener of the {@link VehicleRouteChangeEventProcessor}, which receives all records of a poll
+ * at once.
+ * <p>
+ * The events of a poll are conflated to the last event of each vehicle by the {@link VehicleRouteChangeEventConflator}.
+ * Their routes are evaluated in a single pass, against the same snapshot of the hotspots, and the resulting
+ * "vehicle route change advice" is sent as one batch.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+@Component
+@ConditionalOnProperty(name = "traffic.kafka.route-listener-mode", havingValue = "BATCH")
+public class VehicleRouteChangeEventBatchProcessor {
+
+    private final VehicleRouteChangeEventConflator vehicleRouteChangeEventConflator;
+    private final VehicleRouteChangeEventProcessor vehicleRouteChangeEventProcessor;
+    private final VehicleRouteChangeAdviceEmitter vehicleRouteChangeAdviceEmitter;
+
+    @Inject
+    public VehicleRouteChangeEventBatchProcessor(
+            VehicleRouteChangeEventConflator vehicleRouteChangeEventConflator
+            , VehicleRouteChangeEventProcessor vehicleRouteChangeEventProcessor
+            , VehicleRouteChangeAdviceEmitter vehicleRouteChangeAdviceEmitter
+    ) {
+        this.vehicleRouteChangeEventConflator = vehicleRouteChangeEventConflator;
+        this.vehicleRouteChangeEventProcessor = vehicleRouteChangeEventProcessor;
+        this.vehicleRouteChangeAdviceEmitter = vehicleRouteChangeAdviceEmitter;
+    }
+
+    @KafkaListener(topics = "${traffic.kafka.vehicle-route-change-event-topic}"
+            , clientIdPrefix = "routeChangeEventJsonBatch"
+            , groupId = "cgRouteAdvice"
+            , concurrency = "${traffic.kafka.concurrency.vehicle-route-change-event:1}"
+            , containerFactory = "kafkaBatchListenerContainerFactory")
+    public void listenAsBatch(List<ConsumerRecord<String, VehicleRouteChangeEvent>> consumerRecords) {
+        var events = vehicleRouteChangeEventConflator.conflate(consumerRecords);
+
+        if (!events.isEmpty()) {
+            var vehicleRouteHotspots = vehicleRouteChangeEventProcessor.vehicleRouteHotspots(events);
+            vehicleRouteChangeAdviceEmitter.sendRouteChangeAdvice(vehicleRouteHotspots);
+        }
+    }
+
+}
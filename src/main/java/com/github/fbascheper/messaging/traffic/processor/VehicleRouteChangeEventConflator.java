@@ -0,0 +1,250 @@
+package com.github.fbascheper.messaging.traffic.processor;
+
+import com.github.fbascheper.messaging.domain.VehicleRouteChangeEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Conflation of the {@link VehicleRouteChangeEvent}s to the last event of each vehicle.
+ * <p>
+ * Only the newest route of a vehicle matters, so when the consumer falls behind, the events superseded by a later
+ * event of the same vehicle are dropped before they are evaluated. The batch listener conflates the events within
+ * a poll, which is bounded by {@code spring.kafka.consumer.max-poll-records}. The record listener hands its events
+ * to a buffer of the last event of each vehicle, bounded by {@code traffic.kafka.route-conflation-buffer-size},
+ * which a thread of its own evaluates in the order the vehicles arrived. While that thread falls behind, a later
+ * event replaces the buffered event of the same vehicle, and a full buffer blocks the listener. The offsets of the
+ * buffered records may be committed before they are evaluated, so these are lost on a crash, until the vehicle sends
+ * its next route change.
+ * </p>
+ * <p>
+ * The counts of the events received and dropped, and the lag of the consumer, are kept as metrics. They are exported
+ * as attributes of a JMX MBean when {@code spring.jmx.enabled} is set, next to the metrics of the Kafka clients.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+@Component
+@ManagedResource(objectName = "com.github.fbascheper.messaging:type=VehicleRouteChangeEventConflator"
+        , description = "Conflation of the route change events of each vehicle")
+public class VehicleRouteChangeEventConflator {
+
+    private static final Logger LOGGER = getLogger(VehicleRouteChangeEventConflator.class);
+
+    private final boolean enabled;
+    private final int bufferSize;
+    private final Clock clock;
+
+    // the last buffered event of each vehicle, in the order the vehicles arrived, guarded by itself
+    private final Map<String, VehicleRouteChangeEvent> buffer = new LinkedHashMap<>();
+    private boolean draining;
+    private boolean closed;
+
+    private final ExecutorService drainExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "route-conflation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicLong receivedEventCount = new AtomicLong();
+    private final AtomicLong conflatedEventCount = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    @Inject
+    public VehicleRouteChangeEventConflator(
+            @Value("${traffic.kafka.route-conflation:true}") boolean enabled
+            , @Value("${traffic.kafka.route-conflation-buffer-size:1000}") int bufferSize
+    ) {
+        this(enabled, bufferSize, Clock.systemUTC());
+    }
+
+    VehicleRouteChangeEventConflator(boolean enabled, int bufferSize, Clock clock) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("Conflation buffer size should be positive, but was " + bufferSize);
+        }
+
+        this.enabled = enabled;
+        this.bufferSize = bufferSize;
+        this.clock = clock;
+    }
+
+    @PreDestroy
+    void onPreDestroy() {
+        synchronized (buffer) {
+            closed = true;
+            buffer.notifyAll();
+        }
+        drainExecutor.shutdown();
+    }
+
+    /**
+     * Conflate the records of a poll to the last event of each vehicle.
+     *
+     * @param consumerRecords the records of the poll, in order
+     * @return the last event of each vehicle, in the order of these events
+     */
+    public List<VehicleRouteChangeEvent> conflate(List<ConsumerRecord<String, VehicleRouteChangeEvent>> consumerRecords) {
+        var result = new ArrayList<VehicleRouteChangeEvent>(consumerRecords.size());
+        var vehicleIds = new HashSet<String>();
+        int received = 0;
+        long oldestTimestamp = Long.MAX_VALUE;
+
+        // from the last record back, so the first event seen of each vehicle is its newest one
+        for (int i = consumerRecords.size() - 1; i >= 0; i--) {
+            var consumerRecord = consumerRecords.get(i);
+            var event = consumerRecord.value();
+
+            if (consumerRecord.timestamp() >= 0) {
+                oldestTimestamp = Math.min(oldestTimestamp, consumerRecord.timestamp());
+            }
+
+            if (event != null) {
+                received++;
+                if (!enabled || vehicleIds.add(event.vehicleId())) {
+                    result.add(event);
+                }
+            }
+        }
+        Collections.reverse(result);
+
+        receivedEventCount.addAndGet(received);
+        conflatedEventCount.addAndGet(received - result.size());
+
+        if (oldestTimestamp != Long.MAX_VALUE) {
+            lagMillis.set(Math.max(0L, clock.millis() - oldestTimestamp));
+        }
+
+        LOGGER.debug("Conflated {} route change events to {}, with a lag of {} ms", received, result.size(), lagMillis.get());
+
+        return result;
+    }
+
+    /**
+     * Conflate the record of a record listener with the records buffered before, and evaluate the last event of each
+     * vehicle on the thread of the buffer. Without conflation, or once closed, the event is evaluated right away.
+     *
+     * @param consumerRecord the record
+     * @param evaluation     the evaluation of an event which has not been superseded
+     */
+    public void conflate(ConsumerRecord<String, VehicleRouteChangeEvent> consumerRecord, Consumer<VehicleRouteChangeEvent> evaluation) {
+        var event = consumerRecord.value();
+        if (event == null) {
+            return;
+        }
+
+        receivedEventCount.incrementAndGet();
+        if (consumerRecord.timestamp() >= 0) {
+            lagMillis.set(Math.max(0L, clock.millis() - consumerRecord.timestamp()));
+        }
+
+        if (enabled && buffer(event, evaluation)) {
+            return;
+        }
+        evaluation.accept(event);
+    }
+
+    /**
+     * @return {@code true} if the event has been buffered, or {@code false} if the buffer is closed
+     */
+    private boolean buffer(VehicleRouteChangeEvent event, Consumer<VehicleRouteChangeEvent> evaluation) {
+        synchronized (buffer) {
+            while (!closed && buffer.size() >= bufferSize && !buffer.containsKey(event.vehicleId())) {
+                try {
+                    buffer.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting to buffer route change event of vehicle " + event.vehicleId(), e);
+                }
+            }
+            if (closed) {
+                return false;
+            }
+
+            // replacing the event of a buffered vehicle keeps the place of that vehicle in the buffer
+            if (buffer.put(event.vehicleId(), event) != null) {
+                conflatedEventCount.incrementAndGet();
+            }
+
+            if (!draining) {
+                try {
+                    drainExecutor.execute(() -> drain(evaluation));
+                    draining = true;
+                } catch (RejectedExecutionException ree) {
+                    buffer.remove(event.vehicleId());
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private void drain(Consumer<VehicleRouteChangeEvent> evaluation) {
+        while (true) {
+            VehicleRouteChangeEvent event;
+
+            synchronized (buffer) {
+                var iterator = buffer.values().iterator();
+                if (!iterator.hasNext()) {
+                    draining = false;
+                    return;
+                }
+                event = iterator.next();
+                iterator.remove();
+                buffer.notifyAll();
+            }
+
+            try {
+                evaluation.accept(event);
+            } catch (RuntimeException re) {
+                LOGGER.error("Could not evaluate the route change event of vehicle {}", event.vehicleId(), re);
+            }
+        }
+    }
+
+    /**
+     * @return the number of route change events received
+     */
+    @ManagedAttribute(description = "The number of route change events received")
+    public long getReceivedEventCount() {
+        return receivedEventCount.get();
+    }
+
+    /**
+     * @return the number of route change events dropped, because a later event of the same vehicle superseded them
+     */
+    @ManagedAttribute(description = "The number of route change events superseded by a later event of the same vehicle")
+    public long getConflatedEventCount() {
+        return conflatedEventCount.get();
+    }
+
+    /**
+     * @return the age in milliseconds of the oldest record of the last poll, or of the last record received by the
+     * record listener, i.e. how far the consumer is behind
+     */
+    @ManagedAttribute(description = "The age in milliseconds of the oldest record of the last poll or the last record")
+    public long getLagMillis() {
+        return lagMillis.get();
+    }
+
+}
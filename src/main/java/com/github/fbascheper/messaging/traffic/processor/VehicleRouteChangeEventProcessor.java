@@ -1,26 +1,59 @@
 package com.github.fbascheper.messaging.traffic.processor;
 
-import com.github.fbascheper.messaging.data.retriever.SensorDataRetriever;
+import com.github.fbascheper.messaging.data.registry.SensorIndex;
+import com.github.fbascheper.messaging.data.registry.SensorRegistry;
 import com.github.fbascheper.messaging.domain.GeographicCoordinates;
+import com.github.fbascheper.messaging.domain.SensorIdBitSet;
 import com.github.fbascheper.messaging.domain.TrafficSensor;
 import com.github.fbascheper.messaging.domain.VehicleRouteChangeEvent;
+import com.github.fbascheper.messaging.domain.VehicleRouteTrafficHotspots;
 import com.github.fbascheper.messaging.domain.VehicleRouteTrafficSensors;
+import com.github.fbascheper.messaging.traffic.component.EpochTrafficEventHotspotStore;
+import com.github.fbascheper.messaging.traffic.component.TrafficEventHotspotSnapshot;
 import com.github.fbascheper.messaging.traffic.component.VehicleRouteTrafficSensorsProcessor;
 import com.github.fbascheper.messaging.traffic.producer.VehicleRouteChangeAdviceEmitter;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.stereotype.Component;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.stream.Collectors;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
  * Processor of "vehicle route change" events.
+ * <p>
+ * The route of each vehicle is resolved to the traffic sensors on it, which are kept in a bounded cache of the most
+ * recently changed routes. A vehicle progressing along its route sends the rest of its previous route, so that route
+ * is only compared with the cached one. Its sensors are taken from the cached route, and its hotspots from the
+ * previous ones if the hotspots have not changed since.
+ * </p>
+ * <p>
+ * The cached routes are the active routes. Each sensor on the rest of an active route is indexed with its vehicles,
+ * so when a sensor becomes a hotspot, only the vehicles still passing it are evaluated again, and advised right away.
+ * The new hotspots are handed off to a thread of their own, and coalesced while it is busy, so the advice never
+ * delays the consumption of the traffic events.
+ * </p>
  *
  * @author Frederieke Scheper
  * @since 06-11-2021
@@ -30,68 +63,432 @@ public class VehicleRouteChangeEventProcessor {
 
     private static final Logger LOGGER = getLogger(VehicleRouteChangeEventProcessor.class);
 
-    private final SensorDataRetriever sensorDataRetriever;
+    private final SensorRegistry sensorRegistry;
     private final VehicleRouteTrafficSensorsProcessor vehicleRouteTrafficSensorsProcessor;
+    private final EpochTrafficEventHotspotStore hotspotStore;
     private final VehicleRouteChangeAdviceEmitter vehicleRouteChangeAdviceEmitter;
+    private final VehicleRouteChangeEventConflator vehicleRouteChangeEventConflator;
+    private final double snapDistanceMeters;
+
+    // the resolved routes by vehicle id, least recently changed first
+    private final Map<String, ResolvedRoute> resolvedRoutes;
+
+    // the ids of the vehicles by the id of each sensor on the rest of their route, guarded by the resolved routes
+    private final Map<Integer, Set<String>> vehiclesBySensorId = new HashMap<>();
+
+    // the ids of the sensors which became a hotspot, and have not been advised on yet
+    private final Set<Integer> newHotspots = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean adviceScheduled = new AtomicBoolean();
+    private final ExecutorService adviceExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        var thread = new Thread(runnable, "hotspot-advice");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     /**
      * All incoming "vehicle route change events" from Kafka, as JSON
      */
     @Inject
     VehicleRouteChangeEventProcessor(
-            SensorDataRetriever sensorDataRetriever
+            SensorRegistry sensorRegistry
             , VehicleRouteTrafficSensorsProcessor vehicleRouteTrafficSensorsProcessor
+            , EpochTrafficEventHotspotStore hotspotStore
             , VehicleRouteChangeAdviceEmitter vehicleRouteChangeAdviceEmitter
+            , VehicleRouteChangeEventConflator vehicleRouteChangeEventConflator
+            , @Value("${traffic.routing.snap-distance-meters:50}") double snapDistanceMeters
+            , @Value("${traffic.routing.route-cache-size:10000}") int routeCacheSize
     ) {
-        this.sensorDataRetriever = sensorDataRetriever;
+        this.sensorRegistry = sensorRegistry;
         this.vehicleRouteTrafficSensorsProcessor = vehicleRouteTrafficSensorsProcessor;
+        this.hotspotStore = hotspotStore;
         this.vehicleRouteChangeAdviceEmitter = vehicleRouteChangeAdviceEmitter;
+        this.vehicleRouteChangeEventConflator = vehicleRouteChangeEventConflator;
+        this.snapDistanceMeters = snapDistanceMeters;
+
+        this.resolvedRoutes = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ResolvedRoute> eldest) {
+                boolean result = size() > routeCacheSize;
+                if (result) {
+                    unindex(eldest.getKey(), eldest.getValue().remainingSensors());
+                }
+                return result;
+            }
+        });
+    }
+
+    @PostConstruct
+    void onPostConstruct() {
+        hotspotStore.addHotspotListener(this::onNewHotspots);
     }
-    
+
+    @PreDestroy
+    void onPreDestroy() {
+        adviceExecutor.shutdown();
+    }
+
     /**
      * Handle the incoming {@link VehicleRouteChangeEvent}, potentially leading to "vehicle route change advice".
+     * This listener only starts in the {@code RECORD} route listener mode; see
+     * {@link VehicleRouteChangeEventBatchProcessor} for the batch listener. The event is evaluated by the
+     * {@link VehicleRouteChangeEventConflator}, unless a later event of the same vehicle supersedes it.
      */
     @KafkaListener(topics = "${traffic.kafka.vehicle-route-change-event-topic}"
             , clientIdPrefix = "routeChangeEventJson"
             , groupId = "cgRouteAdvice"
-            , containerFactory = "kafkaListenerContainerFactory")
+            , concurrency = "${traffic.kafka.concurrency.vehicle-route-change-event:1}"
+            , containerFactory = "kafkaListenerContainerFactory"
+            , autoStartup = "#{'${traffic.kafka.route-listener-mode:RECORD}' == 'RECORD'}")
     public void listenAsObject(
             ConsumerRecord<String, VehicleRouteChangeEvent> consumerRecord
             , @Payload VehicleRouteChangeEvent event
     ) {
 
-        var vehicleRouteTrafficSensors = this.vehicleRouteTrafficSensors(event);
-        var vehicleRouteHotspots = vehicleRouteTrafficSensorsProcessor.vehicleRouteHotspots(vehicleRouteTrafficSensors);
+        vehicleRouteChangeEventConflator.conflate(consumerRecord, this::adviseVehicle);
+    }
+
+    private void adviseVehicle(VehicleRouteChangeEvent event) {
+        var vehicleRouteHotspots = this.vehicleRouteHotspots(event);
         vehicleRouteChangeAdviceEmitter.sendRouteChangeAdvice(vehicleRouteHotspots);
     }
 
+    /**
+     * Find the traffic hotspots on the route of an incoming {@link VehicleRouteChangeEvent}, reusing the resolved
+     * route of the vehicle if the new route is the rest of it.
+     *
+     * @param event incoming event
+     * @return the traffic hotspots on the route
+     */
+    VehicleRouteTrafficHotspots vehicleRouteHotspots(VehicleRouteChangeEvent event) {
+        // resolve the whole route against the same sensor configuration, even if it is refreshed meanwhile
+        var sensorIndex = this.sensorRegistry.sensorIndex();
+
+        return vehicleRouteHotspots(sensorIndex, hotspotStore.snapshot()
+                , coordinates -> trafficSensor(sensorIndex, coordinates), event);
+    }
+
+    /**
+     * Find the traffic hotspots on the routes of all incoming {@link VehicleRouteChangeEvent}s of a poll, in order.
+     * <p>
+     * The vehicles of a poll mostly share their road segments, so each point is only snapped to a sensor once
+     * for all routes, and all routes are evaluated against the same sensor configuration and snapshot of the hotspots.
+     * </p>
+     *
+     * @param events incoming events
+     * @return the traffic hotspots on the route of each event
+     */
+    List<VehicleRouteTrafficHotspots> vehicleRouteHotspots(List<VehicleRouteChangeEvent> events) {
+        var sensorIndex = this.sensorRegistry.sensorIndex();
+        var snapshot = hotspotStore.snapshot();
+
+        var sensorsByCoordinates = new HashMap<GeographicCoordinates, Optional<TrafficSensor>>();
+        Function<GeographicCoordinates, Optional<TrafficSensor>> sensorLookup = coordinates ->
+                sensorsByCoordinates.computeIfAbsent(coordinates, point -> trafficSensor(sensorIndex, point));
+
+        var result = new ArrayList<VehicleRouteTrafficHotspots>(events.size());
+        for (var event : events) {
+            result.add(vehicleRouteHotspots(sensorIndex, snapshot, sensorLookup, event));
+        }
+
+        LOGGER.debug("Evaluated {} routes with {} distinct points", result.size(), sensorsByCoordinates.size());
+
+        return result;
+    }
+
+    private VehicleRouteTrafficHotspots vehicleRouteHotspots(
+            SensorIndex sensorIndex
+            , TrafficEventHotspotSnapshot snapshot
+            , Function<GeographicCoordinates, Optional<TrafficSensor>> sensorLookup
+            , VehicleRouteChangeEvent event
+    ) {
+        var cached = resolvedRoutes.get(event.vehicleId());
+        int progress = cached == null ? -1 : cached.progressTo(sensorIndex, event.route());
+
+        ResolvedRoute resolvedRoute;
+        VehicleRouteTrafficHotspots result;
+
+        if (progress < 0) {
+            resolvedRoute = resolvedRoute(sensorIndex, sensorLookup, event);
+            result = vehicleRouteTrafficSensorsProcessor.vehicleRouteHotspots(snapshot, resolvedRoute.remainingRoute(event.vehicleId(), 0));
+        } else {
+            result = vehicleRouteTrafficSensorsProcessor.remainingRouteHotspots(snapshot, cached.hotspots()
+                    , cached.passedSensors(progress), cached.remainingRoute(event.vehicleId(), progress));
+            resolvedRoute = cached;
+        }
+
+        activate(event.vehicleId(), resolvedRoute.progressed(progress < 0 ? 0 : progress, result));
+        return result;
+    }
+
+    /**
+     * Schedule the advice of the vehicles passing the sensors which became a hotspot, unless it is scheduled already.
+     *
+     * @param sensorIds the ids of the sensors which became a hotspot
+     */
+    private void onNewHotspots(Set<Integer> sensorIds) {
+        newHotspots.addAll(sensorIds);
+
+        if (adviceScheduled.compareAndSet(false, true)) {
+            try {
+                adviceExecutor.execute(this::adviseVehiclesOnNewHotspots);
+            } catch (RejectedExecutionException ree) {
+                LOGGER.debug("Not advising the vehicles passing the new hotspots {} while shutting down", sensorIds);
+            }
+        }
+    }
+
+    /**
+     * Send "vehicle route change advice" to the vehicles whose active route passes a sensor which became a hotspot,
+     * for all new hotspots since the last advice.
+     */
+    private void adviseVehiclesOnNewHotspots() {
+        // reset before taking the new hotspots, so the hotspots added after taking them schedule the next advice
+        adviceScheduled.set(false);
+
+        var sensorIds = new HashSet<Integer>();
+        for (var iterator = newHotspots.iterator(); iterator.hasNext(); ) {
+            sensorIds.add(iterator.next());
+            iterator.remove();
+        }
+
+        if (!sensorIds.isEmpty()) {
+            try {
+                vehicleRouteChangeAdviceEmitter.sendRouteChangeAdvice(vehicleRouteHotspots(sensorIds));
+            } catch (RuntimeException re) {
+                LOGGER.error("Could not advise the vehicles passing the new hotspots {}", sensorIds, re);
+            }
+        }
+    }
+
+    /**
+     * Find the traffic hotspots on the rest of the active routes which pass any of the given sensors.
+     *
+     * @param sensorIds the ids of the sensors, e.g. which became a hotspot
+     * @return the traffic hotspots on the rest of each of these routes
+     */
+    List<VehicleRouteTrafficHotspots> vehicleRouteHotspots(Set<Integer> sensorIds) {
+        var affectedRoutes = new HashMap<String, ResolvedRoute>();
+
+        synchronized (resolvedRoutes) {
+            for (var sensorId : sensorIds) {
+                for (var vehicleId : vehiclesBySensorId.getOrDefault(sensorId, Set.of())) {
+                    affectedRoutes.computeIfAbsent(vehicleId, resolvedRoutes::get);
+                }
+            }
+        }
+
+        // evaluate the routes outside of the lock, and drop the result if the route changed meanwhile, since the
+        // advice for the newer route may have been sent already
+        var snapshot = hotspotStore.snapshot();
+        var result = new ArrayList<VehicleRouteTrafficHotspots>(affectedRoutes.size());
+        for (var affectedRoute : affectedRoutes.entrySet()) {
+            var vehicleId = affectedRoute.getKey();
+            var resolvedRoute = affectedRoute.getValue();
+
+            var vehicleRouteHotspots = vehicleRouteTrafficSensorsProcessor.vehicleRouteHotspots(snapshot
+                    , resolvedRoute.remainingRoute(vehicleId, resolvedRoute.progress()));
+
+            synchronized (resolvedRoutes) {
+                if (resolvedRoutes.get(vehicleId) == resolvedRoute) {
+                    resolvedRoutes.put(vehicleId, resolvedRoute.progressed(resolvedRoute.progress(), vehicleRouteHotspots));
+                    result.add(vehicleRouteHotspots);
+                }
+            }
+        }
+
+        LOGGER.debug("Evaluated {} active routes again for the new hotspots {}", result.size(), sensorIds);
+
+        return result;
+    }
+
+    /**
+     * Cache the resolved route as the active route of the vehicle, and index the sensors on the rest of it.
+     *
+     * @param vehicleId     the id of the vehicle
+     * @param resolvedRoute the resolved route
+     */
+    private void activate(String vehicleId, ResolvedRoute resolvedRoute) {
+        synchronized (resolvedRoutes) {
+            var current = resolvedRoutes.get(vehicleId);
+
+            if (current != null && current.sensors() == resolvedRoute.sensors()) {
+                // the vehicle progressed along the same route, so only the sensors passed are no longer on the rest of the route
+                unindex(vehicleId, current.passedSensors(resolvedRoute.progress()), resolvedRoute.remainingSensors());
+            } else if (current != null && current.progress() == 0) {
+                // a new route mostly shares its sensors with the previous one, so only the differences are indexed
+                unindex(vehicleId, current.sensors(), resolvedRoute.sensorIds());
+                index(vehicleId, resolvedRoute.sensors(), current.sensorIds());
+            } else {
+                if (current != null) {
+                    unindex(vehicleId, current.remainingSensors());
+                }
+                index(vehicleId, resolvedRoute.remainingSensors(), SensorIdBitSet.empty());
+            }
+
+            // cached after indexing, so a route evicted at once is unindexed as well
+            resolvedRoutes.put(vehicleId, resolvedRoute);
+        }
+    }
+
+    private void index(String vehicleId, List<TrafficSensor> sensors, SensorIdBitSet indexedSensorIds) {
+        for (var sensor : sensors) {
+            if (!indexedSensorIds.contains(sensor.id())) {
+                vehiclesBySensorId.computeIfAbsent(sensor.id(), sensorId -> new HashSet<>()).add(vehicleId);
+            }
+        }
+    }
+
+    private void unindex(String vehicleId, List<TrafficSensor> sensors) {
+        unindex(vehicleId, sensors, SensorIdBitSet.empty());
+    }
+
+    private void unindex(String vehicleId, List<TrafficSensor> sensors, SensorIdBitSet keptSensorIds) {
+        for (var sensor : sensors) {
+            if (!keptSensorIds.contains(sensor.id())) {
+                unindex(vehicleId, sensor.id());
+            }
+        }
+    }
+
+    private void unindex(String vehicleId, List<TrafficSensor> sensors, List<TrafficSensor> remainingSensors) {
+        for (var sensor : sensors) {
+            // a route may pass a sensor more than once
+            if (!containsSensor(remainingSensors, sensor.id())) {
+                unindex(vehicleId, sensor.id());
+            }
+        }
+    }
+
+    private void unindex(String vehicleId, Integer sensorId) {
+        var vehicleIds = vehiclesBySensorId.get(sensorId);
+        if (vehicleIds != null) {
+            vehicleIds.remove(vehicleId);
+            if (vehicleIds.isEmpty()) {
+                vehiclesBySensorId.remove(sensorId);
+            }
+        }
+    }
+
+    private static boolean containsSensor(List<TrafficSensor> sensors, Integer sensorId) {
+        for (var sensor : sensors) {
+            if (sensor.id().equals(sensorId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Find all traffic sensors along the route of an incoming {@link VehicleRouteChangeEvent}.
      *
+     * @param sensorIndex             the current index of the sensors
+     * @param sensorLookup            lookup of the sensor of each point in the current index
      * @param vehicleRouteChangeEvent incoming event
-     * @return the outgoing event
+     * @return the resolved route
      */
-    private VehicleRouteTrafficSensors vehicleRouteTrafficSensors(VehicleRouteChangeEvent vehicleRouteChangeEvent) {
-        // Note: this would be really geo-complex, but since we're actually using sensor geo-coords for the route,
-        // this is now almost trivial.
+    private ResolvedRoute resolvedRoute(
+            SensorIndex sensorIndex
+            , Function<GeographicCoordinates, Optional<TrafficSensor>> sensorLookup
+            , VehicleRouteChangeEvent vehicleRouteChangeEvent
+    ) {
+        // Snap each point of the route to the nearest sensor within the snap distance, skipping the points without
+        // a sensor nearby, and the consecutive points that snap to the same sensor.
+        var route = vehicleRouteChangeEvent.route();
+        var trafficSensors = new ArrayList<TrafficSensor>();
+        var firstSensorOfPoint = new int[route.size() + 1];
 
-        var trafficSensors = vehicleRouteChangeEvent.route().stream()
-                .map(this::trafficSensor)
-                .collect(Collectors.toList());
+        for (int point = 0; point < route.size(); point++) {
+            var trafficSensor = sensorLookup.apply(route.get(point));
 
-        var result = new VehicleRouteTrafficSensors(vehicleRouteChangeEvent.vehicleId(), Collections.unmodifiableList(trafficSensors));
+            if (trafficSensor.isEmpty()) {
+                firstSensorOfPoint[point] = -1;
+            } else if (!trafficSensors.isEmpty() && trafficSensors.get(trafficSensors.size() - 1).equals(trafficSensor.get())) {
+                firstSensorOfPoint[point] = trafficSensors.size() - 1;
+            } else {
+                firstSensorOfPoint[point] = trafficSensors.size();
+                trafficSensors.add(trafficSensor.get());
+            }
+        }
 
-        LOGGER.debug("Created result = {} from input = {}", result, vehicleRouteChangeEvent);
+        // the rest of the route from a point without a sensor starts at the sensor of the next point with one
+        firstSensorOfPoint[route.size()] = trafficSensors.size();
+        for (int point = route.size() - 1; point >= 0; point--) {
+            if (firstSensorOfPoint[point] < 0) {
+                firstSensorOfPoint[point] = firstSensorOfPoint[point + 1];
+            }
+        }
+
+        var sensors = Collections.unmodifiableList(trafficSensors);
+        var result = new ResolvedRoute(sensorIndex, List.copyOf(route), sensors, firstSensorOfPoint, SensorIdBitSet.of(sensors)
+                , 0, null);
+
+        LOGGER.debug("Created result = {} from input = {}", sensors, vehicleRouteChangeEvent);
 
         return result;
     }
 
-    private TrafficSensor trafficSensor(GeographicCoordinates coordinates) {
-        return this.sensorDataRetriever.getTrafficSensors()
-                .stream()
-                .filter(trafficSensor -> trafficSensor.geographicCoordinates().equals(coordinates))
-                .findFirst()
-                .orElseThrow(() -> new IllegalArgumentException("Could not find coords " + coordinates + " in traffic sensors"));
+    private Optional<TrafficSensor> trafficSensor(SensorIndex sensorIndex, GeographicCoordinates coordinates) {
+        var result = sensorIndex.sensorAt(coordinates)
+                .or(() -> sensorIndex.nearestSensor(coordinates, snapDistanceMeters));
+
+        if (result.isEmpty()) {
+            LOGGER.trace("No traffic sensor within {} m of coords {}", snapDistanceMeters, coordinates);
+        }
+
+        return result;
+    }
+
+    /**
+     * A route resolved to the traffic sensors on it, and the hotspots found on the rest of it after some progress.
+     *
+     * @param sensorIndex        the index of the sensors used to resolve the route
+     * @param route              the route as resolved
+     * @param sensors            the traffic sensors on the route
+     * @param firstSensorOfPoint the index in {@code sensors} of the first sensor of the rest of the route from each point
+     * @param sensorIds          the ids of the traffic sensors on the route
+     * @param progress           the number of points of the route passed when the hotspots were found
+     * @param hotspots           the traffic hotspots on the rest of the route
+     */
+    private record ResolvedRoute(
+            SensorIndex sensorIndex
+            , List<GeographicCoordinates> route
+            , List<TrafficSensor> sensors
+            , int[] firstSensorOfPoint
+            , SensorIdBitSet sensorIds
+            , int progress
+            , VehicleRouteTrafficHotspots hotspots
+    ) {
+
+        /**
+         * @param sensorIndex the current index of the sensors
+         * @param newRoute    the new route of the vehicle
+         * @return the number of points of this route passed, if the new route is the rest of it, or {@code -1} otherwise
+         */
+        private int progressTo(SensorIndex sensorIndex, List<GeographicCoordinates> newRoute) {
+            int result = route.size() - newRoute.size();
+
+            // only a comparison of the points, which is far cheaper than snapping them to the sensors again
+            return sensorIndex == this.sensorIndex && result >= progress && route.subList(result, route.size()).equals(newRoute)
+                    ? result
+                    : -1;
+        }
+
+        private List<TrafficSensor> remainingSensors() {
+            return sensors.subList(firstSensorOfPoint[progress], sensors.size());
+        }
+
+        private List<TrafficSensor> passedSensors(int newProgress) {
+            return sensors.subList(firstSensorOfPoint[progress], firstSensorOfPoint[newProgress]);
+        }
+
+        private VehicleRouteTrafficSensors remainingRoute(String vehicleId, int newProgress) {
+            // the ids of the whole route are a superset of the ids on the rest of it
+            return new VehicleRouteTrafficSensors(vehicleId, sensors.subList(firstSensorOfPoint[newProgress], sensors.size()), sensorIds);
+        }
+
+        private ResolvedRoute progressed(int newProgress, VehicleRouteTrafficHotspots newHotspots) {
+            return new ResolvedRoute(sensorIndex, route, sensors, firstSensorOfPoint, sensorIds, newProgress, newHotspots);
+        }
     }
 
 }
@@ -0,0 +1,97 @@
+package com.github.fbascheper.messaging.traffic.producer;
+
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Filter of traffic events whose measurement has not changed since it was last published.
+ * <p>
+ * A compact fingerprint of the last published measurement is kept per sensor id and {@link VehicleClass}.
+ * The time stamps of an event are not part of its fingerprint, because they change with every poll.
+ * Optionally, all events are published again after a full refresh interval, so new consumers can catch up.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class TrafficEventDeltaFilter {
+
+    private static final int VEHICLE_CLASS_COUNT = VehicleClass.values().length;
+    private static final long PUBLISHED = 1L;
+
+    private final Duration fullRefreshInterval;
+
+    private long[] fingerprints = new long[8 * 1024 * VEHICLE_CLASS_COUNT];
+    private Instant lastFullRefresh;
+    private Instant pollStart;
+    private boolean fullRefresh;
+
+    /**
+     * @param fullRefreshInterval interval between two polls in which all events are published, or
+     *                            {@link Duration#ZERO} to publish changed events only
+     */
+    TrafficEventDeltaFilter(Duration fullRefreshInterval) {
+        this.fullRefreshInterval = Objects.requireNonNull(fullRefreshInterval);
+    }
+
+    /**
+     * Start a new poll, which is a full refresh if the full refresh interval has passed.
+     *
+     * @param now the start time of the poll
+     */
+    synchronized void startPoll(Instant now) {
+        this.pollStart = now;
+        this.fullRefresh = lastFullRefresh == null
+                || (!fullRefreshInterval.isZero() && !now.isBefore(lastFullRefresh.plus(fullRefreshInterval)));
+    }
+
+    /**
+     * Make the next poll a full refresh, e.g. because some of the events of this poll could not be published.
+     */
+    synchronized void requestFullRefresh() {
+        this.lastFullRefresh = null;
+    }
+
+    /**
+     * Check if the event should be published, and remember its fingerprint if so.
+     *
+     * @param event the traffic event
+     * @return {@code true} if its measurement changed since it was last published, or if this poll is a full refresh
+     */
+    synchronized boolean isChanged(TrafficEvent event) {
+        int index = event.sensorId() * VEHICLE_CLASS_COUNT + event.vehicleClass().ordinal();
+        ensureCapacity(index);
+
+        long fingerprint = fingerprint(event);
+        boolean result = fullRefresh || fingerprints[index] != fingerprint;
+
+        fingerprints[index] = fingerprint;
+
+        if (result && fullRefresh) {
+            lastFullRefresh = pollStart;
+        }
+
+        return result;
+    }
+
+    private void ensureCapacity(int index) {
+        if (index >= fingerprints.length) {
+            fingerprints = Arrays.copyOf(fingerprints, Math.max(index + 1, fingerprints.length * 2));
+        }
+    }
+
+    private static long fingerprint(TrafficEvent event) {
+        return ((long) event.vehicleCount() << 32)
+                | ((long) (event.vehicleAverageSpeed() & 0xFFF) << 20)
+                | ((long) (event.vehicleHarmonicSpeed() & 0xFFF) << 8)
+                | (event.sensorAvailable() ? 4L : 0L)
+                | (event.sensorDataRecent() ? 2L : 0L)
+                | PUBLISHED;
+    }
+
+}
@@ -9,12 +9,23 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import javax.inject.Inject;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.slf4j.LoggerFactory.getLogger;
 
 /**
- * Emitter of traffic events, using a once-per-minute HTTP call to the traffic events endpoint published
- * by the Flemish road authorities.
+ * Emitter of traffic events, using a periodic call to the traffic events endpoint published
+ * by the Flemish road authorities, or to a replay of its recorded documents.
+ * <p>
+ * In delta mode, only the events whose measurement changed since they were last published are sent,
+ * with an optional periodic full refresh.
+ * </p>
+ * <p>
+ * The events are published with a bounded number of records in flight, and a poll is finished when all of its
+ * records have been acknowledged. A new poll is skipped while the previous one has not finished yet.
+ * </p>
  *
  * @author Frederieke Scheper
  * @since 20-10-2021
@@ -25,31 +36,76 @@ public class TrafficEventEmitter {
 
     private static final Logger LOGGER = getLogger(TrafficEventEmitter.class);
 
-    private final KafkaTemplate<String, Object> kafkaTemplate;
-    private final String trafficEventsTopicName;
     private final TrafficDataRetriever trafficDataRetriever;
+    private final boolean deltaEnabled;
+    private final TrafficEventDeltaFilter deltaFilter;
+    private final TrafficEventPublisher publisher;
+    private final AtomicBoolean polling = new AtomicBoolean();
 
     @Inject
     TrafficEventEmitter(
             KafkaTemplate<String, Object> kafkaTemplate
             , @Value("${traffic.kafka.traffic-event-topic}") String trafficEventsTopicName
             , TrafficDataRetriever trafficDataRetriever
+            , @Value("${traffic.publishing.delta-enabled:false}") boolean deltaEnabled
+            , @Value("${traffic.publishing.full-refresh-interval:PT15M}") Duration fullRefreshInterval
+            , @Value("${traffic.publishing.max-in-flight:10000}") int maxInFlight
     ) {
-        this.kafkaTemplate = kafkaTemplate;
-        this.trafficEventsTopicName = trafficEventsTopicName;
         this.trafficDataRetriever = trafficDataRetriever;
+        this.deltaEnabled = deltaEnabled;
+        this.deltaFilter = new TrafficEventDeltaFilter(fullRefreshInterval);
+        this.publisher = new TrafficEventPublisher(kafkaTemplate, trafficEventsTopicName, maxInFlight);
     }
 
-    // TODO: reset traffic event update frequency to one every minute
-    // @Scheduled(fixedRate = 60_000L)
-    @Scheduled(fixedRate = 300_000L)
+    // TODO: reset traffic event update frequency to one every minute (PT1M)
+    @Scheduled(fixedRateString = "${traffic.flemish.poll-interval:PT5M}")
     public void sendTrafficEvents() {
-        var trafficEvents = this.trafficDataRetriever.getTrafficEvents();
-        trafficEvents.forEach(event ->
-                kafkaTemplate.send(trafficEventsTopicName
-                        , event.sensorId().toString()
-                        , event
-                ));
+        if (!polling.compareAndSet(false, true)) {
+            LOGGER.warn("Skipped poll of the traffic events, because the previous poll has not been acknowledged yet");
+            return;
+        }
+
+        // the flag is reset when the poll has finished, or right away when it could not even be started
+        try {
+            var poll = publisher.startPoll();
+            deltaFilter.startPoll(Instant.now());
+
+            this.trafficDataRetriever.streamTrafficEvents(event -> {
+                        if (!deltaEnabled || deltaFilter.isChanged(event)) {
+                            poll.publish(event);
+                        }
+                    })
+                    .handle((count, throwable) -> {
+                        if (throwable != null) {
+                            LOGGER.error("Could not retrieve traffic events", throwable);
+                        }
+                        return count == null ? 0 : count;
+                    })
+                    .thenCompose(count -> poll.finish().thenAccept(result -> logPoll(count, result)))
+                    .whenComplete((result, throwable) -> {
+                        if (throwable != null) {
+                            LOGGER.error("Could not send traffic events", throwable);
+                        }
+                        polling.set(false);
+                    });
+        } catch (RuntimeException re) {
+            LOGGER.error("Could not start a poll of the traffic events", re);
+            polling.set(false);
+        }
+    }
+
+    private void logPoll(int count, TrafficEventPublisher.PollResult result) {
+        long elapsedMillis = Math.max(1L, result.elapsed().toMillis());
+
+        if (result.failed() > 0) {
+            // the changes of the failed events would otherwise not be published again
+            deltaFilter.requestFullRefresh();
+            LOGGER.warn("Could not send {} of {} traffic events, the next poll is a full refresh", result.failed(), result.sent());
+        }
+
+        LOGGER.debug("Sent {} of {} traffic events in {} ms ({} events/s), acknowledged = {}, failed = {}, snapshots processed = {}, skipped = {}"
+                , result.sent(), count, elapsedMillis, count * 1000L / elapsedMillis, result.succeeded(), result.failed()
+                , trafficDataRetriever.getProcessedSnapshotCount(), trafficDataRetriever.getSkippedSnapshotCount());
     }
 
 }
@@ -0,0 +1,155 @@
+package com.github.fbascheper.messaging.traffic.producer;
+
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.serialization.TrafficEventHeaders;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.slf4j.Logger;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Publisher of the traffic events of a poll, with a bounded number of records in flight.
+ * <p>
+ * Publishing blocks while the maximum number of unacknowledged records is in flight, which slows down
+ * the streaming of the feed instead of buffering all of its events. A poll is finished when all of its records
+ * have been acknowledged or have failed, and its result reports both counts.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class TrafficEventPublisher {
+
+    private static final Logger LOGGER = getLogger(TrafficEventPublisher.class);
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final String topicName;
+    private final Semaphore inFlight;
+
+    /**
+     * @param kafkaTemplate the Kafka template
+     * @param topicName     name of the traffic event topic
+     * @param maxInFlight   maximum number of records sent, but not acknowledged yet
+     */
+    TrafficEventPublisher(KafkaTemplate<String, Object> kafkaTemplate, String topicName, int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Maximum number of records in flight should be positive, but was " + maxInFlight);
+        }
+
+        this.kafkaTemplate = Objects.requireNonNull(kafkaTemplate);
+        this.topicName = Objects.requireNonNull(topicName);
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * @return a new poll, to publish its traffic events with
+     */
+    Poll startPoll() {
+        return new Poll();
+    }
+
+    /**
+     * @return the number of records which may still be sent before publishing blocks
+     */
+    int availableInFlight() {
+        return inFlight.availablePermits();
+    }
+
+    /**
+     * The result of a finished poll.
+     *
+     * @param sent      the number of records sent
+     * @param succeeded the number of records acknowledged
+     * @param failed    the number of records which could not be sent or were not acknowledged
+     * @param elapsed   the time from the start of the poll until the last record was acknowledged
+     */
+    record PollResult(int sent, int succeeded, int failed, Duration elapsed) {
+    }
+
+    /**
+     * The traffic events published during a single poll.
+     */
+    class Poll {
+        private final long startNanos = System.nanoTime();
+        private final CompletableFuture<PollResult> result = new CompletableFuture<>();
+
+        private final AtomicInteger sent = new AtomicInteger();
+        private final AtomicInteger succeeded = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+
+        // the records in flight, plus one until the poll is finished
+        private final AtomicInteger pending = new AtomicInteger(1);
+
+        private Poll() {
+        }
+
+        /**
+         * Send the traffic event with its {@link TrafficEventHeaders}, blocking while the maximum number of records is in flight.
+         *
+         * @param event the traffic event
+         */
+        void publish(TrafficEvent event) {
+            try {
+                inFlight.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to publish traffic event of sensor " + event.sensorId(), e);
+            }
+
+            sent.incrementAndGet();
+            pending.incrementAndGet();
+
+            try {
+                var producerRecord = new ProducerRecord<String, Object>(
+                        topicName, null, event.sensorId().toString(), event, TrafficEventHeaders.of(event));
+
+                kafkaTemplate.send(producerRecord)
+                        .addCallback(sendResult -> acknowledged(true, null), throwable -> acknowledged(false, throwable));
+            } catch (RuntimeException e) {
+                acknowledged(false, e);
+            }
+        }
+
+        /**
+         * Finish the poll, after its last traffic event has been published.
+         * The records still waiting for a batch to fill up are sent at once.
+         *
+         * @return the future result, which completes when all records have been acknowledged or have failed
+         */
+        CompletableFuture<PollResult> finish() {
+            if (sent.get() > 0) {
+                kafkaTemplate.flush();
+            }
+
+            release();
+            return result;
+        }
+
+        private void acknowledged(boolean success, Throwable throwable) {
+            inFlight.release();
+
+            if (success) {
+                succeeded.incrementAndGet();
+            } else if (failed.getAndIncrement() == 0) {
+                // the other failures of a poll mostly have the same cause
+                LOGGER.warn("Could not publish traffic event", throwable);
+            }
+
+            release();
+        }
+
+        private void release() {
+            if (pending.decrementAndGet() == 0) {
+                result.complete(new PollResult(sent.get(), succeeded.get(), failed.get(), Duration.ofNanos(System.nanoTime() - startNanos)));
+            }
+        }
+    }
+
+}
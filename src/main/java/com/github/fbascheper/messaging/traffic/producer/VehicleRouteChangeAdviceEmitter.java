@@ -2,13 +2,23 @@ package com.github.fbascheper.messaging.traffic.producer;
 
 import com.github.fbascheper.messaging.domain.VehicleRouteChangeAdvice;
 import com.github.fbascheper.messaging.domain.VehicleRouteTrafficHotspots;
+import org.slf4j.Logger;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Component;
 
 import javax.inject.Inject;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
+import static org.slf4j.LoggerFactory.getLogger;
+
 /**
  * Emitter of {@link VehicleRouteChangeAdvice}-events.
  *
@@ -18,34 +28,85 @@ import java.util.stream.Collectors;
 @Component
 public class VehicleRouteChangeAdviceEmitter {
 
+    private static final Logger LOGGER = getLogger(VehicleRouteChangeAdviceEmitter.class);
+
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final String vehicleRouteChangeAdviceTopicName;
+    private final Duration sendTimeout;
 
+    /**
+     * @param kafkaTemplate                     the Kafka template
+     * @param vehicleRouteChangeAdviceTopicName name of the vehicle route change advice topic
+     * @param sendTimeout                       maximum time to wait for the acknowledgements of the advice sent at once
+     */
     @Inject
     VehicleRouteChangeAdviceEmitter(
             KafkaTemplate<String, Object> kafkaTemplate
             , @Value("${traffic.kafka.vehicle-route-change-advice-topic}") String vehicleRouteChangeAdviceTopicName
+            , @Value("${traffic.kafka.advice-send-timeout:PT30S}") Duration sendTimeout
     ) {
         this.kafkaTemplate = kafkaTemplate;
         this.vehicleRouteChangeAdviceTopicName = vehicleRouteChangeAdviceTopicName;
+        this.sendTimeout = sendTimeout;
     }
 
     /**
-     * Create the route change advice, if applicable,and send it to Kafka.
+     * Create the route change advice, if applicable, send it to Kafka and await its acknowledgement,
+     * like the advice of a batch.
      *
-     * @param vehicleRouteTrafficHotspots
+     * @param vehicleRouteTrafficHotspots the hotspots on the route of the vehicle
+     * @return the result of sending the advice, which is empty if no advice was needed
      */
-    public void sendRouteChangeAdvice(VehicleRouteTrafficHotspots vehicleRouteTrafficHotspots) {
+    public BatchResult sendRouteChangeAdvice(VehicleRouteTrafficHotspots vehicleRouteTrafficHotspots) {
+        return sendRouteChangeAdvice(List.of(vehicleRouteTrafficHotspots));
+    }
 
-        if (this.isRouteChangeAdvisable(vehicleRouteTrafficHotspots)) {
+    /**
+     * Create the route change advice of a batch of vehicles, if applicable, and send it to Kafka in one go.
+     * All records are sent before the producer is flushed, and their acknowledgements are awaited together afterwards,
+     * for at most the send timeout, so the listener is not held up beyond its poll interval. The records which are not
+     * acknowledged by then are counted as failed.
+     *
+     * @param vehicleRouteTrafficHotspots the hotspots on the route of each vehicle
+     * @return the result of the batch, which reports the records acknowledged and the records failed
+     */
+    public BatchResult sendRouteChangeAdvice(List<VehicleRouteTrafficHotspots> vehicleRouteTrafficHotspots) {
+        var acknowledgements = new ArrayList<CompletableFuture<?>>();
+
+        for (var vehicleRouteHotspots : vehicleRouteTrafficHotspots) {
+            if (this.isRouteChangeAdvisable(vehicleRouteHotspots)) {
+                var vehicleRouteChangeAdvice = routeChangeAdvice(vehicleRouteHotspots);
+
+                try {
+                    acknowledgements.add(kafkaTemplate.send(vehicleRouteChangeAdviceTopicName
+                            , vehicleRouteChangeAdvice.vehicleId()
+                            , vehicleRouteChangeAdvice
+                    ).completable());
+                } catch (RuntimeException e) {
+                    acknowledgements.add(CompletableFuture.failedFuture(e));
+                }
+            }
+        }
 
-            var vehicleRouteChangeAdvice = routeChangeAdvice(vehicleRouteTrafficHotspots);
+        if (acknowledgements.isEmpty()) {
+            return new BatchResult(0, 0, 0);
+        }
 
-            kafkaTemplate.send(vehicleRouteChangeAdviceTopicName
-                    , vehicleRouteChangeAdvice.vehicleId()
-                    , vehicleRouteChangeAdvice
-            );
+        // the records still waiting for a batch to fill up are sent at once, instead of after the linger time
+        kafkaTemplate.flush();
+
+        try {
+            CompletableFuture.allOf(acknowledgements.toArray(CompletableFuture[]::new))
+                    .get(sendTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // the failed records are counted in the result
+        } catch (TimeoutException e) {
+            LOGGER.warn("Timed out after {} waiting for the acknowledgements of the vehicle route change advice", sendTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
+
+        return batchResult(acknowledgements);
     }
 
     /**
@@ -60,7 +121,8 @@ public class VehicleRouteChangeAdviceEmitter {
                         .map(java.lang.Record::toString)
                         .collect(Collectors.joining(","));
 
-        return new VehicleRouteChangeAdvice(vehicleRouteTrafficHotspots.vehicleId(), message);
+        return new VehicleRouteChangeAdvice(vehicleRouteTrafficHotspots.vehicleId(), message
+                , vehicleRouteTrafficHotspots.hotspotEpoch());
     }
 
     private boolean isRouteChangeAdvisable(VehicleRouteTrafficHotspots vehicleRouteTrafficHotspots) {
@@ -68,6 +130,37 @@ public class VehicleRouteChangeAdviceEmitter {
         return vehicleRouteTrafficHotspots.trafficHotspotsOnRoute().size() >= 1;
     }
 
+    private BatchResult batchResult(List<CompletableFuture<?>> acknowledgements) {
+        int failed = 0;
+
+        for (var acknowledgement : acknowledgements) {
+            if (!acknowledgement.isDone() || acknowledgement.isCompletedExceptionally()) {
+                if (failed++ == 0) {
+                    // the other failures of a batch mostly have the same cause
+                    acknowledgement.exceptionally(throwable -> {
+                        LOGGER.warn("Could not send vehicle route change advice", throwable);
+                        return null;
+                    });
+                }
+            }
+        }
+
+        if (failed > 0) {
+            LOGGER.warn("Could not send {} of {} vehicle route change advice records", failed, acknowledgements.size());
+        }
+        return new BatchResult(acknowledgements.size(), acknowledgements.size() - failed, failed);
+    }
+
+    /**
+     * The result of a batch of route change advice.
+     *
+     * @param sent      the number of records sent
+     * @param succeeded the number of records acknowledged
+     * @param failed    the number of records which could not be sent or were not acknowledged in time
+     */
+    public record BatchResult(int sent, int succeeded, int failed) {
+    }
+
 
 }
 
@@ -0,0 +1,73 @@
+package com.github.fbascheper.messaging.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.ParseException;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for {@link SensorDataConverter}, which compares its number parser with a {@link DecimalFormat}.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class SensorDataConverterTest {
+
+    @Test
+    void toBigDecimal() {
+        assertThat(SensorDataConverter.toBigDecimal("4,30815"), is(new BigDecimal("4.30815")));
+        assertThat(SensorDataConverter.toBigDecimal("50,866871"), is(new BigDecimal("50.866871")));
+        assertThat(SensorDataConverter.toBigDecimal("20,0"), is(new BigDecimal("20.0")));
+        assertThat(SensorDataConverter.toBigDecimal("-3,10"), is(new BigDecimal("-3.10")));
+        assertThat(SensorDataConverter.toBigDecimal("145.218,437"), is(new BigDecimal("145218.437")));
+        assertThat(SensorDataConverter.toBigDecimal("4,30815000000000000001"), is(new BigDecimal("4.30815000000000000001")));
+    }
+
+    @Test
+    void toBigDecimalOfInvalidNumber() {
+        assertThrows(IllegalArgumentException.class, () -> SensorDataConverter.toBigDecimal(""));
+        assertThrows(IllegalArgumentException.class, () -> SensorDataConverter.toBigDecimal("-"));
+        assertThrows(IllegalArgumentException.class, () -> SensorDataConverter.toBigDecimal("x4,3"));
+    }
+
+    @Test
+    void toBigDecimalMatchesDecimalFormat() {
+        var random = new Random(42);
+        var alphabet = "0123456789012345678901234567890123456789,,..-x";
+
+        for (int i = 0; i < 100_000; i++) {
+            var number = new StringBuilder();
+            int length = random.nextInt(25);
+            for (int j = 0; j < length; j++) {
+                number.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+
+            var expected = parseWithDecimalFormat(number.toString());
+            if (expected == null) {
+                assertThrows(IllegalArgumentException.class, () -> SensorDataConverter.toBigDecimal(number.toString()));
+            } else {
+                assertThat(number.toString(), SensorDataConverter.toBigDecimal(number.toString()), is(expected));
+            }
+        }
+    }
+
+    private static BigDecimal parseWithDecimalFormat(String number) {
+        var decimalFormat = new DecimalFormat("#,##0.###", DecimalFormatSymbols.getInstance(Locale.forLanguageTag("nl-BE")));
+        decimalFormat.setParseBigDecimal(true);
+
+        try {
+            return (BigDecimal) decimalFormat.parse(number);
+        } catch (ParseException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,156 @@
+package com.github.fbascheper.messaging.common;
+
+import com.github.fbascheper.messaging.data.retriever.TrafficDataStreamReader;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+import com.github.fbascheper.miv.data.JaxbMivType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the converters, per converted event or coordinate.
+ * <p>
+ * Run it with the GC profiler ({@code -prof gc}, or the {@link #main(String[])} method), which reports the allocations
+ * per converted event as {@code gc.alloc.rate.norm}. The {@code legacy} benchmarks are the former implementations.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TrafficDataConverterBenchmark {
+
+    private static final int EVENTS_PER_DOCUMENT = 30;
+    private static final String[] COORDINATES = {"4,30815", "50,866871", "3,212707", "51,224537", "145218,437"};
+
+    byte[] xml;
+    JaxbMivType mivType;
+    TrafficDataStreamReader streamReader;
+
+    public static void main(String[] args) throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(TrafficDataConverterBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() throws IOException, JAXBException {
+        try (var in = getClass().getResourceAsStream("/miv/verkeersdata.xml")) {
+            xml = in.readAllBytes();
+        }
+
+        @SuppressWarnings("unchecked")
+        var element = (JAXBElement<JaxbMivType>) JAXBContext.newInstance(JaxbMivType.class.getPackageName())
+                .createUnmarshaller()
+                .unmarshal(new ByteArrayInputStream(xml));
+        mivType = element.getValue();
+
+        int events = mivType.getMeetpunt().stream().mapToInt(meetpunt -> meetpunt.getMeetdata().size()).sum();
+        if (events != EVENTS_PER_DOCUMENT) {
+            throw new IllegalStateException("Expected " + EVENTS_PER_DOCUMENT + " events, but found " + events);
+        }
+
+        streamReader = new TrafficDataStreamReader();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_DOCUMENT)
+    public void legacyOfMeasurement(Blackhole blackhole) {
+        for (var meetpunt : mivType.getMeetpunt()) {
+            for (var meetdata : meetpunt.getMeetdata()) {
+                blackhole.consume(TrafficDataConverter.ofMeasurement(meetpunt, meetdata));
+                blackhole.consume(legacyVehicleClassOf(meetdata.getKlasseId()));
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_DOCUMENT)
+    public void ofMeasurementPoint(Blackhole blackhole) {
+        for (var meetpunt : mivType.getMeetpunt()) {
+            TrafficDataConverter.ofMeasurementPoint(meetpunt, blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_DOCUMENT)
+    public int streamReader(Blackhole blackhole) {
+        return streamReader.read(new ByteArrayInputStream(xml), blackhole::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_DOCUMENT)
+    public void legacyVehicleClassOf(Blackhole blackhole) {
+        for (int i = 0; i < EVENTS_PER_DOCUMENT; i++) {
+            blackhole.consume(legacyVehicleClassOf(i % 6));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS_PER_DOCUMENT)
+    public void vehicleClassOf(Blackhole blackhole) {
+        for (int i = 0; i < EVENTS_PER_DOCUMENT; i++) {
+            blackhole.consume(TrafficDataConverter.vehicleClassOf(i % 6));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(5)
+    public void legacyCoordinates(Blackhole blackhole) throws ParseException {
+        for (var coordinate : COORDINATES) {
+            var decimalFormat = new DecimalFormat("#,##0.###", DecimalFormatSymbols.getInstance(Locale.forLanguageTag("nl-BE")));
+            decimalFormat.setParseBigDecimal(true);
+            blackhole.consume((BigDecimal) decimalFormat.parse(coordinate));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(5)
+    public void coordinates(Blackhole blackhole) {
+        for (var coordinate : COORDINATES) {
+            blackhole.consume(SensorDataConverter.toBigDecimal(coordinate));
+        }
+    }
+
+    private static VehicleClass legacyVehicleClassOf(int klasseId) {
+        return Arrays.stream(VehicleClass.values())
+                .filter(e -> e.getValue() == klasseId)
+                .findFirst()
+                .orElse(VehicleClass.UNKNOWN);
+    }
+
+}
@@ -0,0 +1,44 @@
+package com.github.fbascheper.messaging.data.registry;
+
+import com.github.fbascheper.messaging.domain.TestTrafficSensors;
+import com.github.fbascheper.messaging.domain.TrafficSensor;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Test class for {@link SensorIndex}.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class SensorIndexTest {
+
+    List<TrafficSensor> sensors = TestTrafficSensors.sensors(4800);
+    SensorIndex instance = SensorIndex.of(sensors);
+
+    @Test
+    void sensorById() {
+        for (var sensor : sensors) {
+            assertThat(instance.sensorById(sensor.id()), is(Optional.of(sensor)));
+        }
+
+        assertThat(instance.sensorById(0), is(Optional.empty()));
+        assertThat(instance.sensorById(4801), is(Optional.empty()));
+        assertThat(instance.sensorById(-1), is(Optional.empty()));
+    }
+
+    @Test
+    void sensorAt() {
+        for (var sensor : sensors) {
+            assertThat(instance.sensorAt(sensor.geographicCoordinates()), is(Optional.of(sensor)));
+        }
+
+        assertThat(instance.sensorAt(TestTrafficSensors.coordinates(0.0, 0.0)), is(Optional.empty()));
+    }
+
+}
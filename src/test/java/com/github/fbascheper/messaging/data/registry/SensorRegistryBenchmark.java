@@ -0,0 +1,126 @@
+package com.github.fbascheper.messaging.data.registry;
+
+import com.github.fbascheper.messaging.domain.GeographicCoordinates;
+import com.github.fbascheper.messaging.domain.TestTrafficSensors;
+import com.github.fbascheper.messaging.domain.TrafficSensor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the per-route resolution cost of sensors, before (linear scan) and after the {@link SensorIndex}.
+ * The nearest benchmarks snap route points that lie up to about 30 metres away from a sensor.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SensorRegistryBenchmark {
+
+    @Param({"4800"})
+    int sensorCount;
+
+    @Param({"30", "300"})
+    int routeLength;
+
+    List<TrafficSensor> sensors;
+    SensorIndex sensorIndex;
+    List<GeographicCoordinates> routeCoordinates;
+    List<Integer> routeIds;
+    List<GeographicCoordinates> routeNearCoordinates;
+
+    @Setup
+    public void setUp() {
+        sensors = TestTrafficSensors.sensors(sensorCount);
+        sensorIndex = SensorIndex.of(sensors);
+
+        var random = new Random(42);
+        var route = random.ints(routeLength, 0, sensorCount)
+                .mapToObj(sensors::get)
+                .toList();
+
+        routeCoordinates = route.stream().map(TrafficSensor::geographicCoordinates).toList();
+        routeIds = route.stream().map(TrafficSensor::id).toList();
+        routeNearCoordinates = route.stream()
+                .map(TrafficSensor::geographicCoordinates)
+                .map(coordinates -> TestTrafficSensors.coordinates(
+                        coordinates.longitude().doubleValue() + (random.nextDouble() - 0.5) * 0.0005
+                        , coordinates.latitude().doubleValue() + (random.nextDouble() - 0.5) * 0.0005))
+                .toList();
+    }
+
+    @Benchmark
+    public List<TrafficSensor> coordinatesByLinearScan() {
+        return routeCoordinates.stream()
+                .map(coordinates -> sensors.stream()
+                        .filter(trafficSensor -> trafficSensor.geographicCoordinates().equals(coordinates))
+                        .findFirst()
+                        .orElseThrow())
+                .toList();
+    }
+
+    @Benchmark
+    public List<TrafficSensor> coordinatesByIndex() {
+        return routeCoordinates.stream()
+                .map(coordinates -> sensorIndex.sensorAt(coordinates).orElseThrow())
+                .toList();
+    }
+
+    @Benchmark
+    public List<TrafficSensor> idsByLinearScan() {
+        return routeIds.stream()
+                .map(id -> sensors.stream()
+                        .filter(s -> s.id().equals(id))
+                        .findFirst()
+                        .orElseThrow())
+                .toList();
+    }
+
+    @Benchmark
+    public List<TrafficSensor> idsByIndex() {
+        return routeIds.stream()
+                .map(id -> sensorIndex.sensorById(id).orElseThrow())
+                .toList();
+    }
+
+    @Benchmark
+    public List<TrafficSensor> nearestByLinearScan() {
+        return routeNearCoordinates.stream()
+                .map(coordinates -> sensors.stream()
+                        .min(Comparator.comparingDouble(trafficSensor -> distanceSquared(trafficSensor.geographicCoordinates(), coordinates)))
+                        .orElseThrow())
+                .toList();
+    }
+
+    @Benchmark
+    public List<TrafficSensor> nearestByIndex() {
+        return routeNearCoordinates.stream()
+                .map(coordinates -> sensorIndex.nearestSensor(coordinates, 50.0).orElseThrow())
+                .toList();
+    }
+
+    private static double distanceSquared(GeographicCoordinates a, GeographicCoordinates b) {
+        double dx = (a.longitude().doubleValue() - b.longitude().doubleValue()) * Math.cos(Math.toRadians(51.0));
+        double dy = a.latitude().doubleValue() - b.latitude().doubleValue();
+        return dx * dx + dy * dy;
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.github.fbascheper.messaging.data.registry;
+
+import com.github.fbascheper.messaging.domain.GeographicCoordinates;
+import com.github.fbascheper.messaging.domain.TestTrafficSensors;
+import com.github.fbascheper.messaging.domain.TrafficSensor;
+import com.github.fbascheper.messaging.domain.TrafficSensorConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Optional;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Test class for {@link SensorRegistrySnapshot}.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class SensorRegistrySnapshotTest {
+
+    Path file = createTempFile();
+    SensorRegistrySnapshot instance = new SensorRegistrySnapshot(file);
+
+    @AfterEach
+    void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void writeAndRead() {
+        var sensors = new ArrayList<>(TestTrafficSensors.sensors(100));
+        sensors.add(new TrafficSensor(3640, "H101L20", null, "R0", "R10"
+                , new GeographicCoordinates(new BigDecimal("4.30815"), new BigDecimal("50.866871"))));
+
+        var configuration = new TrafficSensorConfiguration(
+                ZonedDateTime.of(2021, 11, 5, 8, 51, 19, 500, ZoneId.of("GMT+01:00")), sensors);
+
+        instance.write(configuration);
+
+        assertThat(instance.read(), is(Optional.of(configuration)));
+    }
+
+    @Test
+    void readMissingFile() throws IOException {
+        Files.delete(file);
+
+        assertThat(instance.read(), is(Optional.empty()));
+    }
+
+    @Test
+    void readCorruptFile() throws IOException {
+        Files.write(file, new byte[]{'M', 'I', 'V', 'S', 0, 0, 0, 1, 42});
+
+        assertThat(instance.read(), is(Optional.empty()));
+    }
+
+    @Test
+    void readUnknownFormat() throws IOException {
+        Files.writeString(file, "<mivconfig/>");
+
+        assertThat(instance.read(), is(Optional.empty()));
+    }
+
+    private static Path createTempFile() {
+        try {
+            return Files.createTempFile("sensor-registry", ".snapshot");
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create temporary file", e);
+        }
+    }
+
+}
@@ -0,0 +1,197 @@
+package com.github.fbascheper.messaging.data.registry;
+
+import com.github.fbascheper.messaging.data.retriever.SensorDataRetriever;
+import com.github.fbascheper.messaging.data.transport.MivHttpTransport;
+import com.github.fbascheper.messaging.data.transport.StubMivServer;
+import com.github.fbascheper.messaging.domain.TestTrafficSensors;
+import com.github.fbascheper.messaging.domain.TrafficSensorConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Comparator;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.slf4j.LoggerFactory.getLogger;
+
+/**
+ * Test class for {@link SensorRegistry}, loading the sensor configuration from a snapshot file and refreshing it
+ * from a {@link StubMivServer}.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class SensorRegistryTest {
+
+    private static final Logger LOGGER = getLogger(SensorRegistryTest.class);
+
+    static final String PATH = "/miv/configuratie/xml";
+
+    Path snapshotDirectory = createTempDirectory();
+    SensorRegistrySnapshot snapshot = new SensorRegistrySnapshot(snapshotDirectory.resolve("sensor-registry.snapshot"));
+
+    StubMivServer server = new StubMivServer().serve(PATH, "/miv/configuratie.xml");
+    SensorRegistry instance = new SensorRegistry(new SensorDataRetriever(server.url(PATH), new MivHttpTransport()), snapshot);
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+
+        try (var files = Files.walk(snapshotDirectory)) {
+            for (var file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    void refreshUnmodifiedConfiguration() {
+        instance.onPostConstruct();
+        assertThat(instance.isEmpty(), is(true));
+
+        assertThat(instance.refresh().join(), is(true));
+        var sensorIndex = instance.sensorIndex();
+
+        assertThat(instance.refresh().join(), is(false));
+        assertThat(server.exchanges().get(1).getResponseCode(), is(304));
+
+        assertThat(instance.getTrafficSensors().size(), is(6));
+        assertThat(instance.getLastConfigChange().orElseThrow().toInstant(), is(Instant.parse("2021-11-05T07:51:19Z")));
+        assertThat(instance.sensorIndex() == sensorIndex, is(true));
+    }
+
+    @Test
+    void refreshWithSameConfigChangeTime() {
+        instance.onPostConstruct();
+        assertThat(instance.refresh().join(), is(true));
+        var sensorIndex = instance.sensorIndex();
+
+        server.withoutConditionalRequests();
+
+        assertThat(instance.refresh().join(), is(false));
+        assertThat(instance.sensorIndex() == sensorIndex, is(true));
+    }
+
+    @Test
+    void refreshChangedConfiguration() {
+        instance.onPostConstruct();
+        assertThat(instance.refresh().join(), is(true));
+        var sensorIndex = instance.sensorIndex();
+
+        server.serve(PATH, "/miv/configuratie-gewijzigd.xml");
+
+        assertThat(instance.refresh().join(), is(true));
+        assertThat(instance.getTrafficSensors().size(), is(7));
+        assertThat(instance.sensorById(4801).isPresent(), is(true));
+        assertThat(instance.getLastConfigChange().orElseThrow().toInstant(), is(Instant.parse("2021-12-01T09:00:00Z")));
+
+        // a previously obtained index is never modified
+        assertThat(sensorIndex.sensors().size(), is(6));
+        assertThat(sensorIndex.sensorById(4801).isPresent(), is(false));
+    }
+
+    @Test
+    void readersOnlySeeCompleteIndexes() throws InterruptedException {
+        instance.onPostConstruct();
+        assertThat(instance.refresh().join(), is(true));
+        server.withoutConditionalRequests();
+
+        var done = new AtomicBoolean();
+        var inconsistencies = new AtomicInteger();
+        var reads = new AtomicInteger();
+
+        var reader = new Thread(() -> {
+            while (!done.get()) {
+                var sensorIndex = instance.sensorIndex();
+                boolean changed = sensorIndex.sensors().size() == 7;
+
+                if (sensorIndex.sensorById(4801).isPresent() != changed) {
+                    inconsistencies.incrementAndGet();
+                }
+                reads.incrementAndGet();
+            }
+        });
+        reader.start();
+
+        server.serve(PATH, "/miv/configuratie-gewijzigd.xml");
+        assertThat(instance.refresh().join(), is(true));
+
+        done.set(true);
+        reader.join();
+
+        assertThat(reads.get() > 0, is(true));
+        assertThat(inconsistencies.get(), is(0));
+        assertThat(instance.getTrafficSensors().size(), is(7));
+    }
+
+    @Test
+    void refreshWritesSnapshot() {
+        instance.onPostConstruct();
+        assertThat(instance.refresh().join(), is(true));
+
+        var restarted = new SensorRegistry(new SensorDataRetriever(server.url(PATH), new MivHttpTransport()), snapshot);
+        restarted.onPostConstruct();
+
+        assertThat(restarted.isEmpty(), is(false));
+        assertThat(restarted.getTrafficSensors(), is(instance.getTrafficSensors()));
+        assertThat(restarted.getLastConfigChange(), is(instance.getLastConfigChange()));
+
+        // the network configuration is not newer than the snapshot
+        assertThat(restarted.refresh().join(), is(false));
+    }
+
+    @Test
+    void startupFromSnapshotWhileEndpointIsDown() {
+        var lastConfigChange = ZonedDateTime.of(2021, 11, 5, 8, 51, 19, 0, ZoneId.of("Europe/Brussels"));
+        snapshot.write(new TrafficSensorConfiguration(lastConfigChange, TestTrafficSensors.sensors(4800)));
+        server.close();
+
+        long start = System.nanoTime();
+        instance.onPostConstruct();
+        var startupTime = Duration.ofNanos(System.nanoTime() - start);
+
+        LOGGER.info("Started sensor registry with {} sensors from the snapshot in {} ms"
+                , instance.getTrafficSensors().size(), startupTime.toMillis());
+
+        assertThat(instance.getTrafficSensors().size(), is(4800));
+        assertThat(instance.getLastConfigChange().orElseThrow(), is(lastConfigChange));
+        assertThat(startupTime.compareTo(Duration.ofSeconds(1)) < 0, is(true));
+
+        // the refresh fails, but the registry keeps serving the snapshot
+        assertThrows(CompletionException.class, () -> instance.refresh().join());
+        assertThat(instance.getTrafficSensors().size(), is(4800));
+    }
+
+    @Test
+    void startupWithoutSnapshotWhileEndpointIsDown() {
+        server.close();
+
+        instance.onPostConstruct();
+
+        assertThat(instance.isEmpty(), is(true));
+        assertThat(instance.getTrafficSensors().isEmpty(), is(true));
+        assertThat(instance.sensorById(3640).isPresent(), is(false));
+        assertThrows(CompletionException.class, () -> instance.refresh().join());
+    }
+
+    private static Path createTempDirectory() {
+        try {
+            return Files.createTempDirectory("sensor-registry");
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create temporary directory", e);
+        }
+    }
+
+}
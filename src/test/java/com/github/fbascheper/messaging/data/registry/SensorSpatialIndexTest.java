@@ -0,0 +1,111 @@
+package com.github.fbascheper.messaging.data.registry;
+
+import com.github.fbascheper.messaging.domain.GeographicCoordinates;
+import com.github.fbascheper.messaging.domain.TestTrafficSensors;
+import com.github.fbascheper.messaging.domain.TrafficSensor;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Test class for {@link SensorSpatialIndex}, which compares its results with a brute-force search.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class SensorSpatialIndexTest {
+
+    Random random = new Random(42);
+    List<TrafficSensor> sensors = randomSensors(4800);
+    SensorSpatialIndex instance = SensorSpatialIndex.of(sensors, 250.0);
+
+    double metresPerDegreeLongitude = 111_320.0 * Math.cos(Math.toRadians(sensors.stream()
+            .mapToDouble(sensor -> sensor.geographicCoordinates().latitude().doubleValue())
+            .average()
+            .orElseThrow()));
+
+    @Test
+    void nearestOnSensorCoordinates() {
+        for (var sensor : sensors) {
+            assertThat(instance.nearest(sensor.geographicCoordinates(), 1.0), is(Optional.of(sensor)));
+        }
+    }
+
+    @Test
+    void nearestMatchesBruteForce() {
+        for (double maxDistance : new double[]{50.0, 500.0, 5_000.0}) {
+            for (int i = 0; i < 2_000; i++) {
+                var coordinates = randomCoordinates();
+
+                assertThat(instance.nearest(coordinates, maxDistance), is(bruteForceNearest(coordinates, maxDistance)));
+            }
+        }
+    }
+
+    @Test
+    void withinMatchesBruteForce() {
+        for (double radius : new double[]{50.0, 500.0, 5_000.0}) {
+            for (int i = 0; i < 500; i++) {
+                var coordinates = randomCoordinates();
+
+                assertThat(instance.within(coordinates, radius), is(bruteForceWithin(coordinates, radius)));
+            }
+        }
+    }
+
+    @Test
+    void emptyIndex() {
+        var empty = SensorSpatialIndex.of(List.of(), 250.0);
+        var coordinates = TestTrafficSensors.coordinates(4.4, 51.2);
+
+        assertThat(empty.nearest(coordinates, 5_000.0), is(Optional.empty()));
+        assertThat(empty.within(coordinates, 5_000.0), is(List.of()));
+    }
+
+    private Optional<TrafficSensor> bruteForceNearest(GeographicCoordinates coordinates, double maxDistance) {
+        return bruteForceWithin(coordinates, maxDistance).stream().findFirst();
+    }
+
+    private List<TrafficSensor> bruteForceWithin(GeographicCoordinates coordinates, double radius) {
+        var result = new ArrayList<TrafficSensor>();
+        for (var sensor : sensors) {
+            if (distanceSquared(coordinates, sensor.geographicCoordinates()) <= radius * radius) {
+                result.add(sensor);
+            }
+        }
+
+        // a stable sort, so sensors at the same distance keep their original order
+        result.sort(Comparator.comparingDouble(sensor -> distanceSquared(coordinates, sensor.geographicCoordinates())));
+        return result;
+    }
+
+    /**
+     * The same equirectangular approximation as the index, around the mean latitude of the sensors.
+     */
+    private double distanceSquared(GeographicCoordinates a, GeographicCoordinates b) {
+        double dx = (a.longitude().doubleValue() * metresPerDegreeLongitude) - (b.longitude().doubleValue() * metresPerDegreeLongitude);
+        double dy = (a.latitude().doubleValue() * 110_574.0) - (b.latitude().doubleValue() * 110_574.0);
+        return dx * dx + dy * dy;
+    }
+
+    private List<TrafficSensor> randomSensors(int count) {
+        var result = new ArrayList<TrafficSensor>(count);
+        for (int id = 1; id <= count; id++) {
+            var coordinates = randomCoordinates();
+            result.add(TestTrafficSensors.sensor(id, coordinates.longitude().doubleValue(), coordinates.latitude().doubleValue()));
+        }
+        return result;
+    }
+
+    private GeographicCoordinates randomCoordinates() {
+        return TestTrafficSensors.coordinates(2.55 + random.nextDouble() * 3.35, 50.70 + random.nextDouble() * 0.80);
+    }
+
+}
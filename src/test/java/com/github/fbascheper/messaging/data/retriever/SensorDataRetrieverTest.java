@@ -1,7 +1,11 @@
 package com.github.fbascheper.messaging.data.retriever;
 
+import com.github.fbascheper.messaging.data.transport.MivHttpTransport;
+import com.github.fbascheper.messaging.data.transport.StubMivServer;
 import org.junit.jupiter.api.Test;
 
+import java.time.Instant;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -15,15 +19,35 @@ import static org.hamcrest.MatcherAssert.assertThat;
 class SensorDataRetrieverTest {
 
     String baseUrl = "http://miv.opendata.belfla.be/miv/configuratie/xml";
-    SensorDataRetriever instance = new SensorDataRetriever(baseUrl);
+    SensorDataRetriever instance = new SensorDataRetriever(baseUrl, new MivHttpTransport());
 
     @Test
     void getSensorData() {
-        instance.onPostConstruct();
-        var sensorData = instance.getTrafficSensors();
+        var sensorData = instance.getSensorConfiguration().trafficSensors();
 
         assertThat(sensorData, notNullValue());
         assertThat(sensorData.isEmpty(), is(false));
 
     }
+
+    @Test
+    void getSensorDataFromStubServer() {
+        try (var server = new StubMivServer().serve("/miv/configuratie/xml", "/miv/configuratie.xml")) {
+            var stubInstance = new SensorDataRetriever(server.url("/miv/configuratie/xml"), new MivHttpTransport());
+            var sensorConfiguration = stubInstance.getSensorConfiguration();
+
+            assertThat(sensorConfiguration.trafficSensors().size(), is(6));
+            assertThat(sensorConfiguration.lastConfigChange().toInstant(), is(Instant.parse("2021-11-05T07:51:19Z")));
+        }
+    }
+
+    @Test
+    void getSensorDataIfModifiedFromStubServer() {
+        try (var server = new StubMivServer().serve("/miv/configuratie/xml", "/miv/configuratie.xml")) {
+            var stubInstance = new SensorDataRetriever(server.url("/miv/configuratie/xml"), new MivHttpTransport());
+
+            assertThat(stubInstance.getSensorConfigurationIfModified().join().isPresent(), is(true));
+            assertThat(stubInstance.getSensorConfigurationIfModified().join().isPresent(), is(false));
+        }
+    }
 }
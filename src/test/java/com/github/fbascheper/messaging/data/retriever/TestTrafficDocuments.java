@@ -0,0 +1,54 @@
+package com.github.fbascheper.messaging.data.retriever;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Synthetic {@code verkeersdata} documents for tests and benchmarks, built from the recorded feed.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class TestTrafficDocuments {
+
+    private static final Pattern MEETPUNTEN = Pattern.compile("(?s)(.*?)(<meetpunt .*</meetpunt>)(.*)");
+    private static final Pattern UNIQUE_ID = Pattern.compile("unieke_id=\"(\\d+)\"");
+
+    private TestTrafficDocuments() {
+    }
+
+    /**
+     * Build a document with copies of the measurement points of the recorded feed, with a unique sensor id per copy.
+     *
+     * @param copies the number of copies
+     * @return the XML of the document
+     */
+    public static byte[] largeDocument(int copies) {
+        String recorded;
+
+        try (var in = TestTrafficDocuments.class.getResourceAsStream("/miv/verkeersdata.xml")) {
+            recorded = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        var parts = MEETPUNTEN.matcher(recorded);
+        if (!parts.matches()) {
+            throw new IllegalStateException("No measurement points found in the recorded feed");
+        }
+
+        var result = new StringBuilder(parts.group(1));
+        for (int copy = 0; copy < copies; copy++) {
+            int offset = copy * 100_000;
+            result.append(UNIQUE_ID.matcher(parts.group(2)).replaceAll(id ->
+                    Matcher.quoteReplacement("unieke_id=\"" + (Integer.parseInt(id.group(1)) + offset) + "\"")));
+        }
+        result.append(parts.group(3));
+
+        return result.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.github.fbascheper.messaging.data.retriever;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the time to parse a large {@code verkeersdata} document, by the number of threads
+ * of the {@link TrafficDataChunkedReader} compared to the single-threaded {@link TrafficDataStreamReader}.
+ * <p>
+ * The document consists of copies of the measurement points of the recorded feed, about the size of the live feed.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TrafficDataChunkedReaderBenchmark {
+
+    private static final int COPIES = 750;
+
+    @Param({"1", "2", "4", "8"})
+    int parallelism;
+
+    byte[] xml;
+    TrafficDataStreamReader streamReader;
+    TrafficDataChunkedReader chunkedReader;
+
+    public static void main(String[] args) throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(TrafficDataChunkedReaderBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() {
+        xml = TestTrafficDocuments.largeDocument(COPIES);
+        streamReader = new TrafficDataStreamReader();
+        chunkedReader = new TrafficDataChunkedReader(parallelism);
+    }
+
+    @Benchmark
+    public int streamReader(Blackhole blackhole) {
+        return streamReader.read(new ByteArrayInputStream(xml), blackhole::consume);
+    }
+
+    @Benchmark
+    public int chunkedReader(Blackhole blackhole) {
+        return chunkedReader.read(new ByteArrayInputStream(xml), publicationTime -> true, blackhole::consume).orElseThrow();
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.github.fbascheper.messaging.data.retriever;
+
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.OptionalInt;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Test class for {@link TrafficDataChunkedReader}.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class TrafficDataChunkedReaderTest {
+
+    byte[] xml = TestTrafficDocuments.largeDocument(50);
+
+    @Test
+    void chunksYieldTheEventsOfTheStreamReaderInDocumentOrder() {
+        var expected = new ArrayList<TrafficEvent>();
+        new TrafficDataStreamReader().read(new ByteArrayInputStream(xml), expected::add);
+
+        // small chunks, so the document is split into many of them
+        var instance = new TrafficDataChunkedReader(4, 1024);
+        var result = new ArrayList<TrafficEvent>();
+
+        var count = instance.read(new ByteArrayInputStream(xml), publicationTime -> true, result::add);
+
+        assertThat(expected.size(), is(50 * 30));
+        assertThat(count, is(OptionalInt.of(expected.size())));
+        assertThat(result, is(expected));
+    }
+
+    @Test
+    void rejectedPublicationIsNotSplit() {
+        var instance = new TrafficDataChunkedReader(4, 1024);
+        var result = new ArrayList<TrafficEvent>();
+
+        var count = instance.read(new ByteArrayInputStream(xml), publicationTime -> false, result::add);
+
+        assertThat(count, is(OptionalInt.empty()));
+        assertThat(result, is(List.of()));
+    }
+
+}
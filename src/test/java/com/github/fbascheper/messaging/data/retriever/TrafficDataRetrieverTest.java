@@ -1,7 +1,14 @@
 package com.github.fbascheper.messaging.data.retriever;
 
+import com.github.fbascheper.messaging.data.transport.MivHttpTransport;
+import com.github.fbascheper.messaging.data.transport.StubMivServer;
+import com.github.fbascheper.messaging.domain.TrafficEvent;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -15,7 +22,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 class TrafficDataRetrieverTest {
 
     String baseUrl = "http://miv.opendata.belfla.be/miv/verkeersdata";
-    TrafficDataRetriever instance = new TrafficDataRetriever(baseUrl);
+    TrafficDataRetriever instance = new TrafficDataRetriever(baseUrl, TrafficDataParserMode.STAX, new MivHttpTransport());
 
     @Test
     void getTrafficEvents() {
@@ -25,4 +32,62 @@ class TrafficDataRetrieverTest {
         assertThat(trafficEvents.isEmpty(), is(false));
 
     }
+
+    @Test
+    void staxAndJaxbParsersYieldIdenticalEvents() throws IOException {
+        var staxEvents = readTrafficEvents(TrafficDataParserMode.STAX);
+        var jaxbEvents = readTrafficEvents(TrafficDataParserMode.JAXB);
+
+        assertThat(staxEvents.size(), is(30));
+        assertThat(staxEvents, is(jaxbEvents));
+    }
+
+    @Test
+    void staxAndParallelParsersYieldIdenticalEvents() throws IOException {
+        var staxEvents = readTrafficEvents(TrafficDataParserMode.STAX);
+        var parallelEvents = readTrafficEvents(TrafficDataParserMode.PARALLEL);
+
+        assertThat(parallelEvents, is(staxEvents));
+    }
+
+    @Test
+    void skipUnmodifiedSnapshot() {
+        try (var server = new StubMivServer().serve("/miv/verkeersdata", "/miv/verkeersdata.xml")) {
+            var retriever = new TrafficDataRetriever(server.url("/miv/verkeersdata"), TrafficDataParserMode.STAX, new MivHttpTransport());
+
+            assertThat(retriever.getTrafficEvents().size(), is(30));
+            assertThat(retriever.getTrafficEvents().size(), is(0));
+
+            assertThat(server.exchanges().get(1).getRequestHeaders().containsKey("If-None-Match"), is(true));
+            assertThat(retriever.getProcessedSnapshotCount(), is(1L));
+            assertThat(retriever.getSkippedSnapshotCount(), is(1L));
+        }
+    }
+
+    @Test
+    void skipSnapshotWithSamePublicationTime() {
+        try (var server = new StubMivServer().withoutConditionalRequests().serve("/miv/verkeersdata", "/miv/verkeersdata.xml")) {
+            for (var parserMode : TrafficDataParserMode.values()) {
+                var retriever = new TrafficDataRetriever(server.url("/miv/verkeersdata"), parserMode, new MivHttpTransport());
+
+                assertThat(retriever.getTrafficEvents().size(), is(30));
+                assertThat(retriever.getTrafficEvents().size(), is(0));
+
+                assertThat(retriever.getProcessedSnapshotCount(), is(1L));
+                assertThat(retriever.getSkippedSnapshotCount(), is(1L));
+            }
+        }
+    }
+
+    private List<TrafficEvent> readTrafficEvents(TrafficDataParserMode parserMode) throws IOException {
+        var retriever = new TrafficDataRetriever(baseUrl, parserMode, new MivHttpTransport());
+        var result = new ArrayList<TrafficEvent>();
+
+        try (var xml = getClass().getResourceAsStream("/miv/verkeersdata.xml")) {
+            int count = retriever.readTrafficEvents(xml, result::add).orElseThrow();
+            assertThat(count, is(result.size()));
+        }
+
+        return result;
+    }
 }
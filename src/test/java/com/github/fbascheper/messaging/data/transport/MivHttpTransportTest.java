@@ -0,0 +1,58 @@
+package com.github.fbascheper.messaging.data.transport;
+
+import com.github.fbascheper.messaging.data.retriever.TrafficDataParserMode;
+import com.github.fbascheper.messaging.data.retriever.TrafficDataRetriever;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.startsWith;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Test class for {@link MivHttpTransport}, using a local stub HTTP server.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class MivHttpTransportTest {
+
+    StubMivServer server = new StubMivServer()
+            .serve("/miv/verkeersdata", "/miv/verkeersdata.xml");
+
+    MivHttpTransport instance = new MivHttpTransport();
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void getAsyncRequestsAndDecodesCompressedBody() {
+        var xml = instance.getAsync(server.url("/miv/verkeersdata")
+                , body -> new String(readAll(body), StandardCharsets.UTF_8)).join();
+
+        assertThat(xml, startsWith("<?xml"));
+        assertThat(server.exchanges().get(0).getRequestHeaders().getFirst("Accept-Encoding"), is("gzip, deflate"));
+    }
+
+    @Test
+    void trafficDataRetrieverReadsFromStubServer() {
+        var retriever = new TrafficDataRetriever(server.url("/miv/verkeersdata"), TrafficDataParserMode.STAX, instance);
+
+        assertThat(retriever.getTrafficEvents().size(), is(30));
+    }
+
+    private static byte[] readAll(InputStream body) {
+        try {
+            return body.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.github.fbascheper.messaging.data.transport;
+
+import com.github.fbascheper.messaging.data.retriever.TrafficDataParserMode;
+import com.github.fbascheper.messaging.data.retriever.TrafficDataRetriever;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for {@link RecordingMivFeedSource} and {@link ReplayMivFeedSource}, recording the payloads
+ * of a local stub HTTP server.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class ReplayMivFeedSourceTest {
+
+    private static final String CONFIGURATION_PATH = "/miv/configuratie/xml";
+    private static final String TRAFFIC_DATA_PATH = "/miv/verkeersdata";
+
+    Path archiveDirectory = createTempDirectory();
+
+    StubMivServer server = new StubMivServer()
+            .serve(CONFIGURATION_PATH, "/miv/configuratie.xml")
+            .serve(TRAFFIC_DATA_PATH, "/miv/verkeersdata.xml");
+
+    MutableClock clock = new MutableClock(Instant.parse("2021-11-07T14:00:00Z"));
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void replayFollowsTheRecordedTimeWithSpeedUp() {
+        var recorder = new RecordingMivFeedSource(new MivHttpTransport(), archiveDirectory, clock);
+        var url = server.url(CONFIGURATION_PATH);
+
+        var first = recorder.getAsync(url, ReplayMivFeedSourceTest::readString).join();
+
+        server.serve(CONFIGURATION_PATH, "/miv/configuratie-gewijzigd.xml");
+        clock.advance(Duration.ofMinutes(1));
+        var second = recorder.getAsyncIfModified(url, ReplayMivFeedSourceTest::readString).join().orElseThrow();
+
+        // a replay of one minute of recorded time per second
+        var instance = new ReplayMivFeedSource(archiveDirectory, 60.0, clock);
+
+        assertThat(instance.getAsyncIfModified(url, ReplayMivFeedSourceTest::readString).join(), is(Optional.of(first)));
+
+        clock.advance(Duration.ofMillis(500));
+        assertThat(instance.getAsyncIfModified(url, ReplayMivFeedSourceTest::readString).join(), is(Optional.empty()));
+
+        clock.advance(Duration.ofMillis(500));
+        assertThat(instance.getAsyncIfModified(url, ReplayMivFeedSourceTest::readString).join(), is(Optional.of(second)));
+
+        // the end of the archive has been reached
+        clock.advance(Duration.ofHours(1));
+        assertThat(instance.getAsyncIfModified(url, ReplayMivFeedSourceTest::readString).join(), is(Optional.empty()));
+        assertThat(instance.getAsync(url, ReplayMivFeedSourceTest::readString).join(), is(second));
+    }
+
+    @Test
+    void recordingContainsTheCompleteDocumentWhenOnlyPartlyRead() {
+        var recorder = new RecordingMivFeedSource(new MivHttpTransport(), archiveDirectory, clock);
+        var url = server.url(TRAFFIC_DATA_PATH);
+
+        // the streaming parser may stop reading before the end of the document
+        recorder.getAsync(url, body -> readBytes(body, 16)).join();
+
+        var retriever = new TrafficDataRetriever(url, TrafficDataParserMode.STAX, new ReplayMivFeedSource(archiveDirectory, 1.0, clock));
+        assertThat(retriever.getTrafficEvents().size(), is(30));
+    }
+
+    @Test
+    void replayWithoutRecordedDocumentsFails() {
+        var instance = new ReplayMivFeedSource(archiveDirectory, 1.0, clock);
+
+        var exception = assertThrows(CompletionException.class
+                , () -> instance.getAsync(server.url(TRAFFIC_DATA_PATH), ReplayMivFeedSourceTest::readString).join());
+
+        assertThat(exception.getCause().getMessage(), containsString("No recorded documents"));
+    }
+
+    private static Path createTempDirectory() {
+        try {
+            return Files.createTempDirectory("miv-archive");
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not create temporary directory", e);
+        }
+    }
+
+    private static String readString(InputStream body) {
+        try {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] readBytes(InputStream body, int length) {
+        try {
+            return body.readNBytes(length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Clock which only moves when it is advanced.
+     */
+    private static class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void advance(Duration duration) {
+            this.instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
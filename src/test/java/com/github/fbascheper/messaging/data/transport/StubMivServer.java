@@ -0,0 +1,133 @@
+package com.github.fbascheper.messaging.data.transport;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Local stub HTTP server, serving recorded MIV payloads from the test resources.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class StubMivServer implements AutoCloseable {
+
+    private final HttpServer httpServer;
+    private final List<HttpExchange> exchanges = new CopyOnWriteArrayList<>();
+    private final Map<String, String> resources = new ConcurrentHashMap<>();
+
+    private boolean conditionalRequests = true;
+
+    public StubMivServer() {
+        try {
+            this.httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.httpServer.start();
+    }
+
+    /**
+     * Ignore the {@code If-None-Match} header, like a server without support for conditional requests.
+     *
+     * @return this stub server
+     */
+    public StubMivServer withoutConditionalRequests() {
+        this.conditionalRequests = false;
+        return this;
+    }
+
+    /**
+     * Serve a recorded payload from the classpath at the given path, compressed as requested by the client.
+     * Serving another payload at the same path replaces the previous one.
+     *
+     * @param path     path of the URL
+     * @param resource classpath resource containing the payload
+     * @return this stub server
+     */
+    public StubMivServer serve(String path, String resource) {
+        if (resources.put(path, resource) != null) {
+            return this;
+        }
+
+        httpServer.createContext(path, exchange -> {
+            exchanges.add(exchange);
+
+            var payload = readResource(resources.get(path));
+            var eTag = "\"" + Integer.toHexString(Arrays.hashCode(payload)) + "\"";
+
+            if (conditionalRequests) {
+                exchange.getResponseHeaders().set("ETag", eTag);
+
+                if (eTag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    exchange.sendResponseHeaders(304, -1);
+                    exchange.close();
+                    return;
+                }
+            }
+
+            var acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+                payload = compress(payload, true);
+            } else if (acceptEncoding != null && acceptEncoding.contains("deflate")) {
+                exchange.getResponseHeaders().set("Content-Encoding", "deflate");
+                payload = compress(payload, false);
+            }
+
+            exchange.getResponseHeaders().set("Content-Type", "application/xml");
+            exchange.sendResponseHeaders(200, payload.length);
+            try (var body = exchange.getResponseBody()) {
+                body.write(payload);
+            }
+        });
+
+        return this;
+    }
+
+    public String url(String path) {
+        return "http://localhost:" + httpServer.getAddress().getPort() + path;
+    }
+
+    public List<HttpExchange> exchanges() {
+        return exchanges;
+    }
+
+    @Override
+    public void close() {
+        httpServer.stop(0);
+    }
+
+    private static byte[] readResource(String resource) throws IOException {
+        try (var in = StubMivServer.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("Unknown resource " + resource);
+            }
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] compress(byte[] payload, boolean gzip) throws IOException {
+        var result = new ByteArrayOutputStream();
+
+        try (OutputStream out = gzip ? new GZIPOutputStream(result) : new DeflaterOutputStream(result)) {
+            out.write(payload);
+        }
+
+        return result.toByteArray();
+    }
+}
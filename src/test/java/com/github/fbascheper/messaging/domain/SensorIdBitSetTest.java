@@ -0,0 +1,49 @@
+package com.github.fbascheper.messaging.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Unit test of the {@link SensorIdBitSet}.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class SensorIdBitSetTest {
+
+    private final SensorIdBitSet route = SensorIdBitSet.of(TestTrafficSensors.sensors(300).subList(199, 260));
+
+    @Test
+    void intersectOnlyCommonSensorIds() {
+        var hotspots = SensorIdBitSet.empty().with(Map.of(10, true, 199, true));
+
+        assertThat(route.contains(200), is(true));
+        assertThat(route.contains(199), is(false));
+        assertThat(route.maxSensorId(), is(260));
+        assertThat(route.intersects(hotspots), is(false));
+
+        var moreHotspots = hotspots.with(Map.of(260, true, 10, false));
+        assertThat(route.intersects(moreHotspots), is(true));
+        assertThat(moreHotspots.intersects(route), is(true));
+        assertThat(moreHotspots.contains(10), is(false));
+        assertThat(moreHotspots.maxSensorId(), is(260));
+
+        assertThat(route.intersects(SensorIdBitSet.empty()), is(false));
+        assertThat(SensorIdBitSet.empty().maxSensorId(), is(-1));
+    }
+
+    @Test
+    void equalSetsSpanningOtherWords() {
+        var changed = SensorIdBitSet.empty().with(Map.of(200, true, 201, true, 1000, true, 1000 - 1, false)).with(Map.of(1000, false));
+        var sensors = TestTrafficSensors.sensors(201).subList(199, 201);
+
+        assertThat(changed, is(SensorIdBitSet.of(sensors)));
+        assertThat(changed.hashCode(), is(SensorIdBitSet.of(sensors).hashCode()));
+        assertThat(changed.toString(), is("SensorIdBitSet[200, 201]"));
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.github.fbascheper.messaging.domain;
+
+import java.time.ZonedDateTime;
+
+/**
+ * Synthetic {@link TrafficEvent}s for tests and benchmarks, of the sensors created by {@link TestTrafficSensors}.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class TestTrafficEvents {
+
+    /**
+     * The time of registration of the events at minute zero.
+     */
+    public static final ZonedDateTime START = ZonedDateTime.parse("2021-11-07T14:00:00Z");
+
+    private static final int VEHICLE_COUNT = 12;
+    private static final int HOTSPOT_SPEED = 30;
+
+    private TestTrafficEvents() {
+    }
+
+    /**
+     * @param sensorId the id of the sensor
+     * @return a hotspot of cars at the sensor, registered at {@link #START}
+     */
+    public static TrafficEvent hotspot(int sensorId) {
+        return event(sensorId, VehicleClass.CAR, 0);
+    }
+
+    /**
+     * @param sensorId     the id of the sensor
+     * @param vehicleClass the vehicle class
+     * @param minute       the minutes after {@link #START} at which the event is registered
+     * @return a hotspot of the vehicle class at the sensor
+     */
+    public static TrafficEvent event(int sensorId, VehicleClass vehicleClass, int minute) {
+        return event(sensorId, vehicleClass, minute, VEHICLE_COUNT, HOTSPOT_SPEED);
+    }
+
+    /**
+     * @param sensorId     the id of the sensor
+     * @param vehicleClass the vehicle class
+     * @param minute       the minutes after {@link #START} at which the event is registered
+     * @param vehicleCount the number of vehicles
+     * @param speed        both the average and the harmonic speed of the vehicles
+     * @return an event of the vehicle class at the sensor
+     */
+    public static TrafficEvent event(int sensorId, VehicleClass vehicleClass, int minute, int vehicleCount, int speed) {
+        var timeRegistration = START.plusMinutes(minute);
+        return new TrafficEvent(timeRegistration, sensorId, "H" + sensorId + "L10", true, true, timeRegistration
+                , vehicleClass, vehicleCount, speed, speed);
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.github.fbascheper.messaging.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Synthetic {@link TrafficSensor}s for tests and benchmarks, spread over a grid covering Flanders.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+public class TestTrafficSensors {
+
+    private static final double MIN_LONGITUDE = 2.55;
+    private static final double MAX_LONGITUDE = 5.90;
+    private static final double MIN_LATITUDE = 50.70;
+    private static final double MAX_LATITUDE = 51.50;
+
+    private TestTrafficSensors() {
+    }
+
+    /**
+     * Create sensors with the ids {@code 1..count}.
+     *
+     * @param count the number of sensors
+     * @return the sensors
+     */
+    public static List<TrafficSensor> sensors(int count) {
+        var result = new ArrayList<TrafficSensor>(count);
+
+        int columns = (int) Math.ceil(Math.sqrt(count));
+        for (int id = 1; id <= count; id++) {
+            int column = (id - 1) % columns;
+            int row = (id - 1) / columns;
+
+            var longitude = MIN_LONGITUDE + (MAX_LONGITUDE - MIN_LONGITUDE) * column / columns;
+            var latitude = MIN_LATITUDE + (MAX_LATITUDE - MIN_LATITUDE) * row / columns;
+
+            result.add(sensor(id, longitude, latitude));
+        }
+
+        return result;
+    }
+
+    public static TrafficSensor sensor(int id, double longitude, double latitude) {
+        return new TrafficSensor(id, "H" + id + "L10", "Sensor " + id, "E40", "R10"
+                , coordinates(longitude, latitude));
+    }
+
+    public static GeographicCoordinates coordinates(double longitude, double latitude) {
+        return new GeographicCoordinates(
+                BigDecimal.valueOf(longitude).setScale(6, RoundingMode.HALF_UP)
+                , BigDecimal.valueOf(latitude).setScale(6, RoundingMode.HALF_UP));
+    }
+}
@@ -2,6 +2,7 @@ package com.github.fbascheper.messaging.domain;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.fbascheper.messaging.config.KafkaConfiguration;
+import com.github.fbascheper.messaging.serialization.TrafficEventWireFormat;
 import org.junit.jupiter.api.Test;
 
 import java.io.IOException;
@@ -28,7 +29,7 @@ class TrafficEventTest {
 
     String serializedTrafficEvent = "{\"timeRegistration\":\"2021-09-15T23:48:20Z\",\"sensorId\":2500,\"sensorDescriptiveId\":\"description\",\"sensorAvailable\":true,\"sensorDataRecent\":true,\"sensorLastTimeOfDataUpdate\":\"2021-10-15T23:48:20Z\",\"vehicleClass\":\"CAR\",\"vehicleCount\":25,\"vehicleAverageSpeed\":50,\"vehicleHarmonicSpeed\":52}";
 
-    ObjectMapper objectMapper = new KafkaConfiguration(null).getObjectMapper();
+    ObjectMapper objectMapper = new KafkaConfiguration(null, TrafficEventWireFormat.JSON).getObjectMapper();
 
 
     @Test
@@ -0,0 +1,142 @@
+package com.github.fbascheper.messaging.serialization;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fbascheper.messaging.config.KafkaConfiguration;
+import com.github.fbascheper.messaging.domain.GeographicCoordinates;
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+import com.github.fbascheper.messaging.domain.VehicleRouteChangeEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the {@link JsonCodec}s compared to the object mapper of the {@link KafkaConfiguration},
+ * per traffic event or per vehicle route change event with a route of 50 coordinates.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class JsonCodecBenchmark {
+
+    private static final int EVENTS = 30;
+    private static final int ROUTE_LENGTH = 50;
+
+    ObjectMapper objectMapper;
+    TrafficEventJsonCodec trafficEventCodec;
+    VehicleRouteChangeEventJsonCodec routeChangeEventCodec;
+
+    List<TrafficEvent> trafficEvents;
+    List<byte[]> trafficEventsJson;
+    VehicleRouteChangeEvent routeChangeEvent;
+    byte[] routeChangeEventJson;
+
+    public static void main(String[] args) throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(JsonCodecBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = new KafkaConfiguration(null, TrafficEventWireFormat.JSON).getObjectMapper();
+        trafficEventCodec = new TrafficEventJsonCodec();
+        routeChangeEventCodec = new VehicleRouteChangeEventJsonCodec();
+
+        trafficEvents = TrafficEventWireFormatBenchmark.recordedEvents();
+        trafficEventsJson = new ArrayList<>();
+        for (var event : trafficEvents) {
+            trafficEventsJson.add(objectMapper.writeValueAsBytes(event));
+        }
+
+        var route = new ArrayList<GeographicCoordinates>();
+        for (int i = 0; i < ROUTE_LENGTH; i++) {
+            route.add(new GeographicCoordinates(new BigDecimal("4.30815").add(BigDecimal.valueOf(i, 4))
+                    , new BigDecimal("50.866871").add(BigDecimal.valueOf(i, 5))));
+        }
+        routeChangeEvent = new VehicleRouteChangeEvent("vehicle-1", VehicleClass.CAR, route);
+        routeChangeEventJson = objectMapper.writeValueAsBytes(routeChangeEvent);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void writeTrafficEventWithObjectMapper(Blackhole blackhole) throws JsonProcessingException {
+        for (var event : trafficEvents) {
+            blackhole.consume(objectMapper.writeValueAsBytes(event));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void writeTrafficEventWithCodec(Blackhole blackhole) {
+        for (var event : trafficEvents) {
+            blackhole.consume(trafficEventCodec.toBytes(event));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void readTrafficEventWithObjectMapper(Blackhole blackhole) throws IOException {
+        for (var json : trafficEventsJson) {
+            blackhole.consume(objectMapper.readValue(json, TrafficEvent.class));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void readTrafficEventWithCodec(Blackhole blackhole) {
+        for (var json : trafficEventsJson) {
+            blackhole.consume(trafficEventCodec.fromBytes(json));
+        }
+    }
+
+    @Benchmark
+    public byte[] writeRouteChangeEventWithObjectMapper() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(routeChangeEvent);
+    }
+
+    @Benchmark
+    public byte[] writeRouteChangeEventWithCodec() {
+        return routeChangeEventCodec.toBytes(routeChangeEvent);
+    }
+
+    @Benchmark
+    public VehicleRouteChangeEvent readRouteChangeEventWithObjectMapper() throws IOException {
+        return objectMapper.readValue(routeChangeEventJson, VehicleRouteChangeEvent.class);
+    }
+
+    @Benchmark
+    public VehicleRouteChangeEvent readRouteChangeEventWithCodec() {
+        return routeChangeEventCodec.fromBytes(routeChangeEventJson);
+    }
+
+}
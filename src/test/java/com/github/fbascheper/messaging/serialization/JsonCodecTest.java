@@ -0,0 +1,118 @@
+package com.github.fbascheper.messaging.serialization;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.fbascheper.messaging.config.KafkaConfiguration;
+import com.github.fbascheper.messaging.domain.GeographicCoordinates;
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+import com.github.fbascheper.messaging.domain.VehicleRouteChangeAdvice;
+import com.github.fbascheper.messaging.domain.VehicleRouteChangeEvent;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.converter.AbstractJavaTypeMapper;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Test class for the {@link JsonCodec}s, which should write the same JSON as the object mapper
+ * of the {@link KafkaConfiguration}, and read it into the same records.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class JsonCodecTest {
+
+    ObjectMapper objectMapper = new KafkaConfiguration(null, TrafficEventWireFormat.JSON).getObjectMapper();
+
+    @Test
+    void trafficEventsAreWrittenAndReadLikeTheObjectMapper() throws IOException {
+        var events = new ArrayList<>(TrafficEventWireFormatBenchmark.recordedEvents());
+
+        var dateTime = ZonedDateTime.of(2021, 11, 7, 15, 1, 0, 47_000_000, ZoneId.of("Europe/Brussels"));
+        events.add(new TrafficEvent(dateTime, 2500, "\"quoted\" \u00e9\u20ac\t", true, false
+                , dateTime.withZoneSameInstant(ZoneId.of("UTC")), VehicleClass.TRUCK_OR_BUS, 25, 50, 52));
+        events.add(new TrafficEvent(null, null, null, false, false, null, null, 0, 0, 0));
+
+        assertWrittenAndReadLikeTheObjectMapper(new TrafficEventJsonCodec(), events);
+    }
+
+    @Test
+    void vehicleRouteChangeEventsAreWrittenAndReadLikeTheObjectMapper() throws IOException {
+        var route = List.of(
+                new GeographicCoordinates(new BigDecimal("4.30815"), new BigDecimal("50.866871"))
+                , new GeographicCoordinates(new BigDecimal("1E+3"), new BigDecimal("-0.000100"))
+                , new GeographicCoordinates(null, BigDecimal.ZERO));
+
+        assertWrittenAndReadLikeTheObjectMapper(new VehicleRouteChangeEventJsonCodec(), List.of(
+                new VehicleRouteChangeEvent("vehicle-1", VehicleClass.CAR, route)
+                , new VehicleRouteChangeEvent("vehicle-2", null, List.of())
+                , new VehicleRouteChangeEvent(null, VehicleClass.UNKNOWN, null)));
+    }
+
+    @Test
+    void vehicleRouteChangeAdvicesAreWrittenAndReadLikeTheObjectMapper() throws IOException {
+        assertWrittenAndReadLikeTheObjectMapper(new VehicleRouteChangeAdviceJsonCodec(), List.of(
+                new VehicleRouteChangeAdvice("vehicle-1", "Take the \"exit\" to Gent \u2192", 42L)
+                , new VehicleRouteChangeAdvice(null, null, 0L)));
+    }
+
+    @Test
+    void readerSkipsUnknownFieldsInAnyOrder() {
+        var json = "{\"vehicleHarmonicSpeed\":52,\"unknown\":{\"nested\":[1,2]},\"sensorId\":2500,\"vehicleClass\":\"CAR\"}";
+
+        var event = new TrafficEventJsonCodec().fromBytes(json.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(event, is(new TrafficEvent(null, 2500, null, false, false, null, VehicleClass.CAR, 0, 0, 52)));
+    }
+
+    @Test
+    void serializerKeepsTheTypeHeaderAndDeserializerIgnoresIt() {
+        var advice = new VehicleRouteChangeAdvice("vehicle-1", "Keep going", 1L);
+        var serializer = new JsonCodecSerializer(List.of(new VehicleRouteChangeAdviceJsonCodec()), new JsonSerializer<>(objectMapper));
+
+        var headers = new RecordHeaders();
+        var data = serializer.serialize("advice", headers, advice);
+
+        var typeHeader = headers.lastHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME);
+        assertThat(new String(typeHeader.value(), StandardCharsets.UTF_8), is(VehicleRouteChangeAdvice.class.getName()));
+
+        // a JSON deserializer resolving the type header still reads the record
+        var jsonDeserializer = new JsonDeserializer<>(objectMapper);
+        jsonDeserializer.addTrustedPackages("com.github.fbascheper.*");
+        assertThat(jsonDeserializer.deserialize("advice", copyOf(headers), data), is(advice));
+
+        // the typed deserializer reads the record without any headers
+        var deserializer = new JsonCodecDeserializer(Map.of("advice", new VehicleRouteChangeAdviceJsonCodec()), jsonDeserializer);
+        var noHeaders = new RecordHeaders();
+        assertThat(deserializer.deserialize("advice", noHeaders, data), is(advice));
+        assertThat(noHeaders.lastHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME), nullValue());
+    }
+
+    private <T> void assertWrittenAndReadLikeTheObjectMapper(JsonCodec<T> codec, List<T> values) throws IOException {
+        for (var value : values) {
+            var expected = objectMapper.writeValueAsString(value);
+            var json = codec.toBytes(value);
+
+            assertThat(new String(json, StandardCharsets.UTF_8), is(expected));
+            assertThat(codec.fromBytes(json), is(objectMapper.readValue(json, codec.type())));
+        }
+    }
+
+    private static RecordHeaders copyOf(RecordHeaders headers) {
+        return new RecordHeaders(headers.toArray());
+    }
+
+}
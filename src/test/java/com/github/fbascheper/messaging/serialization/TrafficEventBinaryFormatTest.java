@@ -0,0 +1,108 @@
+package com.github.fbascheper.messaging.serialization;
+
+import com.github.fbascheper.messaging.config.KafkaConfiguration;
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for {@link TrafficEventBinaryFormat} and the selection of the {@link TrafficEventWireFormat}
+ * by the record header.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class TrafficEventBinaryFormatTest {
+
+    private static final String TOPIC = "traffic-event";
+
+    JsonSerializer<Object> jsonSerializer = new JsonSerializer<>(new KafkaConfiguration(null, TrafficEventWireFormat.JSON).getObjectMapper());
+
+    @Test
+    void recordedEventsRoundTripInFewerBytes() {
+        for (var event : TrafficEventWireFormatBenchmark.recordedEvents()) {
+            var binary = TrafficEventBinaryFormat.write(event);
+
+            assertThat(TrafficEventBinaryFormat.read(binary), is(withOffsets(event)));
+            assertThat(binary.length, lessThan(60));
+            assertThat(binary.length * 5, lessThan(jsonSerializer.serialize(TOPIC, event).length));
+        }
+    }
+
+    @Test
+    void nullFieldsRoundTrip() {
+        var event = new TrafficEvent(null, null, null, false, true, null, null, 0, 252, 254);
+
+        assertThat(TrafficEventBinaryFormat.read(TrafficEventBinaryFormat.write(event)), is(event));
+    }
+
+    @Test
+    void truncatedEventIsRejected() {
+        var binary = TrafficEventBinaryFormat.write(TrafficEventWireFormatBenchmark.recordedEvents().get(0));
+        var truncated = Arrays.copyOf(binary, binary.length - 1);
+
+        assertThrows(IllegalStateException.class, () -> TrafficEventBinaryFormat.read(truncated));
+    }
+
+    @Test
+    void headerSelectsTheFormat() {
+        var event = TrafficEventWireFormatBenchmark.recordedEvents().get(0);
+
+        var jsonDeserializer = new JsonDeserializer<>(new KafkaConfiguration(null, TrafficEventWireFormat.JSON).getObjectMapper());
+        jsonDeserializer.addTrustedPackages("com.github.fbascheper.*");
+        var deserializer = new WireFormatDeserializer(jsonDeserializer);
+
+        var binaryHeaders = new RecordHeaders();
+        var binary = new WireFormatSerializer(jsonSerializer, TrafficEventWireFormat.BINARY).serialize(TOPIC, binaryHeaders, event);
+
+        var jsonHeaders = new RecordHeaders();
+        var json = new WireFormatSerializer(jsonSerializer, TrafficEventWireFormat.JSON).serialize(TOPIC, jsonHeaders, event);
+
+        assertThat(binaryHeaders.lastHeader(TrafficEventWireFormat.HEADER), notNullValue());
+        assertThat(jsonHeaders.lastHeader(TrafficEventWireFormat.HEADER), nullValue());
+
+        assertThat(deserializer.deserialize(TOPIC, binaryHeaders, binary), is(withOffsets(event)));
+        assertThat(((TrafficEvent) deserializer.deserialize(TOPIC, jsonHeaders, json)).timeRegistration().isEqual(event.timeRegistration()), is(true));
+    }
+
+    @Test
+    void unreadableRecordIsSkipped() {
+        var deserializer = new WireFormatDeserializer(new JsonDeserializer<>());
+        var binary = TrafficEventBinaryFormat.write(TrafficEventWireFormatBenchmark.recordedEvents().get(0));
+
+        var bogusHeaders = new RecordHeaders();
+        bogusHeaders.add(TrafficEventWireFormat.HEADER, "PROTOBUF".getBytes(StandardCharsets.US_ASCII));
+
+        var binaryHeaders = new RecordHeaders();
+        binaryHeaders.add(TrafficEventWireFormat.HEADER, TrafficEventWireFormat.BINARY.headerValue());
+
+        assertThat(TrafficEventWireFormat.ofHeaderValue("PROTOBUF".getBytes(StandardCharsets.US_ASCII)), nullValue());
+        assertThat(deserializer.deserialize(TOPIC, bogusHeaders, binary), nullValue());
+        assertThat(deserializer.deserialize(TOPIC, binaryHeaders, Arrays.copyOf(binary, binary.length - 1)), nullValue());
+        assertThat(deserializer.getUnreadableRecordCount(), is(2L));
+    }
+
+    private static TrafficEvent withOffsets(TrafficEvent event) {
+        return new TrafficEvent(withOffset(event.timeRegistration()), event.sensorId(), event.sensorDescriptiveId()
+                , event.sensorAvailable(), event.sensorDataRecent(), withOffset(event.sensorLastTimeOfDataUpdate())
+                , event.vehicleClass(), event.vehicleCount(), event.vehicleAverageSpeed(), event.vehicleHarmonicSpeed());
+    }
+
+    private static ZonedDateTime withOffset(ZonedDateTime dateTime) {
+        return dateTime.withZoneSameInstant(dateTime.getOffset());
+    }
+
+}
@@ -0,0 +1,162 @@
+package com.github.fbascheper.messaging.serialization;
+
+import com.github.fbascheper.messaging.config.KafkaConfiguration;
+import com.github.fbascheper.messaging.data.retriever.TrafficDataStreamReader;
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the serialization of the traffic events in each {@link TrafficEventWireFormat}, per event.
+ * The {@link #main(String[])} method prints the average size of a serialized event in each format first.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TrafficEventWireFormatBenchmark {
+
+    private static final String TOPIC = "traffic-event";
+    private static final int EVENTS = 30;
+
+    List<TrafficEvent> events;
+    WireFormatSerializer jsonSerializer;
+    WireFormatSerializer binarySerializer;
+    WireFormatDeserializer deserializer;
+
+    List<byte[]> json;
+    List<byte[]> binary;
+    List<RecordHeaders> jsonHeaders;
+    List<RecordHeaders> binaryHeaders;
+
+    public static void main(String[] args) throws RunnerException {
+        var benchmark = new TrafficEventWireFormatBenchmark();
+        benchmark.setUp();
+
+        for (var format : TrafficEventWireFormat.values()) {
+            var serialized = format == TrafficEventWireFormat.JSON ? benchmark.json : benchmark.binary;
+            System.out.printf("%s: %.1f bytes per event%n"
+                    , format, serialized.stream().mapToInt(data -> data.length).average().orElse(0));
+        }
+
+        var options = new OptionsBuilder()
+                .include(TrafficEventWireFormatBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() {
+        events = recordedEvents();
+
+        var objectMapper = new KafkaConfiguration(null, TrafficEventWireFormat.JSON).getObjectMapper();
+        jsonSerializer = new WireFormatSerializer(new JsonSerializer<>(objectMapper), TrafficEventWireFormat.JSON);
+        binarySerializer = new WireFormatSerializer(new JsonSerializer<>(objectMapper), TrafficEventWireFormat.BINARY);
+
+        var jsonDeserializer = new JsonDeserializer<>(objectMapper);
+        jsonDeserializer.addTrustedPackages("com.github.fbascheper.*");
+        deserializer = new WireFormatDeserializer(jsonDeserializer);
+
+        json = new ArrayList<>();
+        binary = new ArrayList<>();
+        jsonHeaders = new ArrayList<>();
+        binaryHeaders = new ArrayList<>();
+
+        for (var event : events) {
+            var headers = new RecordHeaders();
+            json.add(jsonSerializer.serialize(TOPIC, headers, event));
+            jsonHeaders.add(headers);
+
+            headers = new RecordHeaders();
+            binary.add(binarySerializer.serialize(TOPIC, headers, event));
+            binaryHeaders.add(headers);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void serializeJson(Blackhole blackhole) {
+        for (var event : events) {
+            blackhole.consume(jsonSerializer.serialize(TOPIC, new RecordHeaders(), event));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void serializeBinary(Blackhole blackhole) {
+        for (var event : events) {
+            blackhole.consume(binarySerializer.serialize(TOPIC, new RecordHeaders(), event));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void deserializeJson(Blackhole blackhole) {
+        for (int i = 0; i < EVENTS; i++) {
+            blackhole.consume(deserializer.deserialize(TOPIC, copyOf(jsonHeaders.get(i)), json.get(i)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void deserializeBinary(Blackhole blackhole) {
+        for (int i = 0; i < EVENTS; i++) {
+            blackhole.consume(deserializer.deserialize(TOPIC, copyOf(binaryHeaders.get(i)), binary.get(i)));
+        }
+    }
+
+    /**
+     * The JSON deserializer removes the type headers it has read, so each record gets a copy of its headers.
+     */
+    private static RecordHeaders copyOf(RecordHeaders headers) {
+        return new RecordHeaders(headers.toArray());
+    }
+
+    /**
+     * @return the traffic events of the recorded feed
+     */
+    static List<TrafficEvent> recordedEvents() {
+        var result = new ArrayList<TrafficEvent>();
+
+        try (var in = TrafficEventWireFormatBenchmark.class.getResourceAsStream("/miv/verkeersdata.xml")) {
+            new TrafficDataStreamReader().read(in, result::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (result.size() != EVENTS) {
+            throw new IllegalStateException("Expected " + EVENTS + " events, but found " + result.size());
+        }
+
+        return result;
+    }
+
+}
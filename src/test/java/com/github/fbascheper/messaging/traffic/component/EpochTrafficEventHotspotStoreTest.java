@@ -0,0 +1,188 @@
+package com.github.fbascheper.messaging.traffic.component;
+
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.github.fbascheper.messaging.domain.TestTrafficEvents.START;
+import static com.github.fbascheper.messaging.domain.TestTrafficEvents.event;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+/**
+ * Unit test of the {@link EpochTrafficEventHotspotStore}.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class EpochTrafficEventHotspotStoreTest {
+
+    private static final int SENSORS = 500;
+    private static final int MAX_SENSOR_ID = SENSORS / 2;
+
+    @Test
+    void publishAggregatedHotspotOfDelegate() {
+        var aggregated = event(1, VehicleClass.CAR, 0, 40, 20);
+        var instance = new EpochTrafficEventHotspotStore(new MapTrafficEventHotspotStore() {
+            @Override
+            public TrafficEvent hotspotOfSensor(int sensorId) {
+                return sensorId == 1 ? aggregated : super.hotspotOfSensor(sensorId);
+            }
+        }, MAX_SENSOR_ID);
+
+        instance.storeAll(List.of(event(1, VehicleClass.CAR, 0), event(1, VehicleClass.TRUCK_OR_BUS, 0)));
+
+        assertThat(instance.hotspotOfSensor(1), is(sameInstance(aggregated)));
+    }
+
+    @Test
+    void publishBatchInSingleEpoch() {
+        var instance = new EpochTrafficEventHotspotStore(new MapTrafficEventHotspotStore(), MAX_SENSOR_ID);
+        var initial = instance.snapshot();
+
+        instance.storeAll(batch(0));
+        var first = instance.snapshot();
+
+        assertThat(first.epoch(), is(initial.epoch() + 1));
+        assertThat(initial.hotspotOfSensor(1), is(nullValue()));
+        assertThat(first.hotspotOfSensor(1), is(event(1, VehicleClass.CAR, 0)));
+        assertThat(first.hotspotOfSensor(SENSORS - 1), is(event(SENSORS - 1, VehicleClass.CAR, 0)));
+
+        instance.store(event(1, VehicleClass.CAR, 1));
+
+        // a snapshot never changes after it has been published
+        assertThat(instance.snapshot().epoch(), is(first.epoch() + 1));
+        assertThat(instance.snapshot().hotspot(1, VehicleClass.CAR), is(event(1, VehicleClass.CAR, 1)));
+        assertThat(first.hotspot(1, VehicleClass.CAR), is(event(1, VehicleClass.CAR, 0)));
+        assertThat(first.hotspotsOfSensorId(2), is(Map.of(VehicleClass.CAR, event(2, VehicleClass.CAR, 0))));
+    }
+
+    @Test
+    void publishUnpublishedHotspotsAtOnce() {
+        var instance = new EpochTrafficEventHotspotStore(new MapTrafficEventHotspotStore(), MAX_SENSOR_ID);
+        var newHotspots = new ArrayList<Set<Integer>>();
+        instance.addHotspotListener(newHotspots::add);
+        var initial = instance.snapshot();
+
+        instance.storeUnpublished(event(1, VehicleClass.CAR, 0));
+        instance.storeUnpublished(event(SENSORS - 1, VehicleClass.CAR, 0));
+
+        assertThat(instance.snapshot(), is(initial));
+        assertThat(instance.hotspotOfSensor(1), is(nullValue()));
+
+        instance.publishStored();
+
+        assertThat(instance.snapshot().epoch(), is(initial.epoch() + 1));
+        assertThat(instance.hotspotOfSensor(1), is(event(1, VehicleClass.CAR, 0)));
+        assertThat(instance.hotspotOfSensor(SENSORS - 1), is(event(SENSORS - 1, VehicleClass.CAR, 0)));
+        assertThat(newHotspots, is(List.of(Set.of(1, SENSORS - 1))));
+
+        // nothing is published without unpublished hotspots
+        instance.publishStored();
+        assertThat(instance.snapshot().epoch(), is(initial.epoch() + 1));
+    }
+
+    @Test
+    void publishEvictedHotspots() {
+        var instance = new EpochTrafficEventHotspotStore(new WindowedTrafficEventHotspotStore(Duration.ofMinutes(15), MAX_SENSOR_ID), MAX_SENSOR_ID);
+
+        instance.storeAll(batch(0));
+        instance.store(event(1, VehicleClass.CAR, 20));
+
+        var snapshot = instance.snapshot();
+        assertThat(snapshot.hotspotOfSensor(1), is(event(1, VehicleClass.CAR, 20)));
+        assertThat(snapshot.hotspotOfSensor(2), is(nullValue()));
+        assertThat(snapshot.hotspotOfSensor(SENSORS - 1), is(nullValue()));
+    }
+
+    @Test
+    void ignoreExpiredHotspotsBeforeEviction() {
+        // the delegate evicts whole minutes, so a window which ends halfway a minute keeps the expired hotspots for now
+        var windowed = new WindowedTrafficEventHotspotStore(Duration.ofMinutes(15).minusSeconds(30), MAX_SENSOR_ID);
+        var instance = new EpochTrafficEventHotspotStore(windowed, MAX_SENSOR_ID);
+
+        instance.storeAll(List.of(event(1, VehicleClass.CAR, 0), event(2, VehicleClass.TRUCK_OR_BUS, 0), event(2, VehicleClass.CAR, 10)));
+        instance.store(event(3, VehicleClass.CAR, 15));
+
+        var snapshot = instance.snapshot();
+        assertThat(windowed.sensorCount(), is(3));
+        assertThat(snapshot.hotspotOfSensor(1), is(nullValue()));
+        assertThat(snapshot.hotspot(1, VehicleClass.CAR), is(nullValue()));
+        assertThat(snapshot.hotspotOfSensor(2), is(event(2, VehicleClass.CAR, 10)));
+        assertThat(snapshot.hotspotsOfSensorId(2), is(Map.of(VehicleClass.CAR, event(2, VehicleClass.CAR, 10))));
+        assertThat(snapshot.hotspotOfSensor(3), is(event(3, VehicleClass.CAR, 15)));
+    }
+
+    @Test
+    void notifyNewHotspots() {
+        var instance = new EpochTrafficEventHotspotStore(new WindowedTrafficEventHotspotStore(Duration.ofMinutes(15), MAX_SENSOR_ID), MAX_SENSOR_ID);
+        var newHotspots = new ArrayList<Set<Integer>>();
+        instance.addHotspotListener(newHotspots::add);
+
+        instance.storeAll(List.of(event(1, VehicleClass.CAR, 0), event(1, VehicleClass.TRUCK_OR_BUS, 0), event(SENSORS - 1, VehicleClass.CAR, 0)));
+        instance.store(event(1, VehicleClass.CAR, 1));
+        instance.storeAll(List.of(event(1, VehicleClass.CAR, 20), event(2, VehicleClass.CAR, 20)));
+
+        // sensor 1 is only a new hotspot again after it has been evicted
+        instance.store(event(SENSORS - 1, VehicleClass.CAR, 40));
+
+        assertThat(newHotspots, is(List.of(Set.of(1, SENSORS - 1), Set.of(2), Set.of(SENSORS - 1))));
+    }
+
+    @Test
+    void readersNeverSeeHalfAppliedBatch() throws InterruptedException, ExecutionException {
+        var instance = new EpochTrafficEventHotspotStore(new DenseTrafficEventHotspotStore(MAX_SENSOR_ID), MAX_SENSOR_ID);
+        var executor = Executors.newSingleThreadExecutor();
+        var done = new AtomicBoolean();
+
+        try {
+            // every batch moves all sensors to the next minute, so a snapshot has the same minute for all of them
+            var reader = executor.submit(() -> {
+                int snapshots = 0;
+                while (!done.get()) {
+                    var snapshot = instance.snapshot();
+                    var first = snapshot.hotspotOfSensor(0);
+
+                    for (int sensorId = 1; first != null && sensorId < SENSORS; sensorId++) {
+                        assertThat(snapshot.hotspotOfSensor(sensorId).timeRegistration(), is(first.timeRegistration()));
+                    }
+                    snapshots++;
+                }
+                return snapshots;
+            });
+
+            for (int minute = 0; minute < 200; minute++) {
+                instance.storeAll(batch(minute));
+            }
+            done.set(true);
+
+            assertThat(reader.get(), is(greaterThan(0)));
+
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private static List<TrafficEvent> batch(int minute) {
+        var result = new ArrayList<TrafficEvent>();
+        for (int sensorId = 0; sensorId < SENSORS; sensorId++) {
+            result.add(event(sensorId, VehicleClass.CAR, minute));
+        }
+        return result;
+    }
+
+}
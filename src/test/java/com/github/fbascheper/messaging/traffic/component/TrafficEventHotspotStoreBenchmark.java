@@ -0,0 +1,132 @@
+package com.github.fbascheper.messaging.traffic.component;
+
+import com.github.fbascheper.messaging.config.TrafficEventHotspotStoreConfiguration;
+import com.github.fbascheper.messaging.domain.TestTrafficEvents;
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the {@link TrafficEventHotspotStore} implementations, per sensor on a route of which about one in
+ * ten is a hotspot, as looked up by the {@link VehicleRouteTrafficSensorsProcessor}, and per hotspot stored.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class TrafficEventHotspotStoreBenchmark {
+
+    private static final int SENSORS = 5_000;
+    private static final int HOTSPOT_INTERVAL = 10;
+    private static final int ROUTE_LENGTH = 1_000;
+
+    private static final VehicleClass[] HOTSPOT_VEHICLE_CLASSES = {
+            VehicleClass.CAR, VehicleClass.MINIVAN, VehicleClass.RIGID_LORRIES, VehicleClass.TRUCK_OR_BUS};
+
+    @Param({"MAP", "DENSE", "WINDOWED"})
+    TrafficEventHotspotStoreType storeType;
+
+    TrafficEventHotspotStore store;
+    List<TrafficEvent> hotspots;
+    int[] route;
+
+    public static void main(String[] args) throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(TrafficEventHotspotStoreBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() {
+        store = new TrafficEventHotspotStoreConfiguration().hotspotStore(storeType, SENSORS, Duration.ofMinutes(15));
+
+        var random = new Random(42);
+
+        hotspots = new ArrayList<>();
+        for (int sensorId = 0; sensorId < SENSORS; sensorId += HOTSPOT_INTERVAL) {
+            var vehicleClass = HOTSPOT_VEHICLE_CLASSES[random.nextInt(HOTSPOT_VEHICLE_CLASSES.length)];
+            hotspots.add(TestTrafficEvents.event(sensorId, vehicleClass, 0));
+        }
+        store.storeAll(hotspots);
+
+        route = random.ints(ROUTE_LENGTH, 0, SENSORS).toArray();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUTE_LENGTH)
+    public void lookupHotspotByVehicleClass(Blackhole blackhole) {
+        for (int sensorId : route) {
+            for (var vehicleClass : HOTSPOT_VEHICLE_CLASSES) {
+                var hotspot = store.hotspot(sensorId, vehicleClass);
+                if (hotspot != null) {
+                    blackhole.consume(hotspot);
+                    break;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUTE_LENGTH)
+    public void lookupHotspotsOfSensor(Blackhole blackhole) {
+        for (int sensorId : route) {
+            var hotspots = store.hotspotsOfSensorId(sensorId);
+            for (var vehicleClass : HOTSPOT_VEHICLE_CLASSES) {
+                if (hotspots.containsKey(vehicleClass)) {
+                    blackhole.consume(hotspots.get(vehicleClass));
+                    break;
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROUTE_LENGTH)
+    public void lookupHotspotOfSensor(Blackhole blackhole) {
+        for (int sensorId : route) {
+            var hotspot = store.hotspotOfSensor(sensorId);
+            if (hotspot != null) {
+                blackhole.consume(hotspot);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SENSORS / HOTSPOT_INTERVAL)
+    public void storeHotspots() {
+        for (var hotspot : hotspots) {
+            store.store(hotspot);
+        }
+    }
+
+}
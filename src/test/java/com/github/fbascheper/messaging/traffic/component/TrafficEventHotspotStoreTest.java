@@ -0,0 +1,137 @@
+package com.github.fbascheper.messaging.traffic.component;
+
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.fbascheper.messaging.domain.TestTrafficEvents.START;
+import static com.github.fbascheper.messaging.domain.TestTrafficEvents.event;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Unit test of the {@link TrafficEventHotspotStore} implementations.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class TrafficEventHotspotStoreTest {
+
+    private static final int SENSORS = 1000;
+    private static final int MINUTES = 20;
+
+    @Test
+    void concurrentWritersLoseNoUpdates() throws InterruptedException, ExecutionException {
+        for (var instance : instances()) {
+            concurrentWritersLoseNoUpdates(instance);
+        }
+    }
+
+    @Test
+    void neverReplaceHotspotByOlderMeasurement() {
+        for (var instance : instances()) {
+            neverReplaceHotspotByOlderMeasurement(instance);
+        }
+    }
+
+    @Test
+    void findHotspotsOfSensor() {
+        for (var instance : instances()) {
+            var car = event(1, VehicleClass.CAR, 0);
+            var truck = event(1, VehicleClass.TRUCK_OR_BUS, 0);
+
+            instance.storeAll(List.of(car, truck, event(SENSORS, VehicleClass.CAR, 0)));
+
+            assertThat(instance.hotspot(1, VehicleClass.CAR), is(car));
+            assertThat(instance.hotspot(1, VehicleClass.MINIVAN), is(nullValue()));
+            assertThat(instance.hotspot(2, VehicleClass.CAR), is(nullValue()));
+            assertThat(instance.hotspot(SENSORS, VehicleClass.CAR), is(event(SENSORS, VehicleClass.CAR, 0)));
+            assertThat(instance.hotspotsOfSensorId(1), is(Map.of(VehicleClass.CAR, car, VehicleClass.TRUCK_OR_BUS, truck)));
+            assertThat(instance.hotspotsOfSensorId(2), is(Map.of()));
+            assertThat(instance.hotspotOfSensor(SENSORS), is(event(SENSORS, VehicleClass.CAR, 0)));
+            assertThat(instance.hotspotOfSensor(2), is(nullValue()));
+        }
+    }
+
+    /**
+     * @return all store implementations, with sensors above the maximum id of the indexed stores
+     */
+    private static List<TrafficEventHotspotStore> instances() {
+        return List.of(new MapTrafficEventHotspotStore()
+                , new DenseTrafficEventHotspotStore(SENSORS / 2)
+                , new WindowedTrafficEventHotspotStore(Duration.ofHours(1), SENSORS / 2)
+                , new EpochTrafficEventHotspotStore(new DenseTrafficEventHotspotStore(SENSORS / 2), SENSORS / 2));
+    }
+
+    private static void concurrentWritersLoseNoUpdates(TrafficEventHotspotStore instance) throws InterruptedException, ExecutionException {
+        var vehicleClasses = VehicleClass.values();
+        var executor = Executors.newFixedThreadPool(vehicleClasses.length);
+        var start = new CountDownLatch(1);
+
+        try {
+            var writers = new ArrayList<Future<?>>();
+
+            // every writer stores all sensors, so the writers update the same sensors at the same time
+            for (var vehicleClass : vehicleClasses) {
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int minute = 0; minute < MINUTES; minute++) {
+                        var batch = new ArrayList<TrafficEvent>();
+                        for (int sensorId = 0; sensorId < SENSORS; sensorId++) {
+                            if (sensorId % 2 == 0) {
+                                instance.store(event(sensorId, vehicleClass, minute));
+                            } else {
+                                batch.add(event(sensorId, vehicleClass, minute));
+                            }
+                        }
+                        instance.storeAll(batch);
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (var writer : writers) {
+                writer.get();
+            }
+
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        for (int sensorId = 0; sensorId < SENSORS; sensorId++) {
+            var hotspots = instance.hotspotsOfSensorId(sensorId);
+            assertThat(instance.getClass().getSimpleName(), hotspots.size(), is(vehicleClasses.length));
+
+            for (var vehicleClass : vehicleClasses) {
+                assertThat(hotspots.get(vehicleClass), is(event(sensorId, vehicleClass, MINUTES - 1)));
+            }
+        }
+    }
+
+    private static void neverReplaceHotspotByOlderMeasurement(TrafficEventHotspotStore instance) {
+        var older = event(1, VehicleClass.CAR, 0);
+        var newer = event(1, VehicleClass.CAR, 1);
+
+        instance.store(newer);
+        instance.store(older);
+        assertThat(instance.hotspotsOfSensorId(1).get(VehicleClass.CAR), is(newer));
+
+        instance.storeAll(List.of(older, event(2, VehicleClass.CAR, 0)));
+        assertThat(instance.hotspotsOfSensorId(1).get(VehicleClass.CAR), is(newer));
+        assertThat(instance.hotspotsOfSensorId(2).get(VehicleClass.CAR), is(event(2, VehicleClass.CAR, 0)));
+    }
+
+}
@@ -0,0 +1,88 @@
+package com.github.fbascheper.messaging.traffic.component;
+
+import com.github.fbascheper.messaging.domain.TestTrafficEvents;
+import com.github.fbascheper.messaging.domain.TestTrafficSensors;
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.domain.TrafficSensor;
+import com.github.fbascheper.messaging.domain.VehicleRouteTrafficSensors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the {@link VehicleRouteTrafficSensorsProcessor}, per route of {@value #ROUTE_LENGTH} sensors,
+ * with or without a hotspot on the route.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class VehicleRouteTrafficSensorsProcessorBenchmark {
+
+    private static final int SENSORS = 5_000;
+    private static final int HOTSPOT_INTERVAL = 100;
+    private static final int ROUTE_LENGTH = 50;
+
+    @Param({"false", "true"})
+    boolean hotspotOnRoute;
+
+    VehicleRouteTrafficSensorsProcessor processor;
+    VehicleRouteTrafficSensors route;
+
+    public static void main(String[] args) throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(VehicleRouteTrafficSensorsProcessorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() {
+        var hotspotStore = new EpochTrafficEventHotspotStore(new DenseTrafficEventHotspotStore(SENSORS), SENSORS);
+        processor = new VehicleRouteTrafficSensorsProcessor(hotspotStore);
+
+        var hotspots = new ArrayList<TrafficEvent>();
+        for (int sensorId = HOTSPOT_INTERVAL; sensorId <= SENSORS; sensorId += HOTSPOT_INTERVAL) {
+            hotspots.add(TestTrafficEvents.hotspot(sensorId));
+        }
+        hotspotStore.storeAll(hotspots);
+
+        // a route of consecutive sensors, which only passes a hotspot if it starts right before one
+        var sensors = TestTrafficSensors.sensors(SENSORS);
+        int start = new Random(42).nextInt(SENSORS / HOTSPOT_INTERVAL - 1) * HOTSPOT_INTERVAL
+                + (hotspotOnRoute ? HOTSPOT_INTERVAL - ROUTE_LENGTH / 2 : 1);
+
+        List<TrafficSensor> sensorsOnRoute = sensors.subList(start - 1, start - 1 + ROUTE_LENGTH);
+        route = new VehicleRouteTrafficSensors("vehicle-1", sensorsOnRoute);
+    }
+
+    @Benchmark
+    public Object vehicleRouteHotspots() {
+        return processor.vehicleRouteHotspots(route);
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.github.fbascheper.messaging.traffic.component;
+
+import com.github.fbascheper.messaging.domain.TestTrafficSensors;
+import com.github.fbascheper.messaging.domain.TrafficSensor;
+import com.github.fbascheper.messaging.domain.VehicleRouteTrafficSensors;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static com.github.fbascheper.messaging.domain.TestTrafficEvents.hotspot;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Unit test of the {@link VehicleRouteTrafficSensorsProcessor}.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class VehicleRouteTrafficSensorsProcessorTest {
+
+    private static final int MAX_SENSOR_ID = 200;
+
+    private final EpochTrafficEventHotspotStore hotspotStore = new EpochTrafficEventHotspotStore(new MapTrafficEventHotspotStore(), MAX_SENSOR_ID);
+    private final VehicleRouteTrafficSensorsProcessor instance = new VehicleRouteTrafficSensorsProcessor(hotspotStore);
+
+    private final List<TrafficSensor> sensors = TestTrafficSensors.sensors(2 * MAX_SENSOR_ID);
+
+    @Test
+    void findHotspotsInOrderOfRoute() {
+        hotspotStore.storeAll(List.of(hotspot(10), hotspot(150), hotspot(MAX_SENSOR_ID + 50)));
+
+        var result = instance.vehicleRouteHotspots(route(150, 3, MAX_SENSOR_ID + 50, 10, 11));
+
+        assertThat(result.vehicleId(), is("vehicle-1"));
+        assertThat(result.trafficHotspotsOnRoute(), is(List.of(hotspot(150), hotspot(MAX_SENSOR_ID + 50), hotspot(10))));
+        assertThat(result.hotspotEpoch(), is(hotspotStore.snapshot().epoch()));
+    }
+
+    @Test
+    void findNoHotspotsOnRouteWithoutHotspots() {
+        hotspotStore.storeAll(List.of(hotspot(10), hotspot(MAX_SENSOR_ID + 50)));
+
+        assertThat(instance.vehicleRouteHotspots(route(1, 2, 3, 11, 64, 75)).trafficHotspotsOnRoute(), is(empty()));
+        assertThat(instance.vehicleRouteHotspots(route(1, MAX_SENSOR_ID + 51)).trafficHotspotsOnRoute(), is(empty()));
+        assertThat(instance.vehicleRouteHotspots(route()).trafficHotspotsOnRoute(), is(empty()));
+    }
+
+    private VehicleRouteTrafficSensors route(int... sensorIds) {
+        return new VehicleRouteTrafficSensors("vehicle-1", Arrays.stream(sensorIds)
+                .mapToObj(sensorId -> sensors.get(sensorId - 1))
+                .toList());
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.github.fbascheper.messaging.traffic.component;
+
+import com.github.fbascheper.messaging.domain.VehicleClass;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.fbascheper.messaging.domain.TestTrafficEvents.START;
+import static com.github.fbascheper.messaging.domain.TestTrafficEvents.event;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Unit test of the {@link WindowedTrafficEventHotspotStore}.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class WindowedTrafficEventHotspotStoreTest {
+
+    private static final int MAX_SENSOR_ID = 10;
+
+    private final WindowedTrafficEventHotspotStore instance = new WindowedTrafficEventHotspotStore(Duration.ofMinutes(15), MAX_SENSOR_ID);
+
+    @Test
+    void evictHotspotsOutsideWindow() {
+        instance.store(event(1, VehicleClass.CAR, 0));
+        instance.store(event(MAX_SENSOR_ID + 1, VehicleClass.CAR, 0));
+        instance.store(event(2, VehicleClass.CAR, 10));
+        assertThat(instance.sensorCount(), is(3));
+
+        // the window ends at the latest time of registration stored, so the hotspots of minute 0 have expired
+        instance.store(event(3, VehicleClass.CAR, 16));
+
+        assertThat(instance.sensorCount(), is(2));
+        assertThat(instance.hotspot(1, VehicleClass.CAR), is(nullValue()));
+        assertThat(instance.hotspotOfSensor(MAX_SENSOR_ID + 1), is(nullValue()));
+        assertThat(instance.hotspotsOfSensorId(MAX_SENSOR_ID + 1), is(Map.of()));
+        assertThat(instance.hotspot(2, VehicleClass.CAR), is(event(2, VehicleClass.CAR, 10)));
+
+        // hotspots which are too old are not stored at all
+        instance.store(event(1, VehicleClass.CAR, 0));
+        assertThat(instance.hotspotOfSensor(1), is(nullValue()));
+    }
+
+    @Test
+    void evictExpiredVehicleClassOfSensor() {
+        instance.store(event(1, VehicleClass.TRUCK_OR_BUS, 0, 12, 20));
+        instance.store(event(1, VehicleClass.CAR, 10));
+        instance.store(event(2, VehicleClass.CAR, 20));
+
+        assertThat(instance.hotspotOfSensor(1), is(event(1, VehicleClass.CAR, 10)));
+        assertThat(instance.hotspotsOfSensorId(1), is(Map.of(VehicleClass.CAR, event(1, VehicleClass.CAR, 10))));
+    }
+
+    @Test
+    void aggregateHotspotsOfSensor() {
+        instance.store(event(1, VehicleClass.TRUCK_OR_BUS, 1, 12, 20));
+        instance.store(event(1, VehicleClass.CAR, 0, 12, 40));
+
+        var result = instance.hotspotOfSensor(1);
+
+        // 24 vehicles, of which 12 at 20 km/h and 12 at 40 km/h
+        assertThat(result.vehicleClass(), is(VehicleClass.CAR));
+        assertThat(result.timeRegistration(), is(START.plusMinutes(1)));
+        assertThat(result.vehicleCount(), is(24));
+        assertThat(result.vehicleAverageSpeed(), is(30));
+        assertThat(result.vehicleHarmonicSpeed(), is(27));
+
+        instance.store(event(1, VehicleClass.MINIVAN, 2, 12, 0));
+        assertThat(instance.hotspotOfSensor(1).vehicleHarmonicSpeed(), is(0));
+    }
+
+    @Test
+    void concurrentWritersLoseNoEvictions() throws InterruptedException, ExecutionException {
+        int writerCount = 4;
+        int minutes = 500;
+        int sensorsPerMinute = 20;
+        var windowed = new WindowedTrafficEventHotspotStore(Duration.ofMinutes(1), writerCount * minutes * sensorsPerMinute);
+        var executor = Executors.newFixedThreadPool(writerCount);
+        var start = new CountDownLatch(1);
+
+        try {
+            var writers = new ArrayList<Future<?>>();
+
+            // every writer stores sensors of its own, so it registers them in the minutes which the others evict
+            for (int writer = 0; writer < writerCount; writer++) {
+                int firstSensorId = writer * minutes * sensorsPerMinute;
+                writers.add(executor.submit(() -> {
+                    start.await();
+                    for (int minute = 0; minute < minutes; minute++) {
+                        for (int i = 0; i < sensorsPerMinute; i++) {
+                            windowed.store(event(firstSensorId + minute * sensorsPerMinute + i, VehicleClass.CAR, minute));
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            for (var writer : writers) {
+                writer.get();
+            }
+
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+
+        // all hotspots stored before are evicted, except the one of this event
+        windowed.store(event(0, VehicleClass.CAR, minutes + 2));
+        assertThat(windowed.sensorCount(), is(1));
+    }
+
+}
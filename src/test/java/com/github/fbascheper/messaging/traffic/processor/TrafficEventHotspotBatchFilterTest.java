@@ -0,0 +1,96 @@
+package com.github.fbascheper.messaging.traffic.processor;
+
+import com.github.fbascheper.messaging.data.retriever.TrafficDataStreamReader;
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+import com.github.fbascheper.messaging.traffic.component.MapTrafficEventHotspotStore;
+import com.github.fbascheper.messaging.traffic.component.TrafficEventHotspotStore;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Unit test of the {@link TrafficEventHotspotBatchFilter}, compared to the per-record {@link TrafficEventHotspotFilter}.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class TrafficEventHotspotBatchFilterTest {
+
+    private static final String TOPIC = "traffic-event";
+    private static final int BATCH_SIZE = 500;
+
+    TrafficEventHotspotStore recordStore = new MapTrafficEventHotspotStore();
+    TrafficEventHotspotStore batchStore = new MapTrafficEventHotspotStore();
+
+    @Test
+    void storeSameHotspotsAsPerRecordFilter() {
+        var consumerRecords = consumerRecords(recordedEvents());
+
+        var recordFilter = new TrafficEventHotspotFilter(recordStore);
+        consumerRecords.forEach(consumerRecord -> recordFilter.listenAsObject(consumerRecord, consumerRecord.value()));
+
+        var batchFilter = new TrafficEventHotspotBatchFilter(batchStore);
+        for (int i = 0; i < consumerRecords.size(); i += BATCH_SIZE) {
+            batchFilter.listenAsBatch(consumerRecords.subList(i, Math.min(i + BATCH_SIZE, consumerRecords.size())));
+        }
+
+        int hotspots = 0;
+        for (var consumerRecord : consumerRecords) {
+            var sensorId = consumerRecord.value().sensorId();
+            assertThat(batchStore.hotspotsOfSensorId(sensorId), is(recordStore.hotspotsOfSensorId(sensorId)));
+            hotspots += batchStore.hotspotsOfSensorId(sensorId).size();
+        }
+
+        assertThat(hotspots, greaterThan(0));
+    }
+
+    @Test
+    void keepLastHotspotOfSensorAndVehicleClass() {
+        var first = event(1, VehicleClass.CAR, 10);
+        var second = event(1, VehicleClass.MINIVAN, 20);
+        var third = event(1, VehicleClass.CAR, 30);
+        var other = event(2, VehicleClass.CAR, 40);
+
+        new TrafficEventHotspotBatchFilter(batchStore).listenAsBatch(consumerRecords(List.of(first, second, third, other)));
+
+        assertThat(batchStore.hotspotsOfSensorId(1).get(VehicleClass.CAR), is(third));
+        assertThat(batchStore.hotspotsOfSensorId(1).get(VehicleClass.MINIVAN), is(second));
+        assertThat(batchStore.hotspotsOfSensorId(2).get(VehicleClass.CAR), is(other));
+    }
+
+    private static TrafficEvent event(int sensorId, VehicleClass vehicleClass, int vehicleHarmonicSpeed) {
+        var now = ZonedDateTime.parse("2021-11-07T14:00:00Z");
+        return new TrafficEvent(now, sensorId, "H" + sensorId, true, true, now
+                , vehicleClass, 12, vehicleHarmonicSpeed, vehicleHarmonicSpeed);
+    }
+
+    private static List<ConsumerRecord<String, TrafficEvent>> consumerRecords(List<TrafficEvent> events) {
+        var result = new ArrayList<ConsumerRecord<String, TrafficEvent>>(events.size());
+        for (int i = 0; i < events.size(); i++) {
+            result.add(new ConsumerRecord<>(TOPIC, 0, i, null, events.get(i)));
+        }
+        return result;
+    }
+
+    private static List<TrafficEvent> recordedEvents() {
+        var result = new ArrayList<TrafficEvent>();
+
+        try (var in = TrafficEventHotspotBatchFilterTest.class.getResourceAsStream("/miv/verkeersdata.xml")) {
+            new TrafficDataStreamReader().read(in, result::add);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read the traffic data", e);
+        }
+
+        return result;
+    }
+
+}
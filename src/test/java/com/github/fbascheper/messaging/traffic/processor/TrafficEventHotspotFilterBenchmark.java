@@ -0,0 +1,266 @@
+package com.github.fbascheper.messaging.traffic.processor;
+
+import com.github.fbascheper.messaging.config.KafkaConfiguration;
+import com.github.fbascheper.messaging.data.retriever.TrafficDataStreamReader;
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.serialization.TrafficEventHeaders;
+import com.github.fbascheper.messaging.serialization.TrafficEventWireFormat;
+import com.github.fbascheper.messaging.traffic.component.MapTrafficEventHotspotStore;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.autoconfigure.kafka.KafkaProperties;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.BatchMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListener;
+import org.springframework.kafka.listener.adapter.BatchMessagingMessageListenerAdapter;
+import org.springframework.kafka.listener.adapter.HandlerAdapter;
+import org.springframework.kafka.listener.adapter.RecordMessagingMessageListenerAdapter;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.messaging.handler.annotation.support.DefaultMessageHandlerMethodFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JMH benchmark of the throughput of the per-record {@link TrafficEventHotspotFilter} compared to the
+ * {@link TrafficEventHotspotBatchFilter}, consuming the traffic events from an embedded Kafka broker.
+ * The topic has 8 partitions, which are consumed by 1 to 8 listener threads, all storing into the same store.
+ * <p>
+ * The listeners are invoked through the same messaging adapters as a {@code @KafkaListener}, and the records skipped
+ * by the header filter are discarded as by the record filter strategy of the container factories. Every invocation
+ * consumes all events of the topic with a new consumer group, which has joined its group before the timing starts.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class TrafficEventHotspotFilterBenchmark {
+
+    private static final String TOPIC = "traffic-event";
+    private static final int PARTITIONS = 8;
+    private static final int EVENTS = 100_000;
+    private static final int SENSOR_ID_OFFSET = 10_000;
+
+    @Param({"500", "2000"})
+    int maxPollRecords;
+
+    @Param({"false", "true"})
+    boolean headerFilter;
+
+    @Param({"1", "2", "4", "8"})
+    int concurrency;
+
+    EmbeddedKafkaBroker broker;
+    ConsumerFactory<String, Object> consumerFactory;
+    KafkaConfiguration kafkaConfiguration;
+    DefaultMessageHandlerMethodFactory handlerMethodFactory;
+
+    ConcurrentMessageListenerContainer<String, Object> container;
+    AtomicInteger remaining;
+    CountDownLatch done;
+    int groups;
+
+    public static void main(String[] args) throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(TrafficEventHotspotFilterBenchmark.class.getSimpleName())
+                .build();
+
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() {
+        broker = new EmbeddedKafkaBroker(1, false, PARTITIONS, TOPIC)
+                .brokerProperty("group.initial.rebalance.delay.ms", "0");
+        broker.afterPropertiesSet();
+
+        var kafkaProperties = new KafkaProperties();
+        kafkaProperties.setBootstrapServers(List.of(broker.getBrokersAsString()));
+        kafkaProperties.getConsumer().setAutoOffsetReset("earliest");
+        kafkaProperties.getConsumer().setMaxPollRecords(maxPollRecords);
+
+        kafkaConfiguration = new KafkaConfiguration(kafkaProperties, TrafficEventWireFormat.JSON);
+        consumerFactory = kafkaConfiguration.kafkaConsumerFactory(
+                TOPIC, "vehicle-route-change-event", "vehicle-route-change-advice", headerFilter);
+
+        var kafkaTemplate = kafkaConfiguration.kafkaTemplate(kafkaConfiguration.kafkaProducerFactory());
+        for (var event : events()) {
+            kafkaTemplate.send(new ProducerRecord<>(TOPIC, null, event.sensorId().toString(), event, TrafficEventHeaders.of(event)));
+        }
+        kafkaTemplate.flush();
+
+        handlerMethodFactory = new DefaultMessageHandlerMethodFactory();
+        handlerMethodFactory.afterPropertiesSet();
+    }
+
+    @TearDown
+    public void tearDown() {
+        broker.destroy();
+    }
+
+    @State(Scope.Thread)
+    public static class RecordListener {
+        @Setup(Level.Invocation)
+        public void setUp(TrafficEventHotspotFilterBenchmark benchmark) throws NoSuchMethodException {
+            var filter = new TrafficEventHotspotFilter(new MapTrafficEventHotspotStore());
+            var method = TrafficEventHotspotFilter.class.getMethod("listenAsObject", ConsumerRecord.class, TrafficEvent.class);
+
+            var adapter = new RecordMessagingMessageListenerAdapter<String, Object>(filter, method);
+            adapter.setHandlerMethod(benchmark.handlerAdapter(filter, method));
+
+            benchmark.startContainer(
+                    benchmark.kafkaConfiguration.kafkaListenerContainerFactory(benchmark.consumerFactory).createContainer(TOPIC)
+                    , (MessageListener<String, Object>) consumerRecord -> {
+                        if (consumerRecord.value() != null) {
+                            adapter.onMessage(consumerRecord, null, null);
+                        }
+                        benchmark.processed(1);
+                    });
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown(TrafficEventHotspotFilterBenchmark benchmark) {
+            benchmark.container.stop();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BatchListener {
+        @Setup(Level.Invocation)
+        public void setUp(TrafficEventHotspotFilterBenchmark benchmark) throws NoSuchMethodException {
+            var filter = new TrafficEventHotspotBatchFilter(new MapTrafficEventHotspotStore());
+            var method = TrafficEventHotspotBatchFilter.class.getMethod("listenAsBatch", List.class);
+
+            var adapter = new BatchMessagingMessageListenerAdapter<String, Object>(filter, method);
+            adapter.setHandlerMethod(benchmark.handlerAdapter(filter, method));
+
+            benchmark.startContainer(
+                    benchmark.kafkaConfiguration.kafkaBatchListenerContainerFactory(benchmark.consumerFactory).createContainer(TOPIC)
+                    , (BatchMessageListener<String, Object>) consumerRecords -> {
+                        var deserialized = consumerRecords.stream()
+                                .filter(consumerRecord -> consumerRecord.value() != null)
+                                .toList();
+                        adapter.onMessage(deserialized, null, null);
+                        benchmark.processed(consumerRecords.size());
+                    });
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown(TrafficEventHotspotFilterBenchmark benchmark) {
+            benchmark.container.stop();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void perRecord(RecordListener listener) throws InterruptedException {
+        consumeAll();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(EVENTS)
+    public void batch(BatchListener listener) throws InterruptedException {
+        consumeAll();
+    }
+
+    private void consumeAll() throws InterruptedException {
+        container.resume();
+        if (!done.await(1, TimeUnit.MINUTES)) {
+            throw new IllegalStateException("Consumed only " + (EVENTS - remaining.get()) + " of " + EVENTS + " events");
+        }
+    }
+
+    private void startContainer(ConcurrentMessageListenerContainer<String, Object> container, Object messageListener) {
+        this.remaining = new AtomicInteger(EVENTS);
+        this.done = new CountDownLatch(1);
+
+        container.getContainerProperties().setGroupId("benchmark-" + (++groups));
+        container.setupMessageListener(messageListener);
+        container.setConcurrency(concurrency);
+
+        // paused consumers keep polling without records, so all of them join the consumer group before the timing starts
+        container.pause();
+        container.start();
+
+        while (!isAssigned(container)) {
+            Thread.onSpinWait();
+        }
+
+        this.container = container;
+    }
+
+    private boolean isAssigned(ConcurrentMessageListenerContainer<String, Object> container) {
+        var assignments = container.getAssignmentsByClientId();
+
+        return assignments != null
+                && assignments.size() == concurrency
+                && assignments.values().stream().allMatch(partitions -> partitions != null && !partitions.isEmpty())
+                && assignments.values().stream().mapToInt(Collection::size).sum() == PARTITIONS;
+    }
+
+    private HandlerAdapter handlerAdapter(Object bean, Method method) {
+        return new HandlerAdapter(handlerMethodFactory.createInvocableHandlerMethod(bean, method));
+    }
+
+    private void processed(int count) {
+        if (remaining.addAndGet(-count) == 0) {
+            done.countDown();
+        }
+    }
+
+    /**
+     * @return the recorded traffic events, repeated for other sensor ids up to the number of events in the topic
+     */
+    private static List<TrafficEvent> events() {
+        var recorded = new ArrayList<TrafficEvent>();
+
+        try (var in = TrafficEventHotspotFilterBenchmark.class.getResourceAsStream("/miv/verkeersdata.xml")) {
+            new TrafficDataStreamReader().read(in, recorded::add);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not read the traffic data", e);
+        }
+
+        var result = new ArrayList<TrafficEvent>(EVENTS);
+        for (int i = 0; result.size() < EVENTS; i++) {
+            var event = recorded.get(i % recorded.size());
+            int sensorId = event.sensorId() + (i / recorded.size()) * SENSOR_ID_OFFSET;
+
+            result.add(new TrafficEvent(event.timeRegistration(), sensorId, event.sensorDescriptiveId()
+                    , event.sensorAvailable(), event.sensorDataRecent(), event.sensorLastTimeOfDataUpdate()
+                    , event.vehicleClass(), event.vehicleCount(), event.vehicleAverageSpeed(), event.vehicleHarmonicSpeed()));
+        }
+
+        return result;
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.github.fbascheper.messaging.traffic.processor;
+
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+import com.github.fbascheper.messaging.serialization.HeaderFilteringDeserializer;
+import com.github.fbascheper.messaging.serialization.TrafficEventHeaders;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+/**
+ * Unit test of the header hints of the {@link TrafficEventHotspotFilter}.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class TrafficEventHotspotFilterTest {
+
+    private static final String TOPIC = "traffic-event";
+
+    @Test
+    void neverSkipHotspotByItsHeaders() {
+        int hotspots = 0;
+
+        for (var vehicleClass : VehicleClass.values()) {
+            for (boolean sensorAvailable : new boolean[]{false, true}) {
+                for (int speed = 0; speed <= 255; speed++) {
+                    var event = event(vehicleClass, sensorAvailable, speed);
+
+                    boolean candidate = TrafficEventHotspotFilter.isHotspotCandidate(TrafficEventHeaders.of(event));
+                    if (TrafficEventHotspotFilter.isHotspot(event)) {
+                        assertThat(event.toString(), candidate, is(true));
+                        hotspots++;
+                    } else if (!sensorAvailable || !vehicleClass.isReliable() || speed >= 50) {
+                        assertThat(event.toString(), candidate, is(false));
+                    }
+                }
+            }
+        }
+
+        assertThat(hotspots, is(4 * 50));
+    }
+
+    @Test
+    void recordWithoutHeadersIsCandidate() {
+        assertThat(TrafficEventHotspotFilter.isHotspotCandidate(new RecordHeaders()), is(true));
+    }
+
+    @Test
+    void skipNonCandidatesWithoutDeserializing() {
+        Deserializer<Object> delegate = (topic, data) -> new String(data, StandardCharsets.UTF_8);
+        var deserializer = new HeaderFilteringDeserializer(delegate, Map.of(TOPIC, TrafficEventHotspotFilter::isHotspotCandidate));
+        var data = "{}".getBytes(StandardCharsets.UTF_8);
+
+        var motorcycle = TrafficEventHeaders.of(event(VehicleClass.MOTORCYCLE, true, 20));
+        var car = TrafficEventHeaders.of(event(VehicleClass.CAR, true, 20));
+
+        assertThat(deserializer.deserialize(TOPIC, motorcycle, data), is(nullValue()));
+        assertThat(deserializer.deserialize(TOPIC, car, data), is("{}"));
+        assertThat(deserializer.deserialize("other-topic", motorcycle, data), is("{}"));
+    }
+
+    private static TrafficEvent event(VehicleClass vehicleClass, boolean sensorAvailable, int vehicleHarmonicSpeed) {
+        var now = ZonedDateTime.parse("2021-11-07T14:00:00Z");
+        return new TrafficEvent(now, 2500, "H250", sensorAvailable, true, now
+                , vehicleClass, 12, vehicleHarmonicSpeed, vehicleHarmonicSpeed);
+    }
+
+}
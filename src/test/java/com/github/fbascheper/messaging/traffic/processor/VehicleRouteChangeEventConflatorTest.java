@@ -0,0 +1,175 @@
+package com.github.fbascheper.messaging.traffic.processor;
+
+import com.github.fbascheper.messaging.domain.TestTrafficSensors;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+import com.github.fbascheper.messaging.domain.VehicleRouteChangeEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Test;
+import org.springframework.jmx.export.annotation.AnnotationMBeanExporter;
+
+import javax.management.JMException;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Unit test of the {@link VehicleRouteChangeEventConflator}.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class VehicleRouteChangeEventConflatorTest {
+
+    private static final String TOPIC = "vehicle-route-change-event";
+    private static final Instant NOW = Instant.parse("2021-11-07T14:00:00Z");
+
+    private final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
+    @Test
+    void conflateToLastEventOfEachVehicle() {
+        var instance = new VehicleRouteChangeEventConflator(true, 1000, clock);
+        var events = List.of(event("vehicle-1", 1), event("vehicle-2", 1), event("vehicle-1", 2), event("vehicle-3", 1)
+                , event("vehicle-1", 3), event("vehicle-2", 2));
+
+        var result = instance.conflate(consumerRecords(events, Duration.ofSeconds(30)));
+
+        assertThat(result, is(List.of(event("vehicle-3", 1), event("vehicle-1", 3), event("vehicle-2", 2))));
+        assertThat(instance.getReceivedEventCount(), is(6L));
+        assertThat(instance.getConflatedEventCount(), is(3L));
+        assertThat(instance.getLagMillis(), is(30_000L));
+
+        // the lag is the one of the last poll, and the counts add up over all polls
+        instance.conflate(consumerRecords(List.of(event("vehicle-1", 4)), Duration.ofSeconds(5)));
+
+        assertThat(instance.getReceivedEventCount(), is(7L));
+        assertThat(instance.getConflatedEventCount(), is(3L));
+        assertThat(instance.getLagMillis(), is(5_000L));
+    }
+
+    @Test
+    void keepAllEventsWhenDisabled() {
+        var instance = new VehicleRouteChangeEventConflator(false, 1000, clock);
+        var events = List.of(event("vehicle-1", 1), event("vehicle-2", 1), event("vehicle-1", 2));
+
+        assertThat(instance.conflate(consumerRecords(events, Duration.ZERO)), is(events));
+        assertThat(instance.getReceivedEventCount(), is(3L));
+        assertThat(instance.getConflatedEventCount(), is(0L));
+    }
+
+    @Test
+    void conflateRecordsBufferedWhileEvaluating() throws InterruptedException {
+        var instance = new VehicleRouteChangeEventConflator(true, 1000, clock);
+        var records = consumerRecords(List.of(event("vehicle-1", 1), event("vehicle-1", 2), event("vehicle-2", 1)
+                , event("vehicle-1", 3)), Duration.ofSeconds(30));
+
+        var evaluated = new CopyOnWriteArrayList<VehicleRouteChangeEvent>();
+        var firstEvaluated = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var allEvaluated = new CountDownLatch(3);
+
+        try {
+            // the first event is evaluated while the others are buffered
+            instance.conflate(records.get(0), event -> {
+                evaluated.add(event);
+                firstEvaluated.countDown();
+                await(release);
+                allEvaluated.countDown();
+            });
+            assertThat(firstEvaluated.await(5, TimeUnit.SECONDS), is(true));
+
+            for (var consumerRecord : records.subList(1, records.size())) {
+                instance.conflate(consumerRecord, evaluated::add);
+            }
+            release.countDown();
+
+            assertThat(allEvaluated.await(5, TimeUnit.SECONDS), is(true));
+            assertThat(evaluated, is(List.of(event("vehicle-1", 1), event("vehicle-1", 3), event("vehicle-2", 1))));
+            assertThat(instance.getReceivedEventCount(), is(4L));
+            assertThat(instance.getConflatedEventCount(), is(1L));
+            assertThat(instance.getLagMillis(), is(27_000L));
+        } finally {
+            instance.onPreDestroy();
+        }
+    }
+
+    @Test
+    void evaluateRecordRightAwayWhenDisabled() {
+        var instance = new VehicleRouteChangeEventConflator(false, 1000, clock);
+        var evaluated = new ArrayList<VehicleRouteChangeEvent>();
+
+        for (var consumerRecord : consumerRecords(List.of(event("vehicle-1", 1), event("vehicle-1", 2)), Duration.ZERO)) {
+            instance.conflate(consumerRecord, evaluated::add);
+        }
+
+        assertThat(evaluated, is(List.of(event("vehicle-1", 1), event("vehicle-1", 2))));
+        assertThat(instance.getConflatedEventCount(), is(0L));
+    }
+
+    @Test
+    void exportMetricsAsMBeanAttributes() throws JMException {
+        var instance = new VehicleRouteChangeEventConflator(true, 1000, clock);
+        instance.conflate(consumerRecords(List.of(event("vehicle-1", 1), event("vehicle-1", 2)), Duration.ofSeconds(30)));
+
+        var server = MBeanServerFactory.newMBeanServer();
+        var exporter = new AnnotationMBeanExporter();
+        exporter.setServer(server);
+        exporter.setAutodetect(false);
+        exporter.setBeans(Map.of("vehicleRouteChangeEventConflator", instance));
+        exporter.afterPropertiesSet();
+        exporter.afterSingletonsInstantiated();
+
+        try {
+            var objectName = new ObjectName("com.github.fbascheper.messaging:type=VehicleRouteChangeEventConflator");
+            assertThat(server.getAttribute(objectName, "ReceivedEventCount"), is(2L));
+            assertThat(server.getAttribute(objectName, "ConflatedEventCount"), is(1L));
+            assertThat(server.getAttribute(objectName, "LagMillis"), is(30_000L));
+        } finally {
+            exporter.destroy();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static VehicleRouteChangeEvent event(String vehicleId, int step) {
+        return new VehicleRouteChangeEvent(vehicleId, VehicleClass.CAR
+                , List.of(TestTrafficSensors.coordinates(4.0 + step / 100.0, 51.0)));
+    }
+
+    /**
+     * @param events the events, one second apart
+     * @param lag    the age of the first event
+     */
+    private static List<ConsumerRecord<String, VehicleRouteChangeEvent>> consumerRecords(List<VehicleRouteChangeEvent> events, Duration lag) {
+        var result = new ArrayList<ConsumerRecord<String, VehicleRouteChangeEvent>>();
+        long timestamp = NOW.minus(lag).toEpochMilli();
+
+        for (int i = 0; i < events.size(); i++) {
+            var event = events.get(i);
+            result.add(new ConsumerRecord<>(TOPIC, 0, i, timestamp + i * 1000L, TimestampType.CREATE_TIME, null, -1, -1
+                    , event.vehicleId(), event, new RecordHeaders()));
+        }
+        return result;
+    }
+
+}
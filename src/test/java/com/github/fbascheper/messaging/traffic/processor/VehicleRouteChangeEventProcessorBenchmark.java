@@ -0,0 +1,132 @@
+package com.github.fbascheper.messaging.traffic.processor;
+
+import com.github.fbascheper.messaging.data.registry.SensorIndex;
+import com.github.fbascheper.messaging.data.registry.SensorRegistry;
+import com.github.fbascheper.messaging.domain.GeographicCoordinates;
+import com.github.fbascheper.messaging.domain.TestTrafficEvents;
+import com.github.fbascheper.messaging.domain.TestTrafficSensors;
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+import com.github.fbascheper.messaging.domain.VehicleRouteChangeEvent;
+import com.github.fbascheper.messaging.traffic.component.DenseTrafficEventHotspotStore;
+import com.github.fbascheper.messaging.traffic.component.EpochTrafficEventHotspotStore;
+import com.github.fbascheper.messaging.traffic.component.VehicleRouteTrafficSensorsProcessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH benchmark of the {@link VehicleRouteChangeEventProcessor}, per poll of route change events of all vehicles,
+ * evaluated one event at a time or as one batch.
+ * <p>
+ * Each route has {@value #ROUTE_LENGTH} points along consecutive sensors, a few metres off each sensor, so the routes of
+ * the vehicles overlap. Every vehicle changes its route on each poll, so all routes are resolved again.
+ * </p>
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+public class VehicleRouteChangeEventProcessorBenchmark {
+
+    private static final int SENSORS = 5_000;
+    private static final int HOTSPOT_INTERVAL = 100;
+    private static final int ROUTE_LENGTH = 50;
+
+    // about 10 metres east of each sensor, within the snap distance
+    private static final BigDecimal OFFSET = new BigDecimal("0.000150");
+
+    @Param({"10000", "100000"})
+    int vehicles;
+
+    VehicleRouteChangeEventProcessor processor;
+    List<List<VehicleRouteChangeEvent>> polls;
+    int poll;
+
+    public static void main(String[] args) throws RunnerException {
+        var options = new OptionsBuilder()
+                .include(VehicleRouteChangeEventProcessorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+
+    @Setup
+    public void setUp() {
+        var sensors = TestTrafficSensors.sensors(SENSORS);
+        var sensorIndex = SensorIndex.of(sensors);
+        var sensorRegistry = new SensorRegistry(null, null) {
+            @Override
+            public SensorIndex sensorIndex() {
+                return sensorIndex;
+            }
+        };
+
+        var hotspotStore = new EpochTrafficEventHotspotStore(new DenseTrafficEventHotspotStore(SENSORS), SENSORS);
+        var hotspots = new ArrayList<TrafficEvent>();
+        for (int sensorId = HOTSPOT_INTERVAL; sensorId <= SENSORS; sensorId += HOTSPOT_INTERVAL) {
+            hotspots.add(TestTrafficEvents.hotspot(sensorId));
+        }
+        hotspotStore.storeAll(hotspots);
+
+        processor = new VehicleRouteChangeEventProcessor(sensorRegistry, new VehicleRouteTrafficSensorsProcessor(hotspotStore)
+                , hotspotStore, null, null, 50, vehicles);
+
+        var points = sensors.stream()
+                .map(sensor -> new GeographicCoordinates(sensor.geographicCoordinates().longitude().add(OFFSET)
+                        , sensor.geographicCoordinates().latitude()))
+                .toList();
+
+        // the polls alternate between two routes of each vehicle, neither of which is the rest of the other
+        var random = new Random(42);
+        polls = List.of(new ArrayList<>(vehicles), new ArrayList<>(vehicles));
+        for (int vehicle = 0; vehicle < vehicles; vehicle++) {
+            int start = random.nextInt(SENSORS - 2 * ROUTE_LENGTH);
+            polls.get(0).add(new VehicleRouteChangeEvent("vehicle-" + vehicle, VehicleClass.CAR, points.subList(start, start + ROUTE_LENGTH)));
+            polls.get(1).add(new VehicleRouteChangeEvent("vehicle-" + vehicle, VehicleClass.CAR, points.subList(start + 1, start + ROUTE_LENGTH + 1)));
+        }
+    }
+
+    @Benchmark
+    public void perEvent(Blackhole blackhole) {
+        for (var event : nextPoll()) {
+            blackhole.consume(processor.vehicleRouteHotspots(event));
+        }
+    }
+
+    @Benchmark
+    public Object batch() {
+        return processor.vehicleRouteHotspots(nextPoll());
+    }
+
+    private List<VehicleRouteChangeEvent> nextPoll() {
+        poll = 1 - poll;
+        return polls.get(poll);
+    }
+
+}
@@ -0,0 +1,207 @@
+package com.github.fbascheper.messaging.traffic.processor;
+
+import com.github.fbascheper.messaging.data.registry.SensorIndex;
+import com.github.fbascheper.messaging.data.registry.SensorRegistry;
+import com.github.fbascheper.messaging.domain.GeographicCoordinates;
+import com.github.fbascheper.messaging.domain.TestTrafficSensors;
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.domain.TrafficSensor;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+import com.github.fbascheper.messaging.domain.VehicleRouteChangeEvent;
+import com.github.fbascheper.messaging.domain.VehicleRouteTrafficHotspots;
+import com.github.fbascheper.messaging.domain.VehicleRouteTrafficSensors;
+import com.github.fbascheper.messaging.traffic.component.EpochTrafficEventHotspotStore;
+import com.github.fbascheper.messaging.traffic.component.MapTrafficEventHotspotStore;
+import com.github.fbascheper.messaging.traffic.component.TrafficEventHotspotSnapshot;
+import com.github.fbascheper.messaging.traffic.component.VehicleRouteTrafficSensorsProcessor;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.fbascheper.messaging.domain.TestTrafficEvents.hotspot;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Unit test of the {@link VehicleRouteChangeEventProcessor}, comparing the incremental evaluation of progressing
+ * vehicles with a processor without cached routes.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class VehicleRouteChangeEventProcessorTest {
+
+    private static final int MAX_SENSOR_ID = 100;
+    private static final int NO_SENSOR = 0;
+
+    private final List<TrafficSensor> sensors = TestTrafficSensors.sensors(MAX_SENSOR_ID);
+    private SensorIndex sensorIndex = SensorIndex.of(sensors);
+
+    private final SensorRegistry sensorRegistry = new SensorRegistry(null, null) {
+        @Override
+        public SensorIndex sensorIndex() {
+            return sensorIndex;
+        }
+    };
+
+    private final EpochTrafficEventHotspotStore hotspotStore = new EpochTrafficEventHotspotStore(new MapTrafficEventHotspotStore(), MAX_SENSOR_ID);
+
+    private final VehicleRouteChangeEventProcessor uncached = processor(0);
+
+    @Test
+    void evaluateProgressingVehicles() {
+        var route = List.of(5, 5, NO_SENSOR, 5, 17, NO_SENSOR, 30, 30, 42, 5, 60, NO_SENSOR, NO_SENSOR, 71, 88);
+
+        for (var instance : List.of(processor(10_000), processor(1))) {
+            for (int progress = 0; progress < route.size(); progress++) {
+                // the hotspots change on some of the steps only
+                if (progress % 3 == 0) {
+                    hotspotStore.storeAll(List.of(hotspot(Math.max(route.get(progress), 1)), hotspot(42 + progress)));
+                }
+
+                // the second vehicle evicts the first one from the smallest cache
+                for (var vehicleId : List.of("vehicle-1", "vehicle-2")) {
+                    var event = event(vehicleId, route.subList(progress, route.size()));
+                    assertThat(instance.vehicleRouteHotspots(event), is(uncached.vehicleRouteHotspots(event)));
+                }
+            }
+        }
+    }
+
+    @Test
+    void evaluateChangedRoute() {
+        var instance = processor(10_000);
+        hotspotStore.storeAll(List.of(hotspot(17), hotspot(60)));
+
+        assertThat(hotspotsOnRoute(instance, event("vehicle-1", List.of(5, 17, 30, 60))), is(List.of(hotspot(17), hotspot(60))));
+        assertThat(hotspotsOnRoute(instance, event("vehicle-1", List.of(30, 60))), is(List.of(hotspot(60))));
+
+        // neither a suffix of the last route, nor a route back to the part already passed
+        assertThat(hotspotsOnRoute(instance, event("vehicle-1", List.of(31, 60))), is(List.of(hotspot(60))));
+        assertThat(hotspotsOnRoute(instance, event("vehicle-1", List.of(17, 30, 60))), is(List.of(hotspot(17), hotspot(60))));
+        assertThat(hotspotsOnRoute(instance, event("vehicle-1", List.of())), is(empty()));
+    }
+
+    @Test
+    void evaluateRouteWithChangedSensorIndex() {
+        var instance = processor(10_000);
+        hotspotStore.storeAll(List.of(hotspot(30)));
+
+        assertThat(hotspotsOnRoute(instance, event("vehicle-1", List.of(5, 17, 30))), is(List.of(hotspot(30))));
+
+        // the sensors are resolved again when sensor 30 has been removed
+        sensorIndex = SensorIndex.of(sensors.stream().filter(sensor -> sensor.id() != 30).toList());
+        assertThat(hotspotsOnRoute(instance, event("vehicle-1", List.of(17, 30))), is(empty()));
+    }
+
+    @Test
+    void evaluateBatchInOrder() {
+        var instance = processor(10_000);
+        var perEvent = processor(10_000);
+        hotspotStore.storeAll(List.of(hotspot(17), hotspot(60)));
+
+        // the vehicles share some of their points, and the first one progresses within the batch
+        var events = List.of(
+                event("vehicle-1", List.of(5, 17, NO_SENSOR, 30, 60))
+                , event("vehicle-2", List.of(30, 60, 71))
+                , event("vehicle-1", List.of(30, 60))
+                , event("vehicle-3", List.of(NO_SENSOR, 88)));
+
+        var result = instance.vehicleRouteHotspots(events);
+
+        assertThat(result, is(events.stream().map(perEvent::vehicleRouteHotspots).toList()));
+        assertThat(result.get(0).trafficHotspotsOnRoute(), is(List.of(hotspot(17), hotspot(60))));
+        assertThat(result.get(2).trafficHotspotsOnRoute(), is(List.of(hotspot(60))));
+        assertThat(result.get(3).trafficHotspotsOnRoute(), is(empty()));
+    }
+
+    @Test
+    void evaluateActiveRoutesPassingNewHotspots() {
+        var instance = processor(10_000);
+        instance.vehicleRouteHotspots(event("vehicle-1", List.of(5, 17, 30)));
+        instance.vehicleRouteHotspots(event("vehicle-2", List.of(60, 71)));
+        instance.vehicleRouteHotspots(event("vehicle-3", List.of(17, NO_SENSOR, 88)));
+        instance.vehicleRouteHotspots(event("vehicle-4", List.of(17, 30, 17)));
+
+        hotspotStore.storeAll(List.of(hotspot(17)));
+        assertThat(vehicleIds(instance.vehicleRouteHotspots(Set.of(17))), is(List.of("vehicle-1", "vehicle-3", "vehicle-4")));
+        assertThat(instance.vehicleRouteHotspots(Set.of(17)).get(0).trafficHotspotsOnRoute().get(0), is(hotspot(17)));
+
+        // sensor 17 is passed, unless the route passes it again
+        instance.vehicleRouteHotspots(event("vehicle-1", List.of(30)));
+        instance.vehicleRouteHotspots(event("vehicle-4", List.of(30, 17)));
+        assertThat(vehicleIds(instance.vehicleRouteHotspots(Set.of(17))), is(List.of("vehicle-3", "vehicle-4")));
+        assertThat(vehicleIds(instance.vehicleRouteHotspots(Set.of(30, 71))), is(List.of("vehicle-1", "vehicle-2", "vehicle-4")));
+
+        // a changed route is indexed again
+        instance.vehicleRouteHotspots(event("vehicle-2", List.of(17, 60)));
+        assertThat(vehicleIds(instance.vehicleRouteHotspots(Set.of(71))), is(empty()));
+        assertThat(vehicleIds(instance.vehicleRouteHotspots(Set.of(17))), is(List.of("vehicle-2", "vehicle-3", "vehicle-4")));
+    }
+
+    @Test
+    void dropActiveRouteChangedDuringEvaluation() {
+        var duringEvaluation = new AtomicReference<Runnable>();
+        var instance = new VehicleRouteChangeEventProcessor(sensorRegistry, new VehicleRouteTrafficSensorsProcessor(hotspotStore) {
+            @Override
+            public VehicleRouteTrafficHotspots vehicleRouteHotspots(TrafficEventHotspotSnapshot snapshot, VehicleRouteTrafficSensors route) {
+                var action = duringEvaluation.getAndSet(null);
+                if (action != null) {
+                    action.run();
+                }
+                return super.vehicleRouteHotspots(snapshot, route);
+            }
+        }, hotspotStore, null, null, 50, 10_000);
+
+        instance.vehicleRouteHotspots(event("vehicle-1", List.of(5, 17, 30)));
+        hotspotStore.storeAll(List.of(hotspot(17)));
+
+        // the vehicle changes its route while its previous route is evaluated for the new hotspot
+        duringEvaluation.set(() -> instance.vehicleRouteHotspots(event("vehicle-1", List.of(60, 71))));
+        assertThat(instance.vehicleRouteHotspots(Set.of(17)), is(empty()));
+        assertThat(vehicleIds(instance.vehicleRouteHotspots(Set.of(71))), is(List.of("vehicle-1")));
+    }
+
+    @Test
+    void evaluateNoEvictedRoutes() {
+        var instance = processor(1);
+        instance.vehicleRouteHotspots(event("vehicle-1", List.of(5, 17, 30)));
+        instance.vehicleRouteHotspots(event("vehicle-2", List.of(17, 60)));
+
+        assertThat(vehicleIds(instance.vehicleRouteHotspots(Set.of(17))), is(List.of("vehicle-2")));
+        assertThat(vehicleIds(instance.vehicleRouteHotspots(Set.of(5))), is(empty()));
+    }
+
+    private VehicleRouteChangeEventProcessor processor(int routeCacheSize) {
+        return new VehicleRouteChangeEventProcessor(sensorRegistry, new VehicleRouteTrafficSensorsProcessor(hotspotStore)
+                , hotspotStore, null, null, 50, routeCacheSize);
+    }
+
+    private static List<String> vehicleIds(List<VehicleRouteTrafficHotspots> vehicleRouteHotspots) {
+        return vehicleRouteHotspots.stream()
+                .map(VehicleRouteTrafficHotspots::vehicleId)
+                .sorted()
+                .toList();
+    }
+
+    private static List<TrafficEvent> hotspotsOnRoute(VehicleRouteChangeEventProcessor instance, VehicleRouteChangeEvent event) {
+        return instance.vehicleRouteHotspots(event).trafficHotspotsOnRoute();
+    }
+
+    private VehicleRouteChangeEvent event(String vehicleId, List<Integer> sensorIds) {
+        return new VehicleRouteChangeEvent(vehicleId, VehicleClass.CAR, sensorIds.stream()
+                .map(this::coordinates)
+                .toList());
+    }
+
+    private GeographicCoordinates coordinates(int sensorId) {
+        // far outside of Flanders, so there is no sensor nearby
+        return sensorId == NO_SENSOR
+                ? TestTrafficSensors.coordinates(0.0, 0.0)
+                : sensors.get(sensorId - 1).geographicCoordinates();
+    }
+
+}
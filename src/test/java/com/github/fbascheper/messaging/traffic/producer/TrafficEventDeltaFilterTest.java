@@ -0,0 +1,65 @@
+package com.github.fbascheper.messaging.traffic.producer;
+
+import com.github.fbascheper.messaging.domain.VehicleClass;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static com.github.fbascheper.messaging.domain.TestTrafficEvents.START;
+import static com.github.fbascheper.messaging.domain.TestTrafficEvents.event;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Test class for {@link TrafficEventDeltaFilter}.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class TrafficEventDeltaFilterTest {
+
+    Instant start = START.toInstant();
+    TrafficEventDeltaFilter instance = new TrafficEventDeltaFilter(Duration.ofMinutes(15));
+
+    @Test
+    void publishOnlyChangedMeasurements() {
+        instance.startPoll(start);
+        assertThat(instance.isChanged(event(2500, VehicleClass.CAR, 0, 25, 80)), is(true));
+        assertThat(instance.isChanged(event(2500, VehicleClass.MINIVAN, 0, 3, 80)), is(true));
+
+        instance.startPoll(start.plusSeconds(60));
+        assertThat(instance.isChanged(event(2500, VehicleClass.CAR, 1, 25, 80)), is(false));
+        assertThat(instance.isChanged(event(2500, VehicleClass.MINIVAN, 1, 4, 80)), is(true));
+        assertThat(instance.isChanged(event(9999, VehicleClass.CAR, 1, 25, 80)), is(true));
+    }
+
+    @Test
+    void publishAllMeasurementsOnFullRefresh() {
+        instance.startPoll(start);
+        assertThat(instance.isChanged(event(2500, VehicleClass.CAR, 0, 25, 80)), is(true));
+
+        instance.startPoll(start.plus(Duration.ofMinutes(14)));
+        assertThat(instance.isChanged(event(2500, VehicleClass.CAR, 14, 25, 80)), is(false));
+
+        instance.startPoll(start.plus(Duration.ofMinutes(15)));
+        assertThat(instance.isChanged(event(2500, VehicleClass.CAR, 15, 25, 80)), is(true));
+
+        instance.startPoll(start.plus(Duration.ofMinutes(16)));
+        assertThat(instance.isChanged(event(2500, VehicleClass.CAR, 16, 25, 80)), is(false));
+    }
+
+    @Test
+    void publishAllMeasurementsAfterRequestedFullRefresh() {
+        instance.startPoll(start);
+        assertThat(instance.isChanged(event(2500, VehicleClass.CAR, 0, 25, 80)), is(true));
+
+        instance.requestFullRefresh();
+
+        instance.startPoll(start.plus(Duration.ofMinutes(1)));
+        assertThat(instance.isChanged(event(2500, VehicleClass.CAR, 1, 25, 80)), is(true));
+
+        instance.startPoll(start.plus(Duration.ofMinutes(2)));
+        assertThat(instance.isChanged(event(2500, VehicleClass.CAR, 2, 25, 80)), is(false));
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.fbascheper.messaging.traffic.producer;
+
+import com.github.fbascheper.messaging.domain.TrafficEvent;
+import com.github.fbascheper.messaging.domain.VehicleClass;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Test class for {@link TrafficEventPublisher}, using a mock producer which only acknowledges its records on request.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class TrafficEventPublisherTest {
+
+    ManualProducer producer = new ManualProducer();
+    TrafficEventPublisher instance = new TrafficEventPublisher(new KafkaTemplate<>(() -> producer), "traffic-event", 2);
+
+    @Test
+    void pollFinishesWhenAllRecordsAreAcknowledged() {
+        var poll = instance.startPoll();
+        poll.publish(event(2500));
+        poll.publish(event(2501));
+
+        producer.completeNext();
+        producer.errorNext(new IllegalStateException("Broker not available"));
+
+        var result = poll.finish().join();
+
+        assertThat(result.sent(), is(2));
+        assertThat(result.succeeded(), is(1));
+        assertThat(result.failed(), is(1));
+        assertThat(instance.availableInFlight(), is(2));
+    }
+
+    @Test
+    void pollWithoutRecordsFinishesAtOnce() {
+        var result = instance.startPoll().finish().join();
+
+        assertThat(result.sent(), is(0));
+        assertThat(result.failed(), is(0));
+    }
+
+    @Test
+    void publishBlocksWhileTheMaximumNumberOfRecordsIsInFlight() throws InterruptedException {
+        var poll = instance.startPoll();
+        poll.publish(event(2500));
+        poll.publish(event(2501));
+        assertThat(instance.availableInFlight(), is(0));
+
+        var published = new CountDownLatch(1);
+        var publisher = new Thread(() -> {
+            poll.publish(event(2502));
+            published.countDown();
+        });
+        publisher.start();
+
+        assertThat(published.await(200, TimeUnit.MILLISECONDS), is(false));
+
+        producer.completeNext();
+        assertThat(published.await(5, TimeUnit.SECONDS), is(true));
+
+        var result = poll.finish().join();
+        assertThat(result.sent(), is(3));
+        assertThat(result.succeeded(), is(3));
+    }
+
+    private static TrafficEvent event(int sensorId) {
+        var time = ZonedDateTime.of(2021, 11, 7, 15, 1, 0, 0, ZoneId.of("UTC"));
+        return new TrafficEvent(time, sensorId, "H101L20", true, true, time, VehicleClass.CAR, 10, 80, 78);
+    }
+
+    /**
+     * Mock producer which is not closed by the Kafka template after each send.
+     */
+    private static class ManualProducer extends MockProducer<String, Object> {
+
+        @SuppressWarnings("unchecked")
+        private ManualProducer() {
+            super(false, new StringSerializer(), (Serializer<Object>) (topic, data) -> new byte[0]);
+        }
+
+        @Override
+        public void close(Duration timeout) {
+            // kept open for the next send
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.github.fbascheper.messaging.traffic.producer;
+
+import com.github.fbascheper.messaging.domain.VehicleRouteTrafficHotspots;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.Duration;
+import java.util.List;
+
+import static com.github.fbascheper.messaging.domain.TestTrafficEvents.hotspot;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Test class for {@link VehicleRouteChangeAdviceEmitter}, using a mock producer which only acknowledges its records
+ * when it is flushed.
+ *
+ * @author Frederieke Scheper
+ * @since 18-10-2026
+ */
+class VehicleRouteChangeAdviceEmitterTest {
+
+    ManualProducer producer = new ManualProducer();
+    VehicleRouteChangeAdviceEmitter instance = new VehicleRouteChangeAdviceEmitter(new KafkaTemplate<>(() -> producer)
+            , "vehicle-route-change-advice", Duration.ofSeconds(5));
+
+    @Test
+    void sendBatchOfAdvisableRoutes() {
+        var result = instance.sendRouteChangeAdvice(List.of(
+                hotspots("vehicle-1", 17)
+                , new VehicleRouteTrafficHotspots("vehicle-2", List.of(), 1)
+                , hotspots("vehicle-3", 30)));
+
+        assertThat(result, is(new VehicleRouteChangeAdviceEmitter.BatchResult(2, 2, 0)));
+        assertThat(producer.history().size(), is(2));
+        assertThat(producer.flushed(), is(true));
+    }
+
+    @Test
+    void countFailedRecordsOfBatch() {
+        producer.failures = 1;
+
+        var result = instance.sendRouteChangeAdvice(List.of(hotspots("vehicle-1", 17), hotspots("vehicle-2", 30)));
+
+        assertThat(result, is(new VehicleRouteChangeAdviceEmitter.BatchResult(2, 1, 1)));
+    }
+
+    @Test
+    void countUnacknowledgedRecordsOfBatchAsFailed() {
+        producer.acknowledged = false;
+        var emitter = new VehicleRouteChangeAdviceEmitter(new KafkaTemplate<>(() -> producer), "vehicle-route-change-advice"
+                , Duration.ofMillis(100));
+
+        var result = emitter.sendRouteChangeAdvice(List.of(hotspots("vehicle-1", 17), hotspots("vehicle-2", 30)));
+
+        assertThat(result, is(new VehicleRouteChangeAdviceEmitter.BatchResult(2, 0, 2)));
+    }
+
+    @Test
+    void awaitAdviceOfSingleVehicle() {
+        assertThat(instance.sendRouteChangeAdvice(hotspots("vehicle-1", 17)), is(new VehicleRouteChangeAdviceEmitter.BatchResult(1, 1, 0)));
+        assertThat(producer.flushed(), is(true));
+    }
+
+    @Test
+    void sendEmptyBatchWithoutFlush() {
+        var result = instance.sendRouteChangeAdvice(List.of(new VehicleRouteTrafficHotspots("vehicle-1", List.of(), 1)));
+
+        assertThat(result, is(new VehicleRouteChangeAdviceEmitter.BatchResult(0, 0, 0)));
+        assertThat(producer.history().size(), is(0));
+    }
+
+    private static VehicleRouteTrafficHotspots hotspots(String vehicleId, int sensorId) {
+        return new VehicleRouteTrafficHotspots(vehicleId, List.of(hotspot(sensorId)), 1);
+    }
+
+    /**
+     * Mock producer which is not closed by the Kafka template after each send, and fails its first records on a flush,
+     * or does not acknowledge any records at all.
+     */
+    private static class ManualProducer extends MockProducer<String, Object> {
+
+        private int failures;
+        private boolean acknowledged = true;
+
+        @SuppressWarnings("unchecked")
+        private ManualProducer() {
+            super(false, new StringSerializer(), (Serializer<Object>) (topic, data) -> new byte[0]);
+        }
+
+        @Override
+        public synchronized void flush() {
+            if (!acknowledged) {
+                return;
+            }
+            for (; failures > 0; failures--) {
+                errorNext(new IllegalStateException("Broker not available"));
+            }
+            super.flush();
+        }
+
+        @Override
+        public void close(Duration timeout) {
+            // kept open for the next send
+        }
+    }
+
+}